@@ -0,0 +1,60 @@
+package com.example.alumniassocaition1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Runs timeline fan-out off the request thread. When the queue is full the publishing thread
+    // does the work itself rather than dropping timeline updates.
+    @Bean(name = "timelineExecutor")
+    public Executor timelineExecutor(@Value("${app.timeline.fanout-threads:2}") int threads,
+                                     @Value("${app.timeline.fanout-queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("timeline-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs the sources of a federated search side by side. A full queue rejects the task, and the search
+    // reports that source as failed instead of running it late on the request thread.
+    @Bean(name = "searchExecutor")
+    public Executor searchExecutor(@Value("${app.search.federated.threads:6}") int threads,
+                                   @Value("${app.search.federated.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Sends live feed events to SSE subscribers. Events that do not fit in the queue are dropped:
+    // a slow stream must never hold up the thread that committed the change.
+    @Bean(name = "streamExecutor")
+    public Executor streamExecutor(@Value("${app.posts.stream.send-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("post-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.alumniassocaition1.config;
+
+import com.example.alumniassocaition1.repository.PostRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Full-text search columns for posts and comments, which Hibernate's ddl-auto cannot create: a tsvector
+ * "search_vector" column on each table with a GIN index over it. Set up on PostgreSQL only, after Hibernate has
+ * updated the schema and before the web server takes requests.
+ * <p>
+ * Post content and comment text are stored as large objects, and a GENERATED column cannot read them
+ * (lo_get is not immutable). A BEFORE INSERT/UPDATE trigger fills the column instead, so every write path
+ * keeps it current. Every statement is idempotent and runs on each startup; the triggers are replaced in place
+ * (CREATE OR REPLACE TRIGGER, PostgreSQL 14 and later) rather than dropped and created again.
+ * <p>
+ * Rows written before the column existed are filled off the boot path: {@link #backfill()} indexes one batch of
+ * posts and one of comments per run, on the scheduler, until none are left. Until then searches miss those rows.
+ */
+@Component
+public class FullTextSearchSchema implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullTextSearchSchema.class);
+
+    private static final String CONFIG = "'" + PostRepository.TEXT_SEARCH_CONFIG + "'";
+
+    // The vector of one post or comment, from the oid of its text
+    private static final String VECTOR_FUNCTION_SQL =
+            "CREATE OR REPLACE FUNCTION search_vector_of(document oid) RETURNS tsvector LANGUAGE sql STABLE AS $$ " +
+            "SELECT to_tsvector(" + CONFIG + ", coalesce(convert_from(lo_get(document), 'UTF8'), '')) $$";
+
+    private static final String[] TRIGGER_SQL = {
+            "ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            "CREATE OR REPLACE FUNCTION posts_search_vector_refresh() RETURNS trigger LANGUAGE plpgsql AS $$ " +
+                    "BEGIN NEW.search_vector := search_vector_of(CAST(NEW.content AS oid)); RETURN NEW; END $$",
+            "CREATE OR REPLACE TRIGGER posts_search_vector BEFORE INSERT OR UPDATE OF content ON posts " +
+                    "FOR EACH ROW EXECUTE FUNCTION posts_search_vector_refresh()",
+            "ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            "CREATE OR REPLACE FUNCTION comments_search_vector_refresh() RETURNS trigger LANGUAGE plpgsql AS $$ " +
+                    "BEGIN NEW.search_vector := search_vector_of(NEW.text_content); RETURN NEW; END $$",
+            "CREATE OR REPLACE TRIGGER comments_search_vector BEFORE INSERT OR UPDATE OF text_content ON comments " +
+                    "FOR EACH ROW EXECUTE FUNCTION comments_search_vector_refresh()"
+    };
+
+    private static final String[] INDEX_SQL = {
+            "CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector)",
+            "CREATE INDEX IF NOT EXISTS idx_comments_search_vector ON comments USING GIN (search_vector)"
+    };
+
+    private static final String BACKFILL_POSTS_SQL = "UPDATE posts SET search_vector = search_vector_of(CAST(content AS oid)) " +
+            "WHERE post_id IN (SELECT post_id FROM posts WHERE search_vector IS NULL LIMIT ?)";
+    private static final String BACKFILL_COMMENTS_SQL = "UPDATE comments SET search_vector = search_vector_of(text_content) " +
+            "WHERE comment_id IN (SELECT comment_id FROM comments WHERE search_vector IS NULL LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillBatchSize;
+    // Set once the column exists; cleared again when every row has been indexed
+    private volatile boolean backfilling;
+
+    @Autowired
+    public FullTextSearchSchema(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Value("${app.search.full-text.backfill-batch-size:1000}") int backfillBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.warn("Full-text search needs PostgreSQL; not set up on {}.", database);
+            return;
+        }
+        long started = System.nanoTime();
+        // Column, function and trigger change together, so no write lands between them unindexed
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(VECTOR_FUNCTION_SQL);
+            for (String sql : TRIGGER_SQL) {
+                jdbcTemplate.execute(sql);
+            }
+        });
+        for (String sql : INDEX_SQL) {
+            jdbcTemplate.execute(sql);
+        }
+        backfilling = true;
+        logger.info("Full-text search set up in {} ms.", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // One short transaction per table and run, so a large backfill never holds long row locks or a long boot
+    @Scheduled(initialDelayString = "${app.search.full-text.backfill-initial-delay-ms:10000}",
+            fixedDelayString = "${app.search.full-text.backfill-delay-ms:1000}")
+    public void backfill() {
+        if (!backfilling) {
+            return;
+        }
+        int posts = jdbcTemplate.update(BACKFILL_POSTS_SQL, backfillBatchSize);
+        int comments = jdbcTemplate.update(BACKFILL_COMMENTS_SQL, backfillBatchSize);
+        if (posts > 0 || comments > 0) {
+            logger.debug("Full-text search indexed {} existing posts and {} comments.", posts, comments);
+        }
+        if (posts < backfillBatchSize && comments < backfillBatchSize) {
+            backfilling = false;
+            logger.info("Full-text search has indexed every existing post and comment.");
+        }
+    }
+}
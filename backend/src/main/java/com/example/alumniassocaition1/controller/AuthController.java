@@ -5,15 +5,16 @@ import com.example.alumniassocaition1.dto.JwtAuthenticationResponse;
 import com.example.alumniassocaition1.dto.LoginRequest;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.example.alumniassocaition1.entity.User;
+import com.example.alumniassocaition1.mapper.UserMapper;
 import com.example.alumniassocaition1.security.JwtTokenProvider;
 import com.example.alumniassocaition1.service.UserService;
 import jakarta.validation.Valid;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -46,9 +47,7 @@ public class AuthController {
             String jwt = tokenProvider.generateToken(authentication);
 
             User user = userService.findUserByEmail(loginRequest.getEmail());
-            UserSummaryDto userSummary = new UserSummaryDto();
-            BeanUtils.copyProperties(user, userSummary);
-            userSummary.setId(user.getUserId());
+            UserSummaryDto userSummary = UserMapper.toSummaryDto(user);
 
             return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, userSummary));
 
@@ -56,6 +55,10 @@ public class AuthController {
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse(false, "Invalid email or password"));
+        } catch (DisabledException e) {
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse(false, "This account has been deactivated"));
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -78,10 +81,7 @@ public class AuthController {
         }
         String email = authentication.getName();
         User user = userService.findUserByEmail(email);
-        UserSummaryDto userSummary = new UserSummaryDto();
-        BeanUtils.copyProperties(user, userSummary);
-        userSummary.setId(user.getUserId());
-        userSummary.setRole(user.getRole());
+        UserSummaryDto userSummary = UserMapper.toSummaryDto(user);
 
         return ResponseEntity.ok(userSummary);
     }
@@ -3,6 +3,7 @@ package com.example.alumniassocaition1.controller;
 import com.example.alumniassocaition1.dto.ApiResponse;
 import com.example.alumniassocaition1.dto.CommentCreateRequest; // Assuming DTO path
 import com.example.alumniassocaition1.dto.CommentDto; // Assuming DTO path
+import com.example.alumniassocaition1.dto.CursorPage;
 import com.example.alumniassocaition1.service.CommentService;
 
 import jakarta.validation.Valid;
@@ -32,6 +33,16 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    // Cursor mode: GET /posts/{postId}/comments?cursor= for the first page, then pass back nextCursor
+    @GetMapping(value = "/posts/{postId}/comments", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<CommentDto>> getCommentsByCursor(
+            @PathVariable Long postId,
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getCommentsByCursor(postId, cursor, size));
+    }
+
     // Add a comment to a post
     @PostMapping("/posts/{postId}/comments")
     @PreAuthorize("isAuthenticated()")
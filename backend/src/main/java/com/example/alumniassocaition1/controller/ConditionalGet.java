@@ -0,0 +1,37 @@
+package com.example.alumniassocaition1.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET (If-None-Match) handling for read endpoints whose ETag is cheaper to compute than the body.
+ * <p>
+ * The ETag is computed before the body, so if the data changes in between the client holds an older tag
+ * than its content and simply gets a 200 next time.
+ */
+final class ConditionalGet {
+
+    // Clients may keep the response but must revalidate it on every use; responses are per viewer
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * @return 304 Not Modified if the request's If-None-Match matches {@code eTag}, without calling {@code body};
+     *         otherwise 200 with the body. A null tag disables conditional handling.
+     */
+    static <T> ResponseEntity<T> respond(WebRequest request, String eTag, Supplier<T> body) {
+        if (eTag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(body.get());
+    }
+}
@@ -1,21 +1,30 @@
 package com.example.alumniassocaition1.controller;
 
 import com.example.alumniassocaition1.dto.ApiResponse;
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.EventAttendeeDto;
 import com.example.alumniassocaition1.dto.EventDto;
 import com.example.alumniassocaition1.dto.EventCreateRequest; // For JSON endpoint
 import com.example.alumniassocaition1.entity.Event;
 import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.exception.MyFileNotFoundException;
+import com.example.alumniassocaition1.service.EventCalendarVersion;
 import com.example.alumniassocaition1.service.EventService;
 import com.example.alumniassocaition1.service.FileStorageService;
 import com.example.alumniassocaition1.service.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -26,6 +35,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -52,13 +63,63 @@ public class EventController {
     private UserService userService;
 
     // --- GET, DELETE, JOIN/LEAVE (remain same) ---
+    // GET /api/events?page=&size=: newest event dates first, each with an attendee count and preview
     @GetMapping
     @PreAuthorize("permitAll()")
-    public ResponseEntity<List<EventDto>> getAllEvents() { /* ... */ return ResponseEntity.ok(eventService.getAllEvents()); }
+    public ResponseEntity<Page<EventDto>> getEvents(@PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(eventService.getEvents(pageable));
+    }
+
+    // GET /api/events/upcoming?limit=3[&location=]: the next events from now, soonest first
+    @GetMapping("/upcoming")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<List<EventDto>> getUpcomingEvents(
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "location", required = false) String location) {
+        return ResponseEntity.ok(eventService.getUpcomingEvents(limit, location));
+    }
+
+    // GET /api/events/calendar?from=2031-01-01T00:00:00&to=2031-02-01T00:00:00[&location=]: events in [from, to), soonest first
+    @GetMapping("/calendar")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<List<EventDto>> getEventsInRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "location", required = false) String location) {
+        return ResponseEntity.ok(eventService.getEventsInRange(from, to, location));
+    }
+
+    // GET /api/events/colleges/{collegeId}/calendar.ics: subscribable iCalendar feed of a college's events.
+    // Polling calendar clients get a 304 until an event of the college is added, edited or removed.
+    @GetMapping("/colleges/{collegeId}/calendar.ics")
+    @PreAuthorize("permitAll()")
+    public void getCollegeCalendar(@PathVariable Long collegeId, ServletWebRequest webRequest,
+                                   HttpServletResponse response) throws IOException {
+        EventCalendarVersion version = eventService.getCollegeCalendarVersion(collegeId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return;
+        }
+        response.setContentType("text/calendar;charset=UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"events.ics\"");
+        eventService.writeCollegeCalendar(collegeId, version.calendarName(), response.getWriter());
+    }
 
     @GetMapping("/{eventId}")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<EventDto> getEventById(@PathVariable Long eventId) { /* ... */ return ResponseEntity.ok(eventService.getEventById(eventId)); }
+    public ResponseEntity<EventDto> getEventById(@PathVariable Long eventId, WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, eventService.getEventETag(eventId), () -> eventService.getEventById(eventId));
+    }
+
+    // GET /api/events/{id}/attendees?cursor=: attendees in join order, pass back nextCursor for the next page
+    @GetMapping("/{eventId}/attendees")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<CursorPage<EventAttendeeDto>> getEventAttendees(
+            @PathVariable Long eventId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.getAttendeesByCursor(eventId, cursor, size));
+    }
 
 
     @PostMapping(consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
@@ -70,6 +131,7 @@ public class EventController {
             @RequestPart("time") String timeStr, // Expecting "HH:MM" or "HH:MM:SS"
             @RequestPart("location") String location,
             @RequestPart(value = "collegeId", required = false) String collegeIdStr,
+            @RequestPart(value = "capacity", required = false) String capacityStr,
             @RequestPart(value = "imageFile", required = false) MultipartFile imageFile) {
 
         logger.info("MULTIPART POST /api/events hit. Title: [{}], DateStr: [{}], TimeStr: [{}]", title, dateStr, timeStr);
@@ -105,6 +167,7 @@ public class EventController {
         event.setDescription(description);
         event.setEventDate(eventDateTime);
         event.setLocation(location);
+        event.setCapacity(parseCapacity(capacityStr));
         event.setCreatedBy(currentUser);
         event.setCollege(currentUser.getCollege()); // Default
 
@@ -152,6 +215,7 @@ public class EventController {
             @RequestPart("time") String timeStr,
             @RequestPart("location") String location,
             @RequestPart(value = "collegeId", required = false) String collegeIdStr,
+            @RequestPart(value = "capacity", required = false) String capacityStr,
             @RequestPart(value = "imageFile", required = false) MultipartFile imageFile) {
 
         User currentUser = userService.findUserByEmail(((UserDetails)SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername());
@@ -177,6 +241,7 @@ public class EventController {
         existingEvent.setDescription(description);
         existingEvent.setEventDate(eventDateTime);
         existingEvent.setLocation(location);
+        existingEvent.setCapacity(parseCapacity(capacityStr));
         // Handle collegeId update...
 
         if (imageFile != null && !imageFile.isEmpty()) {
@@ -191,6 +256,22 @@ public class EventController {
         return ResponseEntity.ok(updatedEventDto);
     }
 
+    // Optional attendee limit from a multipart form; blank means unlimited
+    private static Integer parseCapacity(String capacityStr) {
+        if (!StringUtils.hasText(capacityStr)) {
+            return null;
+        }
+        try {
+            int capacity = Integer.parseInt(capacityStr.trim());
+            if (capacity > 0) {
+                return capacity;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Capacity must be a positive whole number.");
+    }
+
     // GET /uploads/{filename}
     @GetMapping("/uploads/{filename:.+}")
     @PreAuthorize("permitAll()")
@@ -212,7 +293,15 @@ public class EventController {
     public ResponseEntity<ApiResponse> deleteEvent(@PathVariable Long eventId) { eventService.deleteEvent(eventId); return ResponseEntity.ok(new ApiResponse(true, "Event deleted successfully.")); }
     @PostMapping("/{eventId}/join")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse> joinEvent(@PathVariable Long eventId) { eventService.joinEvent(eventId); return ResponseEntity.ok(new ApiResponse(true, "Successfully joined event.")); }
+    public ResponseEntity<ApiResponse> joinEvent(@PathVariable Long eventId) {
+        String message = switch (eventService.joinEvent(eventId)) {
+            case JOINED -> "Successfully joined event.";
+            case WAITLISTED -> "Event is full; you have been added to the waitlist.";
+            case ALREADY_JOINED -> "You are already attending this event.";
+            case ALREADY_WAITLISTED -> "You are already on the waitlist for this event.";
+        };
+        return ResponseEntity.ok(new ApiResponse(true, message));
+    }
     @DeleteMapping("/{eventId}/join")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse> leaveEvent(@PathVariable Long eventId) { eventService.leaveEvent(eventId); return ResponseEntity.ok(new ApiResponse(true, "Successfully left event.")); }
@@ -1,12 +1,17 @@
 package com.example.alumniassocaition1.controller;
 
 import com.example.alumniassocaition1.dto.ApiResponse;
+import com.example.alumniassocaition1.dto.CursorPage;
 // PostCreateRequest is now only for the JSON endpoint
 import com.example.alumniassocaition1.dto.post.PostCreateRequest;
 import com.example.alumniassocaition1.dto.post.PostDto;
+import com.example.alumniassocaition1.dto.post.PostSearchHitDto;
+import com.example.alumniassocaition1.dto.post.StreamTicketResponse;
 import com.example.alumniassocaition1.entity.Post;
 import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.exception.MyFileNotFoundException;
+import com.example.alumniassocaition1.security.JwtTokenProvider;
+import com.example.alumniassocaition1.service.CommentService;
 import com.example.alumniassocaition1.service.FileStorageService;
 import com.example.alumniassocaition1.service.PostService;
 import com.example.alumniassocaition1.service.UserService;
@@ -31,10 +36,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -51,20 +60,93 @@ public class PostController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
     // --- GET, LIKE/UNLIKE, DELETE Endpoints (can remain largely the same) ---
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Page<PostDto>> getAllPosts(
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<PostDto> posts = postService.getAllPosts(pageable);
-        return ResponseEntity.ok(posts);
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(value = "commentPreview", defaultValue = "false") boolean commentPreview,
+            WebRequest webRequest) {
+        // 304 when the cached page, the viewer's likes and (with previews) the college's comments are unchanged;
+        // answered before the page is assembled, liked flags are read or previews attached
+        return ConditionalGet.respond(webRequest, postService.getFeedETag(pageable, commentPreview),
+                () -> withCommentPreview(postService.getAllPosts(pageable), Page::getContent, commentPreview));
+    }
+
+    // Cursor mode: GET /api/posts?cursor= for the first page, then pass back nextCursor.
+    // No total count is computed, so deep pages cost the same as the first one.
+    @GetMapping(params = {"cursor", "!mode"})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<PostDto>> getPostsByCursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "commentPreview", defaultValue = "false") boolean commentPreview) {
+        return ResponseEntity.ok(withCommentPreview(postService.getPostsByCursor(cursor, size), CursorPage::getItems, commentPreview));
+    }
+
+    // GET /api/posts?mode=following[&cursor=...]: posts by followed users, same cursor contract as above
+    @GetMapping(params = "mode=following")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<PostDto>> getFollowingTimeline(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "commentPreview", defaultValue = "false") boolean commentPreview) {
+        return ResponseEntity.ok(withCommentPreview(postService.getFollowingTimeline(cursor, size), CursorPage::getItems, commentPreview));
+    }
+
+    // GET /api/posts/search?q=...[&cursor=...]: full-text matches in the college's posts and comments, best first
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<PostSearchHitDto>> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.searchPosts(query, cursor, size));
+    }
+
+    // GET /api/posts?mode=hot&page=&size=: college posts by time-decayed engagement
+    @GetMapping(params = "mode=hot")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Page<PostDto>> getHotPosts(@PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(value = "commentPreview", defaultValue = "false") boolean commentPreview) {
+        return ResponseEntity.ok(withCommentPreview(postService.getHotPosts(pageable), Page::getContent, commentPreview));
+    }
+
+    // ?commentPreview=true on any feed mode attaches each post's two latest comments (one query per page)
+    private <T> T withCommentPreview(T page, Function<T, List<PostDto>> posts, boolean commentPreview) {
+        if (commentPreview) {
+            commentService.attachLatestComments(posts.apply(page));
+        }
+        return page;
+    }
+
+    // Server-Sent Events: post.created / post.updated / post.deleted / post.likes for the caller's college.
+    // Browsers' EventSource cannot set headers, so this path also accepts ?ticket=<stream ticket>.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamPosts() {
+        return postService.openCollegeStream();
+    }
+
+    // A short-lived ticket that opens the stream above and is accepted nowhere else, so no login token goes in a URL
+    @PostMapping("/stream/ticket")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamTicketResponse> issueStreamTicket() {
+        String ticket = tokenProvider.generateStreamTicket(userService.getCurrentPrincipal());
+        return ResponseEntity.ok(new StreamTicketResponse(ticket, tokenProvider.getStreamTicketTtlMs()));
     }
 
     @GetMapping("/{postId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<PostDto> getPostById(@PathVariable Long postId) {
-        PostDto post = postService.getPostById(postId);
-        return ResponseEntity.ok(post);
+    public ResponseEntity<PostDto> getPostById(@PathVariable Long postId, WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, postService.getPostETag(postId),
+                () -> postService.getPostById(postId));
     }
 
     // --- Multipart POST Endpoint for Post Creation (Individual Parts) ---
@@ -1,7 +1,9 @@
 // --- File: com/example/alumniassocaition1/controller/SearchController.java ---
 package com.example.alumniassocaition1.controller;
 
+import com.example.alumniassocaition1.dto.search.FederatedSearchResponse;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.dto.user.UserTypeaheadDto;
 import com.example.alumniassocaition1.service.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,13 +22,30 @@ public class SearchController {
     @Autowired
     private SearchService searchService;
 
+    // Users, posts and events of the caller's college in one response; sources that are too slow are left out
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<FederatedSearchResponse> searchEverything(@RequestParam("q") String query,
+                                                                    @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.searchEverything(query, limit));
+    }
+
     @GetMapping("/users")
     @PreAuthorize("isAuthenticated()") // User must be logged in to search
-    public ResponseEntity<List<UserSummaryDto>> searchUsersInCollege(@RequestParam("q") String query) {
+    public ResponseEntity<List<UserSummaryDto>> searchUsersInCollege(@RequestParam("q") String query,
+                                                                     @RequestParam(value = "limit", defaultValue = "20") int limit) {
         if (query == null || query.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(List.of()); // Or an ApiResponse
         }
-        List<UserSummaryDto> results = searchService.searchUsersInMyCollege(query);
+        List<UserSummaryDto> results = searchService.searchUsersInMyCollege(query, limit);
         return ResponseEntity.ok(results);
     }
+
+    // Name suggestions while typing: users of the caller's college whose name or a word of it starts with q
+    @GetMapping("/users/autocomplete")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<UserTypeaheadDto>> autocompleteUsersInCollege(@RequestParam("q") String prefix,
+                                                                           @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return ResponseEntity.ok(searchService.autocompleteUsersInMyCollege(prefix, limit));
+    }
 }
\ No newline at end of file
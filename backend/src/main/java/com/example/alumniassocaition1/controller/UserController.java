@@ -1,8 +1,10 @@
 package com.example.alumniassocaition1.controller;
 
 import com.example.alumniassocaition1.dto.ApiResponse;
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.user.FollowEntryDto;
 import com.example.alumniassocaition1.dto.user.UserProfileDto; // Assuming DTO path
-import com.example.alumniassocaition1.dto.user.UserSummaryDto; // Assuming DTO path
+import com.example.alumniassocaition1.dto.user.UserSuggestionDto;
 import com.example.alumniassocaition1.dto.user.UserUpdateRequest; // Assuming DTO path
 import com.example.alumniassocaition1.service.UserService;
 
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 // Potentially needed if handling profile picture uploads directly here
 // import org.springframework.web.multipart.MultipartFile;
 // import org.springframework.http.MediaType;
@@ -27,9 +30,9 @@ public class UserController {
     // Get public profile details of a specific user
     @GetMapping("/{userId}")
     @PreAuthorize("isAuthenticated()") // Or adjust if some profiles are truly public without login
-    public ResponseEntity<UserProfileDto> getUserProfile(@PathVariable Long userId) {
-        UserProfileDto userProfile = userService.getUserProfile(userId);
-        return ResponseEntity.ok(userProfile);
+    public ResponseEntity<UserProfileDto> getUserProfile(@PathVariable Long userId, WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, userService.getUserProfileETag(userId),
+                () -> userService.getUserProfile(userId));
     }
 
     // Update the profile of the currently logged-in user
@@ -56,20 +59,31 @@ public class UserController {
         return ResponseEntity.ok(updatedProfile);
     }
 
-    // Get the list of users following the specified user
+    // GET /api/users/{id}/followers?cursor=: followers, most recent first; pass back nextCursor for the next page
     @GetMapping("/{userId}/followers")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<UserSummaryDto>> getFollowers(@PathVariable Long userId) {
-        List<UserSummaryDto> followers = userService.getFollowers(userId);
-        return ResponseEntity.ok(followers);
+    public ResponseEntity<CursorPage<FollowEntryDto>> getFollowers(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getFollowers(userId, cursor, size));
     }
 
-    // Get the list of users the specified user is following
+    // GET /api/users/{id}/following?cursor=: users followed, most recent first
     @GetMapping("/{userId}/following")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<UserSummaryDto>> getFollowing(@PathVariable Long userId) {
-        List<UserSummaryDto> following = userService.getFollowing(userId);
-        return ResponseEntity.ok(following);
+    public ResponseEntity<CursorPage<FollowEntryDto>> getFollowing(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getFollowing(userId, cursor, size));
+    }
+
+    // "People you may know": users of the same college followed by the people the logged-in user follows
+    @GetMapping("/me/suggestions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<UserSuggestionDto>> getSuggestions(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.getSuggestions(limit));
     }
 
     // Make the logged-in user follow the user specified by :userId
@@ -2,14 +2,26 @@ package com.example.alumniassocaition1.dto;
 
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class CommentDto {
     private Long id;
     private Long postId;
     private UserSummaryDto author;
     private String text;
     private LocalDateTime createdAt;
+
+    // Constructor projection used by CommentRepository read queries
+    public CommentDto(Long id, Long postId, String text, LocalDateTime createdAt,
+                      Long authorId, String authorName, String authorEmail, String authorRole, String authorStatus) {
+        this.id = id;
+        this.postId = postId;
+        this.text = text;
+        this.createdAt = createdAt;
+        this.author = new UserSummaryDto(authorId, authorName, authorEmail, authorRole, authorStatus);
+    }
 }
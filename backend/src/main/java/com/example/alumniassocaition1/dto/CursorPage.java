@@ -0,0 +1,20 @@
+package com.example.alumniassocaition1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Slim page envelope for keyset (cursor) pagination. Unlike Spring's Page it carries no total count,
+ * so producing it never requires a COUNT(*) query.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // null when there are no more items
+    private boolean hasMore;
+}
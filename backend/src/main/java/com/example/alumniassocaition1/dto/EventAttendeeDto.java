@@ -0,0 +1,19 @@
+package com.example.alumniassocaition1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One attendee of an event, as listed in attendee pages and event previews
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // Constructor projection used by EventAttendeeRepository read queries
+public class EventAttendeeDto {
+    private Long eventId;
+    private Long id; // user id
+    private String name;
+    private String profilePictureUrl;
+    private LocalDateTime joinedAt;
+}
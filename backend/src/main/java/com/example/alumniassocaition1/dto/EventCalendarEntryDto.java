@@ -0,0 +1,21 @@
+package com.example.alumniassocaition1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// The fields of one event that go into an iCalendar feed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // Constructor projection used by EventRepository.streamCalendarEntriesByCollegeId
+public class EventCalendarEntryDto {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDateTime date;
+    private String location;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
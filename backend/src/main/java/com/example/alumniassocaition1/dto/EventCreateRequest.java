@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.time.LocalDateTime;
 
@@ -26,18 +27,23 @@ public class EventCreateRequest {
 
     private final Long collegeId;
 
+    @Positive
+    private final Integer capacity; // Optional attendee limit; null means unlimited
+
     @JsonCreator
     public EventCreateRequest(
             @JsonProperty("title") String title,
             @JsonProperty("description") String description,
             @JsonProperty("date") LocalDateTime date,
             @JsonProperty("location") String location,
-            @JsonProperty("collegeId") Long collegeId) {
+            @JsonProperty("collegeId") Long collegeId,
+            @JsonProperty("capacity") Integer capacity) {
         this.title = title;
         this.description = description;
         this.date = date;
         this.location = location;
         this.collegeId = collegeId;
+        this.capacity = capacity;
     }
 
     public String getTitle() {
@@ -59,4 +65,8 @@ public class EventCreateRequest {
     public Long getCollegeId() {
         return collegeId;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
 }
@@ -3,11 +3,13 @@ package com.example.alumniassocaition1.dto;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class EventDto {
     private Long id;
     private String title;
@@ -17,9 +19,30 @@ public class EventDto {
     private String imageUrl; // New field
     private UserSummaryDto createdBy;
     private Long collegeId;
-    private List<UserSummaryDto> attendees;
+    private Integer capacity; // null when the event has no attendee limit
+    private long attendeeCount;
+    private List<EventAttendeeDto> attendeePreview; // first few attendees; the full list is paged via /api/events/{id}/attendees
     @JsonInclude(JsonInclude.Include.ALWAYS)
     private boolean isAttending; // Is the current authenticated user attending?
+    private boolean waitlisted; // Is the current authenticated user waiting for a seat?
     private LocalDateTime createdAt;
     // private LocalDateTime updatedAt; // Optional: if you want to send this to frontend
+
+    // Constructor projection used by EventRepository read queries; the attendee preview, isAttending and waitlisted are filled in afterwards
+    public EventDto(Long id, String title, String description, LocalDateTime date, String location, String imageUrl,
+                    LocalDateTime createdAt, Long collegeId, Integer capacity, int attendeeCount,
+                    Long creatorId, String creatorName, String creatorEmail, String creatorRole) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.date = date;
+        this.location = location;
+        this.imageUrl = imageUrl;
+        this.createdAt = createdAt;
+        this.collegeId = collegeId;
+        this.capacity = capacity;
+        this.attendeeCount = attendeeCount;
+        this.createdBy = new UserSummaryDto(creatorId, creatorName != null ? creatorName : "Unknown Creator",
+                creatorEmail, creatorRole, null);
+    }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.example.alumniassocaition1.dto.post;
 
+import com.example.alumniassocaition1.dto.CommentDto;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class PostDto {
     private Long id;
     private String content;
@@ -15,4 +20,19 @@ public class PostDto {
     private long likesCount;
     private long commentsCount;
     private boolean likedByCurrentUser;
+    // Newest first; only present when the feed was requested with ?commentPreview=true
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentDto> latestComments;
+
+    // Constructor projection used by PostRepository read queries (SELECT new ...PostDto(...))
+    public PostDto(Long id, String content, String imageUrl, LocalDateTime createdAt, long likesCount, long commentsCount,
+                   Long authorId, String authorName, String authorEmail, String authorRole) {
+        this.id = id;
+        this.content = content;
+        this.imageUrl = imageUrl;
+        this.createdAt = createdAt;
+        this.likesCount = likesCount;
+        this.commentsCount = commentsCount;
+        this.author = new UserSummaryDto(authorId, authorName != null ? authorName : "Unknown Author", authorEmail, authorRole, null);
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.alumniassocaition1.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One full-text match: a post, or a comment on a post
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchHitDto {
+    private String type; // "post" or "comment"
+    private Long id; // Post id or comment id, by type
+    private Long postId; // The post itself, or the post the comment is on
+    private String snippet; // The part of the text around the matched words
+    private Long authorId;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private float rank;
+}
@@ -0,0 +1,24 @@
+package com.example.alumniassocaition1.dto.post;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of one event on GET /api/posts/stream. Clients fetch the post itself when they need more than this.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostStreamEvent {
+    public static final String POST_CREATED = "post.created";
+    public static final String POST_UPDATED = "post.updated";
+    public static final String POST_DELETED = "post.deleted";
+    public static final String POST_LIKES = "post.likes";
+
+    private String type;
+    private Long postId;
+    private Long likesCount; // only set for post.likes
+}
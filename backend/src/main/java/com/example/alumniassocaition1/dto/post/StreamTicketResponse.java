@@ -0,0 +1,16 @@
+package com.example.alumniassocaition1.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of POST /api/posts/stream/ticket: pass the ticket as ?ticket= when opening GET /api/posts/stream.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamTicketResponse {
+    private String ticket;
+    private long expiresInMs;
+}
@@ -0,0 +1,23 @@
+package com.example.alumniassocaition1.dto.search;
+
+import com.example.alumniassocaition1.dto.EventDto;
+import com.example.alumniassocaition1.dto.post.PostDto;
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FederatedSearchResponse {
+    private String query;
+    private List<SearchHitDto> topHits; // All sources merged by relevance
+    private SearchSectionDto<UserSummaryDto> users;
+    private SearchSectionDto<PostDto> posts;
+    private SearchSectionDto<EventDto> events;
+    private boolean partial; // A source timed out or failed, so its section is empty
+    private long tookMs;
+}
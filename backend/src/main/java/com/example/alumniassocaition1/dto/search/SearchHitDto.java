@@ -0,0 +1,16 @@
+package com.example.alumniassocaition1.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One result of any source in the merged, relevance-ordered list of a federated search
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+    private String type; // "user", "post" or "event"
+    private Long id;
+    private String title; // Name, event title, or the start of the post
+    private double score;
+}
@@ -0,0 +1,22 @@
+package com.example.alumniassocaition1.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Results of one federated search source, most relevant first, with how long the source took
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSectionDto<T> {
+    public static final String OK = "ok";
+    public static final String TIMEOUT = "timeout"; // Missed its budget; items is empty
+    public static final String ERROR = "error"; // Failed or could not be scheduled; items is empty
+
+    private List<T> items;
+    private String status;
+    private long tookMs;
+    private long budgetMs;
+}
@@ -0,0 +1,30 @@
+package com.example.alumniassocaition1.dto.user;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One user in a page of followers or followed users
+@Data
+@NoArgsConstructor
+public class FollowEntryDto {
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+    private String profilePictureUrl;
+    private LocalDateTime followedAt; // When the relationship started; the page sort key
+    private boolean followedByCurrentUser;
+
+    // Constructor projection used by UserFollowRepository page queries
+    public FollowEntryDto(Long id, String name, String email, String role, String profilePictureUrl,
+                          LocalDateTime followedAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.profilePictureUrl = profilePictureUrl;
+        this.followedAt = followedAt;
+    }
+}
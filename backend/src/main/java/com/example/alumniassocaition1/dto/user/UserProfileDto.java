@@ -16,5 +16,7 @@ public class UserProfileDto {
     private String profilePictureUrl; // This will be a URL to a locally served file
     private Long followersCount;
     private Long followingCount;
+    private boolean followedByCurrentUser; // The viewer follows this user
+    private boolean followsCurrentUser; // This user follows the viewer
     private LocalDateTime createdAt;
 }
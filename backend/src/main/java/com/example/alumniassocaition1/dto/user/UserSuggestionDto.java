@@ -0,0 +1,22 @@
+package com.example.alumniassocaition1.dto.user;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class UserSuggestionDto {
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+    private int mutualFollows; // People the viewer follows who follow this user
+
+    public UserSuggestionDto(UserSummaryDto user, int mutualFollows) {
+        this.id = user.getId();
+        this.name = user.getName();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.mutualFollows = mutualFollows;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.alumniassocaition1.dto.user;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class UserSummaryDto {
     private Long id;
     private String name;
@@ -10,4 +12,13 @@ public class UserSummaryDto {
     private String role;
     public String Status;
     // Add other fields as needed for summary
+
+    // Constructor projection used by read-only repository queries (SELECT new ...UserSummaryDto(...))
+    public UserSummaryDto(Long id, String name, String email, String role, String status) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.Status = status;
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.alumniassocaition1.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTypeaheadDto {
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+    private long followerCount; // What the suggestions are ranked by
+}
@@ -9,7 +9,10 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Serves a post's comments in time order: cursor pages (ascending) and the latest-comment previews (descending)
+        @Index(name = "idx_comments_post_created", columnList = "post_id, created_at, comment_id")
+})
 public class Comment {
 
     @Id
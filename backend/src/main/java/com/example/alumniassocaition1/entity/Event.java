@@ -10,7 +10,12 @@ import java.util.Set;
 @Entity
 @Getter
 @Setter
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // College-scoped date lookups: upcoming events and date-range (calendar) reads
+        @Index(name = "idx_events_college_date", columnList = "college_id, event_date"),
+        // Latest change per college, the version of its iCalendar feed
+        @Index(name = "idx_events_college_updated", columnList = "college_id, updated_at")
+})
 public class Event {
 
     @Id
@@ -34,6 +39,21 @@ public class Event {
     @Column(name = "image_url") // New field for event image
     private String imageUrl;
 
+    // Maximum number of attendees; null means unlimited. Joins beyond it go to the waitlist.
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    // Denormalized number of attendees, which is also the seat counter. Never written through the entity;
+    // EventSeatAllocator takes and releases seats with atomic UPDATE statements.
+    @Column(name = "attendee_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private int attendeeCount;
+
+    // Moves whenever the attendees, the waitlist or an attendee's details change; see EventSeatAllocator
+    @Column(name = "attendees_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long attendeesVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_user_id", nullable = false)
     private User createdBy;
@@ -51,6 +71,9 @@ public class Event {
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<EventAttendee> attendees;
 
+    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<EventWaitlistEntry> waitlist;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
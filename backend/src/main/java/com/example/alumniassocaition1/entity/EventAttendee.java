@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "event_attendees")
+@Table(name = "event_attendees", indexes = {
+        // Attendee pages and previews of an event, in join order
+        @Index(name = "idx_event_attendees_event_joined", columnList = "event_id, joined_at, user_id")
+})
 public class EventAttendee {
 
     @EmbeddedId
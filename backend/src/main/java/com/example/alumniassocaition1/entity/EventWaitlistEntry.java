@@ -0,0 +1,39 @@
+package com.example.alumniassocaition1.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// A user waiting for a seat at a full event; promoted to attendee in request order
+@Entity
+@Getter
+@Setter
+@Table(name = "event_waitlist", indexes = {
+        // Next user to promote for an event
+        @Index(name = "idx_event_waitlist_event_requested", columnList = "event_id, requested_at, user_id")
+})
+public class EventWaitlistEntry {
+
+    @EmbeddedId
+    private EventAttendeeId id; // Same (event, user) key as an attendance
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("eventId")
+    @JoinColumn(name = "event_id")
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("userId")
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private LocalDateTime requestedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        requestedAt = LocalDateTime.now();
+    }
+}
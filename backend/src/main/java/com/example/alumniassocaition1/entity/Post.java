@@ -11,7 +11,10 @@ import java.util.Set;
 @Entity
 @Getter
 @Setter
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // Serves the college feed ordered newest first, including keyset pagination on (created_at, post_id)
+        @Index(name = "idx_posts_college_created", columnList = "college_id, created_at DESC, post_id DESC")
+})
 public class Post {
 
     @Id
@@ -40,6 +43,22 @@ public class Post {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Denormalized engagement counters. They are never written through the entity (insertable/updatable = false);
+    // PostRepository adjusts them with atomic UPDATE statements and PostCounterReconciler repairs any drift.
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long likeCount;
+
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long commentCount;
+
+    // Incremented by every counter update, even ones that cancel out (one like, another user's unlike),
+    // so ETags can tell that a viewer's liked flag may have changed although the counts did not
+    @Column(name = "engagement_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long engagementVersion;
+
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Comment> comments = new HashSet<>(); // Initialize collections
 
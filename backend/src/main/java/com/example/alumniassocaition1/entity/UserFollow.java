@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "user_follows")
+@Table(name = "user_follows", indexes = {
+        // Follower and following pages of a user, most recent first
+        @Index(name = "idx_user_follows_following_followed", columnList = "following_id, followed_at, follower_id"),
+        @Index(name = "idx_user_follows_follower_followed", columnList = "follower_id, followed_at, following_id")
+})
 public class UserFollow {
 
     @EmbeddedId
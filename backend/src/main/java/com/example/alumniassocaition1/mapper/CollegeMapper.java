@@ -0,0 +1,27 @@
+package com.example.alumniassocaition1.mapper;
+
+import com.example.alumniassocaition1.dto.college.CollegeDto;
+import com.example.alumniassocaition1.entity.College;
+
+/**
+ * College entity to DTO conversion, written out field by field (no reflective property copying).
+ */
+public final class CollegeMapper {
+
+    private CollegeMapper() {
+    }
+
+    public static CollegeDto toDto(College college) {
+        CollegeDto dto = new CollegeDto();
+        dto.setCollegeId(college.getCollegeId());
+        dto.setName(college.getName());
+        dto.setAddress(college.getAddress());
+        dto.setContactPersonName(college.getContactPersonName());
+        dto.setContactEmail(college.getContactEmail());
+        dto.setContactPhone(college.getContactPhone());
+        dto.setRegistrationStatus(college.getRegistrationStatus());
+        dto.setCreatedAt(college.getCreatedAt());
+        dto.setUpdatedAt(college.getUpdatedAt());
+        return dto;
+    }
+}
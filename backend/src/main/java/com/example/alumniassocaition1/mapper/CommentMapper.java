@@ -0,0 +1,25 @@
+package com.example.alumniassocaition1.mapper;
+
+import com.example.alumniassocaition1.dto.CommentDto;
+import com.example.alumniassocaition1.entity.Comment;
+
+/**
+ * Comment entity to DTO conversion. Produces the same shape as the CommentRepository projections.
+ */
+public final class CommentMapper {
+
+    private CommentMapper() {
+    }
+
+    public static CommentDto toDto(Comment comment) {
+        CommentDto dto = new CommentDto();
+        dto.setId(comment.getCommentId());
+        dto.setPostId(comment.getPost().getPostId());
+        dto.setText(comment.getTextContent());
+        dto.setCreatedAt(comment.getCreatedAt());
+        if (comment.getAuthor() != null) {
+            dto.setAuthor(UserMapper.toSummaryDto(comment.getAuthor()));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.alumniassocaition1.mapper;
+
+import com.example.alumniassocaition1.dto.EventDto;
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.entity.Event;
+
+/**
+ * Event entity to DTO conversion. Produces the same shape as the EventRepository projections;
+ * the caller supplies the current user's attendance and fills in the attendee preview and waitlist flag.
+ */
+public final class EventMapper {
+
+    private EventMapper() {
+    }
+
+    public static EventDto toDto(Event event, boolean attending) {
+        EventDto dto = new EventDto();
+        dto.setId(event.getEventId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setDate(event.getEventDate());
+        dto.setLocation(event.getLocation());
+        dto.setImageUrl(event.getImageUrl());
+        dto.setCreatedAt(event.getCreatedAt());
+        dto.setCapacity(event.getCapacity());
+        dto.setAttendeeCount(event.getAttendeeCount());
+
+        UserSummaryDto creator = event.getCreatedBy() != null
+                ? UserMapper.toPublicSummaryDto(event.getCreatedBy())
+                : new UserSummaryDto();
+        if (creator.getName() == null) {
+            creator.setName("Unknown Creator");
+        }
+        dto.setCreatedBy(creator);
+
+        if (event.getCollege() != null) {
+            dto.setCollegeId(event.getCollege().getCollegeId());
+        }
+
+        dto.setAttending(attending);
+        return dto;
+    }
+}
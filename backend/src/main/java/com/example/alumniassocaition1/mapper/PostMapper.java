@@ -0,0 +1,38 @@
+package com.example.alumniassocaition1.mapper;
+
+import com.example.alumniassocaition1.dto.post.PostDto;
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.entity.Post;
+
+/**
+ * Post entity to DTO conversion. Produces the same shape as the PostRepository projections;
+ * counters come from the denormalized columns of the post row.
+ */
+public final class PostMapper {
+
+    private PostMapper() {
+    }
+
+    public static PostDto toDto(Post post, boolean likedByCurrentUser) {
+        PostDto dto = new PostDto();
+        dto.setId(post.getPostId());
+        dto.setContent(post.getContent());
+        dto.setImageUrl(post.getImageUrl());
+        dto.setCreatedAt(post.getCreatedAt());
+        if (post.getAuthor() != null) {
+            UserSummaryDto author = UserMapper.toPublicSummaryDto(post.getAuthor());
+            if (author.getName() == null) {
+                author.setName("Unknown Author");
+            }
+            dto.setAuthor(author);
+        } else {
+            UserSummaryDto unknownAuthor = new UserSummaryDto();
+            unknownAuthor.setName("Unknown User");
+            dto.setAuthor(unknownAuthor);
+        }
+        dto.setLikesCount(post.getLikeCount());
+        dto.setCommentsCount(post.getCommentCount());
+        dto.setLikedByCurrentUser(likedByCurrentUser);
+        return dto;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.alumniassocaition1.mapper;
+
+import com.example.alumniassocaition1.dto.user.UserProfileDto;
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.entity.User;
+
+/**
+ * User entity to DTO conversions, written out field by field (no reflective property copying).
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserSummaryDto toSummaryDto(User user) {
+        return new UserSummaryDto(user.getUserId(), user.getName(), user.getEmail(), user.getRole(), user.getStatus());
+    }
+
+    // Summary without the account status, as shown for post authors, event creators and attendees
+    public static UserSummaryDto toPublicSummaryDto(User user) {
+        return new UserSummaryDto(user.getUserId(), user.getName(), user.getEmail(), user.getRole(), null);
+    }
+
+    public static UserProfileDto toProfileDto(User user, long followersCount, long followingCount) {
+        UserProfileDto dto = new UserProfileDto();
+        dto.setId(user.getUserId());
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setRole(user.getRole());
+        dto.setHeadline(user.getProfileHeadline());
+        dto.setLocation(user.getProfileLocation());
+        dto.setAbout(user.getProfileAbout());
+        dto.setProfilePictureUrl(user.getProfilePictureUrl());
+        dto.setFollowersCount(followersCount);
+        dto.setFollowingCount(followingCount);
+        dto.setCreatedAt(user.getCreatedAt());
+        return dto;
+    }
+}
@@ -1,17 +1,63 @@
 package com.example.alumniassocaition1.repository;
 
+import com.example.alumniassocaition1.dto.CommentDto;
 import com.example.alumniassocaition1.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostPostIdOrderByCreatedAtAsc(Long postId);
 
+    // Read-only projection of a post's comments with their authors, oldest first, without loading entities
+    @Query("SELECT new com.example.alumniassocaition1.dto.CommentDto(c.commentId, c.post.postId, c.textContent, c.createdAt, " +
+            "a.userId, a.name, a.email, a.role, a.status) FROM Comment c JOIN c.author a " +
+            "WHERE c.post.postId = :postId ORDER BY c.createdAt ASC, c.commentId ASC")
+    List<CommentDto> findDtosByPostId(@Param("postId") Long postId);
+
+    // --- Keyset (cursor) pages of a post's comments, oldest first ---
+    String COMMENT_DTO_SELECT = "SELECT new com.example.alumniassocaition1.dto.CommentDto(c.commentId, c.post.postId, " +
+            "c.textContent, c.createdAt, a.userId, a.name, a.email, a.role, a.status) FROM Comment c JOIN c.author a ";
+
+    @Query(COMMENT_DTO_SELECT + "WHERE c.post.postId = :postId ORDER BY c.createdAt ASC, c.commentId ASC")
+    List<CommentDto> findPageByPostIdFirst(@Param("postId") Long postId, Pageable limit);
+
+    @Query(COMMENT_DTO_SELECT + "WHERE c.post.postId = :postId AND " +
+            "(c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.commentId > :commentId)) " +
+            "ORDER BY c.createdAt ASC, c.commentId ASC")
+    List<CommentDto> findPageByPostIdAfter(@Param("postId") Long postId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("commentId") Long commentId,
+                                           Pageable limit);
+
+    /**
+     * The two latest comments of each given post, newest first, in one query. The lateral subquery reads
+     * at most two index entries per post, however many comments a post has.
+     */
+    @Query("SELECT new com.example.alumniassocaition1.dto.CommentDto(c.commentId, p.postId, c.textContent, c.createdAt, " +
+            "a.userId, a.name, a.email, a.role, a.status) FROM Post p " +
+            "JOIN LATERAL (SELECT c2.commentId AS commentId FROM Comment c2 WHERE c2.post.postId = p.postId " +
+            "ORDER BY c2.createdAt DESC, c2.commentId DESC LIMIT 2) latest " +
+            "JOIN Comment c ON c.commentId = latest.commentId JOIN c.author a " +
+            "WHERE p.postId IN :postIds ORDER BY p.postId, c.createdAt DESC, c.commentId DESC")
+    List<CommentDto> findLatestDtosByPostIds(@Param("postIds") Collection<Long> postIds);
+
     List<Comment> findByAuthorUserId(Long userId);
 
     long countByPostPostId(Long postId);
+
+    /**
+     * Comment counts for a batch of posts, one row per post that has at least one comment.
+     * @return rows of [postId (Long), commentCount (Long)]
+     */
+    @Query("SELECT c.post.postId, COUNT(c) FROM Comment c WHERE c.post.postId IN :postIds GROUP BY c.post.postId")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
     // Add custom query methods if needed
 }
@@ -1,17 +1,62 @@
 package com.example.alumniassocaition1.repository;
 
+import com.example.alumniassocaition1.dto.EventAttendeeDto;
 import com.example.alumniassocaition1.entity.EventAttendee;
 import com.example.alumniassocaition1.entity.EventAttendeeId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface EventAttendeeRepository extends JpaRepository<EventAttendee, EventAttendeeId> {
     List<EventAttendee> findByIdEventId(Long eventId);
 
+    int ATTENDEE_PREVIEW_SIZE = 5;
+
+    String ATTENDEE_DTO_SELECT = "SELECT new com.example.alumniassocaition1.dto.EventAttendeeDto(" +
+            "ea.id.eventId, ea.id.userId, u.name, u.profilePictureUrl, ea.joinedAt) FROM EventAttendee ea JOIN ea.user u ";
+
+    // Keyset pages of an event's attendees in join order; pass a limit of page size + 1 to detect a next page
+    @Query(ATTENDEE_DTO_SELECT + "WHERE ea.id.eventId = :eventId ORDER BY ea.joinedAt ASC, ea.id.userId ASC")
+    List<EventAttendeeDto> findPageByEventIdFirst(@Param("eventId") Long eventId, Pageable limit);
+
+    @Query(ATTENDEE_DTO_SELECT + "WHERE ea.id.eventId = :eventId AND " +
+            "(ea.joinedAt > :joinedAt OR (ea.joinedAt = :joinedAt AND ea.id.userId > :userId)) " +
+            "ORDER BY ea.joinedAt ASC, ea.id.userId ASC")
+    List<EventAttendeeDto> findPageByEventIdAfter(@Param("eventId") Long eventId,
+                                                  @Param("joinedAt") LocalDateTime joinedAt,
+                                                  @Param("userId") Long userId,
+                                                  Pageable limit);
+
+    /**
+     * The first {@value #ATTENDEE_PREVIEW_SIZE} attendees of each given event in one query. The lateral
+     * subquery reads only that many index entries per event, however many people joined it.
+     */
+    @Query("SELECT new com.example.alumniassocaition1.dto.EventAttendeeDto(" +
+            "e.eventId, ea.id.userId, u.name, u.profilePictureUrl, ea.joinedAt) FROM Event e " +
+            "JOIN LATERAL (SELECT ea2.id.userId AS userId FROM EventAttendee ea2 WHERE ea2.id.eventId = e.eventId " +
+            "ORDER BY ea2.joinedAt ASC, ea2.id.userId ASC LIMIT " + ATTENDEE_PREVIEW_SIZE + ") preview " +
+            "JOIN EventAttendee ea ON ea.id.eventId = e.eventId AND ea.id.userId = preview.userId JOIN ea.user u " +
+            "WHERE e.eventId IN :eventIds ORDER BY e.eventId, ea.joinedAt ASC, ea.id.userId ASC")
+    List<EventAttendeeDto> findPreviewDtosByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Actual attendee numbers, used by EventSeatReconciler to check Event.attendeeCount.
+     * @return rows of [eventId (Long), attendee count (Long)], only for events that have attendees
+     */
+    @Query("SELECT ea.id.eventId, COUNT(ea) FROM EventAttendee ea WHERE ea.id.eventId IN :eventIds GROUP BY ea.id.eventId")
+    List<Object[]> countByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    long countByIdEventId(Long eventId);
+
     List<EventAttendee> findByIdUserId(Long userId);
 
     Optional<EventAttendee> findByIdEventIdAndIdUserId(Long eventId, Long userId);
@@ -20,5 +65,9 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Ev
 
     boolean existsByIdEventIdAndIdUserId(Long eventId, Long userId);
 
+    // The events among eventIds that the user attends, for isAttending flags of a whole list in one query
+    @Query("SELECT ea.id.eventId FROM EventAttendee ea WHERE ea.id.userId = :userId AND ea.id.eventId IN :eventIds")
+    Set<Long> findAttendedEventIds(@Param("userId") Long userId, @Param("eventIds") Collection<Long> eventIds);
+
     void deleteByIdUserId(Long userId);
 }
@@ -1,13 +1,25 @@
 package com.example.alumniassocaition1.repository;
 
+import com.example.alumniassocaition1.dto.EventCalendarEntryDto;
+import com.example.alumniassocaition1.dto.EventDto;
 import com.example.alumniassocaition1.entity.Event;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page; // If using Pageable
 import org.springframework.data.domain.Pageable; // If using Pageable
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -22,7 +34,114 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Page<Event> findAllByOrderByEventDateDesc(Pageable pageable);
 
 
+    // --- Read-only EventDto projections (creator joined in the same query, no entities loaded) ---
+    String EVENT_DTO_SELECT = "SELECT new com.example.alumniassocaition1.dto.EventDto(" +
+            "e.eventId, e.title, e.description, e.eventDate, e.location, e.imageUrl, e.createdAt, e.college.collegeId, " +
+            "e.capacity, e.attendeeCount, " +
+            "u.userId, u.name, u.email, u.role) FROM Event e JOIN e.createdBy u ";
+
+    @Query(value = EVENT_DTO_SELECT + "WHERE e.college.collegeId = :collegeId ORDER BY e.eventDate DESC, e.eventId DESC",
+            countQuery = "SELECT COUNT(e) FROM Event e WHERE e.college.collegeId = :collegeId")
+    Page<EventDto> findPageDtosByCollegeId(@Param("collegeId") Long collegeId, Pageable pageable);
+
+    @Query(value = EVENT_DTO_SELECT + "ORDER BY e.eventDate DESC, e.eventId DESC", countQuery = "SELECT COUNT(e) FROM Event e")
+    Page<EventDto> findAllPageDtos(Pageable pageable);
+
+    @Query(EVENT_DTO_SELECT + "WHERE e.eventId IN :eventIds")
+    List<EventDto> findDtosByEventIdIn(@Param("eventIds") List<Long> eventIds);
+
+    // Federated search: ids of a college's events whose title, location or description matches a LIKE pattern,
+    // latest first. Native because the description is a large object, read here with lo_get. Runs under the
+    // search's statement timeout (see SearchServiceImpl#fanOut).
+    @Query(value = "SELECT e.event_id FROM events e WHERE e.college_id = :collegeId AND (" +
+            "LOWER(e.title) LIKE :pattern ESCAPE '!' OR LOWER(e.location) LIKE :pattern ESCAPE '!' OR " +
+            "LOWER(convert_from(lo_get(e.description), 'UTF8')) LIKE :pattern ESCAPE '!') " +
+            "ORDER BY e.event_date DESC, e.event_id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsInCollege(@Param("collegeId") Long collegeId, @Param("pattern") String pattern,
+                                  @Param("limit") int limit);
+
+    // --- Discovery: soonest first, optionally filtered by a LOWER(location) LIKE pattern (pass "%" for any) ---
+    // Served by idx_events_college_date; pass a Pageable to cap the number of rows
+
+    @Query(EVENT_DTO_SELECT + "WHERE e.college.collegeId = :collegeId AND e.eventDate >= :from " +
+            "AND LOWER(e.location) LIKE :locationPattern ESCAPE '!' ORDER BY e.eventDate ASC, e.eventId ASC")
+    List<EventDto> findUpcomingDtosByCollegeId(@Param("collegeId") Long collegeId, @Param("from") LocalDateTime from,
+                                               @Param("locationPattern") String locationPattern, Pageable limit);
+
+    @Query(EVENT_DTO_SELECT + "WHERE e.eventDate >= :from " +
+            "AND LOWER(e.location) LIKE :locationPattern ESCAPE '!' ORDER BY e.eventDate ASC, e.eventId ASC")
+    List<EventDto> findUpcomingDtos(@Param("from") LocalDateTime from,
+                                    @Param("locationPattern") String locationPattern, Pageable limit);
+
+    @Query(EVENT_DTO_SELECT + "WHERE e.college.collegeId = :collegeId AND e.eventDate >= :from AND e.eventDate < :to " +
+            "AND LOWER(e.location) LIKE :locationPattern ESCAPE '!' ORDER BY e.eventDate ASC, e.eventId ASC")
+    List<EventDto> findDtosByCollegeIdInRange(@Param("collegeId") Long collegeId, @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("locationPattern") String locationPattern, Pageable limit);
+
+    @Query(EVENT_DTO_SELECT + "WHERE e.eventDate >= :from AND e.eventDate < :to " +
+            "AND LOWER(e.location) LIKE :locationPattern ESCAPE '!' ORDER BY e.eventDate ASC, e.eventId ASC")
+    List<EventDto> findDtosInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                   @Param("locationPattern") String locationPattern, Pageable limit);
+
+    @Query(EVENT_DTO_SELECT + "WHERE e.eventId = :eventId")
+    Optional<EventDto> findDtoById(@Param("eventId") Long eventId);
+
+    /**
+     * The event's college, for visibility checks that need nothing else of the event.
+     * @return one element, null for an event of no college, or none if there is no such event
+     */
+    @Query("SELECT c.collegeId FROM Event e LEFT JOIN e.college c WHERE e.eventId = :eventId")
+    List<Long> findCollegeIdById(@Param("eventId") Long eventId);
+
+    /**
+     * Versions an event response is derived from, for conditional GETs. The attendee count and attendees
+     * version stand for the attendee preview, the waitlist and each viewer's attendance, so neither the
+     * attendees nor the waitlist are read.
+     * @return at most one row of [collegeId, updatedAt, creator updatedAt, attendee count, attendees version]
+     */
+    @Query("SELECT e.college.collegeId, e.updatedAt, c.updatedAt, e.attendeeCount, e.attendeesVersion " +
+            "FROM Event e JOIN e.createdBy c WHERE e.eventId = :eventId")
+    List<Object[]> findVersionById(@Param("eventId") Long eventId);
+
+    // --- iCalendar feed ---
+    String CALENDAR_FETCH_SIZE = "200";
+
+    /**
+     * All events of a college in date order, read from the database in chunks of {@value #CALENDAR_FETCH_SIZE}
+     * rows as the stream is consumed. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CALENDAR_FETCH_SIZE))
+    @Query("SELECT new com.example.alumniassocaition1.dto.EventCalendarEntryDto(" +
+            "e.eventId, e.title, e.description, e.eventDate, e.location, e.createdAt, e.updatedAt) " +
+            "FROM Event e WHERE e.college.collegeId = :collegeId ORDER BY e.eventDate ASC, e.eventId ASC")
+    Stream<EventCalendarEntryDto> streamCalendarEntriesByCollegeId(@Param("collegeId") Long collegeId);
+
+    /**
+     * Version of a college's calendar feed: any added or edited event moves the latest updatedAt,
+     * a removed one lowers the count.
+     * @return at most one row of [college name, latest event updatedAt (null without events), event count]
+     */
+    @Query("SELECT c.name, MAX(e.updatedAt), COUNT(e) FROM College c LEFT JOIN Event e ON e.college = c " +
+            "WHERE c.collegeId = :collegeId GROUP BY c.collegeId, c.name")
+    List<Object[]> findCalendarVersionByCollegeId(@Param("collegeId") Long collegeId);
+
+    /**
+     * @return rows of [eventId (Long), attendeeCount (Integer)] after the given id, for EventSeatReconciler
+     */
+    @Query("SELECT e.eventId, e.attendeeCount FROM Event e WHERE e.eventId > :afterId ORDER BY e.eventId")
+    List<Object[]> findSeatCounterBatch(@Param("afterId") Long afterId, Pageable limit);
+
+    // Locks the event row against joins, leaves and promotions until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.attendeeCount FROM Event e WHERE e.eventId = :eventId")
+    Optional<Integer> lockAttendeeCount(@Param("eventId") Long eventId);
+
+    // Only while holding the lock from lockAttendeeCount; seats are otherwise moved by EventSeatAllocator
+    @Modifying
+    @Query("UPDATE Event e SET e.attendeeCount = :attendeeCount WHERE e.eventId = :eventId")
+    int updateAttendeeCount(@Param("eventId") Long eventId, @Param("attendeeCount") int attendeeCount);
+
     // Existing methods
     List<Event> findByCreatedByUserId(Long userId); // Used in AdminServiceImpl for deleting user's events
-    List<Event> findByEventDateAfter(LocalDateTime date); // Used on HomePage
 }
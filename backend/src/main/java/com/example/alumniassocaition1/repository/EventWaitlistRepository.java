@@ -0,0 +1,20 @@
+package com.example.alumniassocaition1.repository;
+
+import com.example.alumniassocaition1.entity.EventAttendeeId;
+import com.example.alumniassocaition1.entity.EventWaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Read side of the waitlist; joins, leaves and promotions go through EventSeatAllocator
+@Repository
+public interface EventWaitlistRepository extends JpaRepository<EventWaitlistEntry, EventAttendeeId> {
+
+    // The events among eventIds where the user is waiting for a seat, for a whole list in one query
+    @Query("SELECT w.id.eventId FROM EventWaitlistEntry w WHERE w.id.userId = :userId AND w.id.eventId IN :eventIds")
+    Set<Long> findWaitlistedEventIds(@Param("userId") Long userId, @Param("eventIds") Collection<Long> eventIds);
+}
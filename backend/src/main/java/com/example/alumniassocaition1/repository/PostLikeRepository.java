@@ -3,8 +3,12 @@ package com.example.alumniassocaition1.repository;
 import com.example.alumniassocaition1.entity.PostLike;
 import com.example.alumniassocaition1.entity.PostLikeId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,10 +22,28 @@ public interface PostLikeRepository extends JpaRepository<PostLike, PostLikeId>
 
     void deleteByIdPostIdAndIdUserId(Long postId, Long userId);
 
+    // Returns the number of rows removed (0 or 1) so callers can keep Post.likeCount exact
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.id.postId = :postId AND pl.id.userId = :userId")
+    int deleteLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
     long countByIdPostId(Long postId);
 
     boolean existsByIdPostIdAndIdUserId(Long postId, Long userId);
     // In PostLikeRepository.java
     void deleteByIdUserId(Long userId); // New method needed
 
+    /**
+     * Like counts for a batch of posts, one row per post that has at least one like.
+     * @return rows of [postId (Long), likeCount (Long)]
+     */
+    @Query("SELECT pl.id.postId, COUNT(pl) FROM PostLike pl WHERE pl.id.postId IN :postIds GROUP BY pl.id.postId")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Returns the subset of the given post ids that the user has liked.
+     */
+    @Query("SELECT pl.id.postId FROM PostLike pl WHERE pl.id.userId = :userId AND pl.id.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
 }
@@ -1,18 +1,209 @@
 package com.example.alumniassocaition1.repository;
 
+import com.example.alumniassocaition1.dto.post.PostDto;
 import com.example.alumniassocaition1.entity.Post;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    Page<Post> findByAuthorCollegeCollegeIdOrderByCreatedAtDesc(Long collegeId, Pageable pageable);
-
     List<Post> findByAuthorUserIdOrderByCreatedAtDesc(Long userId);
+
+    // --- Read-only DTO projections ---
+    // Only the columns PostDto needs, with the author joined in the same statement. The results are plain
+    // DTOs, so nothing is added to the persistence context or dirty-checked at flush.
+    String POST_DTO_SELECT = "SELECT new com.example.alumniassocaition1.dto.post.PostDto(" +
+            "p.postId, p.content, p.imageUrl, p.createdAt, p.likeCount, p.commentCount, " +
+            "a.userId, a.name, a.email, a.role) FROM Post p JOIN p.author a ";
+
+    // A college feed is the posts filed under the college (Post.college, set from the author at creation),
+    // newest first; the offset feed, its count, its versions and the cursor feed all use this one predicate,
+    // which idx_posts_college_created serves
+    String FEED_WHERE = "WHERE p.college.collegeId = :collegeId ";
+    String FEED_ORDER = "ORDER BY p.createdAt DESC, p.postId DESC";
+    String FEED_COUNT = "SELECT COUNT(p) FROM Post p " + FEED_WHERE;
+
+    @Query(value = POST_DTO_SELECT + FEED_WHERE + FEED_ORDER, countQuery = FEED_COUNT)
+    Page<PostDto> findFeedPageDtos(@Param("collegeId") Long collegeId, Pageable pageable);
+
+    @Query(value = POST_DTO_SELECT, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostDto> findAllPageDtos(Pageable pageable);
+
+    @Query(POST_DTO_SELECT + "WHERE p.postId = :postId")
+    Optional<PostDto> findDtoById(@Param("postId") Long postId);
+
+    // Unordered; callers put the rows back into their own order
+    @Query(POST_DTO_SELECT + "WHERE p.postId IN :postIds")
+    List<PostDto> findDtosByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // --- Full-text search over posts and comments (search_vector columns, see FullTextSearchSchema) ---
+    String TEXT_SEARCH_CONFIG = "english";
+    String TEXT_SEARCH_QUERY = "websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', :query)";
+
+    // Posts and comments of the college matching the query, ranked; each row is
+    // [type ('post' or 'comment'), id, post id, rank (Float), created at, author id, text oid]
+    String TEXT_SEARCH_MATCHES = "SELECT * FROM (" +
+            "SELECT 'post' AS type, p.post_id AS id, p.post_id AS post_id, " +
+            "ts_rank(p.search_vector, " + TEXT_SEARCH_QUERY + ") AS rank, p.created_at, p.author_id, " +
+            "CAST(p.content AS oid) AS document FROM posts p " +
+            "WHERE p.college_id = :collegeId AND p.search_vector @@ " + TEXT_SEARCH_QUERY + " " +
+            "UNION ALL " +
+            "SELECT 'comment', c.comment_id, c.post_id, ts_rank(c.search_vector, " + TEXT_SEARCH_QUERY + "), " +
+            "c.created_at, c.author_id, c.text_content FROM comments c JOIN posts p ON p.post_id = c.post_id " +
+            "WHERE p.college_id = :collegeId AND c.search_vector @@ " + TEXT_SEARCH_QUERY + ") matches ";
+    String TEXT_SEARCH_ORDER = "ORDER BY rank DESC, type DESC, id DESC ";
+
+    // Adds the author's name and a fragment of the text around the matched words, for the page rows only:
+    // [type, id, post id, rank, created at, author id, author name, snippet]
+    String TEXT_SEARCH_PAGE = "SELECT h.type, h.id, h.post_id, h.rank, h.created_at, u.user_id, u.name, " +
+            "ts_headline('" + TEXT_SEARCH_CONFIG + "', convert_from(lo_get(h.document), 'UTF8'), " + TEXT_SEARCH_QUERY + ", " +
+            "'MaxWords=35, MinWords=15, StartSel=\"\", StopSel=\"\"') FROM (";
+
+    String TEXT_SEARCH_FIRST_PAGE = TEXT_SEARCH_PAGE + TEXT_SEARCH_MATCHES + TEXT_SEARCH_ORDER + "LIMIT :limit) h " +
+            "JOIN users u ON u.user_id = h.author_id ORDER BY h.rank DESC, h.type DESC, h.id DESC";
+
+    // Keyset over (rank, type, id): the rank is a float4, passed back exactly as it was read
+    @Query(value = TEXT_SEARCH_FIRST_PAGE, nativeQuery = true)
+    List<Object[]> searchTextFirst(@Param("collegeId") Long collegeId, @Param("query") String query,
+                                   @Param("limit") int limit);
+
+    @Query(value = TEXT_SEARCH_PAGE + TEXT_SEARCH_MATCHES +
+            "WHERE (rank, type, id) < (CAST(:afterRank AS real), :afterType, :afterId) " +
+            TEXT_SEARCH_ORDER + "LIMIT :limit) h JOIN users u ON u.user_id = h.author_id " +
+            "ORDER BY h.rank DESC, h.type DESC, h.id DESC", nativeQuery = true)
+    List<Object[]> searchTextAfter(@Param("collegeId") Long collegeId, @Param("query") String query,
+                                   @Param("afterRank") float afterRank, @Param("afterType") String afterType,
+                                   @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // Federated search: ids of a college's posts whose content matches a LIKE pattern, newest first. Native
+    // because the content column holds the oid of a large object, read here with lo_get. Runs under the
+    // search's statement timeout (see SearchServiceImpl#fanOut).
+    @Query(value = "SELECT p.post_id FROM posts p WHERE p.college_id = :collegeId AND " +
+            "LOWER(convert_from(lo_get(CAST(p.content AS oid)), 'UTF8')) LIKE :pattern ESCAPE '!' " +
+            "ORDER BY p.created_at DESC, p.post_id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsInCollege(@Param("collegeId") Long collegeId, @Param("pattern") String pattern,
+                                  @Param("limit") int limit);
+
+    // --- Keyset (cursor) pagination of a college feed ---
+    // Both queries walk idx_posts_college_created; the Pageable only carries the row limit, no COUNT is issued.
+    @Query(POST_DTO_SELECT + FEED_WHERE + FEED_ORDER)
+    List<PostDto> findFeedFirstPage(@Param("collegeId") Long collegeId, Pageable limit);
+
+    @Query(POST_DTO_SELECT + FEED_WHERE + "AND " +
+            "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) " + FEED_ORDER)
+    List<PostDto> findFeedPageAfter(@Param("collegeId") Long collegeId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("postId") Long postId,
+                                    Pageable limit);
     // Add custom query methods if needed
+
+    /**
+     * Seed rows for the hot ranking: [postId (Long), collegeId (Long), createdAt (LocalDateTime),
+     * likeCount (Long), commentCount (Long)] of the posts created since the given time.
+     */
+    @Query("SELECT p.postId, p.college.collegeId, p.createdAt, p.likeCount, p.commentCount FROM Post p " +
+            "WHERE p.createdAt >= :since")
+    List<Object[]> findHotRankingSeed(@Param("since") LocalDateTime since);
+
+    // Rows of [postId (Long), likeCount (Long)] for those of the posts that still exist
+    @Query("SELECT p.postId, p.likeCount FROM Post p WHERE p.postId IN :postIds")
+    List<Object[]> findLikeCounts(@Param("postIds") Collection<Long> postIds);
+
+    // Empty when the post does not exist
+    @Query("SELECT p.college.collegeId FROM Post p WHERE p.postId = :postId")
+    Optional<Long> findCollegeIdById(@Param("postId") Long postId);
+
+    // --- Following timeline entries: rows of [postId (Long), createdAt (LocalDateTime), authorId (Long)] ---
+    @Query("SELECT p.postId, p.createdAt, p.author.userId FROM Post p WHERE p.author.userId IN " +
+            "(SELECT f.id.followingId FROM UserFollow f WHERE f.id.followerId = :followerId) " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Object[]> findFollowingTimelineFirst(@Param("followerId") Long followerId, Pageable limit);
+
+    @Query("SELECT p.postId, p.createdAt, p.author.userId FROM Post p WHERE p.author.userId IN " +
+            "(SELECT f.id.followingId FROM UserFollow f WHERE f.id.followerId = :followerId) AND " +
+            "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Object[]> findFollowingTimelineAfter(@Param("followerId") Long followerId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("postId") Long postId,
+                                              Pageable limit);
+
+    @Query("SELECT p.postId, p.createdAt, p.author.userId FROM Post p WHERE p.author.userId IN :authorIds " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Object[]> findTimelineEntriesByAuthorsFirst(@Param("authorIds") Collection<Long> authorIds, Pageable limit);
+
+    @Query("SELECT p.postId, p.createdAt, p.author.userId FROM Post p WHERE p.author.userId IN :authorIds AND " +
+            "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Object[]> findTimelineEntriesByAuthorsAfter(@Param("authorIds") Collection<Long> authorIds,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("postId") Long postId,
+                                                     Pageable limit);
+
+    // --- Versions for conditional GETs (ETags), read without building DTOs ---
+
+    // Rows of [postId, updatedAt, engagementVersion, author updatedAt] of one college feed page
+    @Query(value = "SELECT p.postId, p.updatedAt, p.engagementVersion, a.updatedAt FROM Post p JOIN p.author a " +
+            FEED_WHERE + FEED_ORDER, countQuery = FEED_COUNT)
+    Page<Object[]> findFeedPageVersions(@Param("collegeId") Long collegeId, Pageable pageable);
+
+    /**
+     * @return at most one row of [updatedAt, engagementVersion, author updatedAt]
+     */
+    @Query("SELECT p.updatedAt, p.engagementVersion, a.updatedAt FROM Post p JOIN p.author a WHERE p.postId = :postId")
+    List<Object[]> findVersionById(@Param("postId") Long postId);
+
+    // --- Denormalized like/comment counters (single-statement atomic updates) ---
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta, p.engagementVersion = p.engagementVersion + 1 WHERE p.postId = :postId")
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta, p.engagementVersion = p.engagementVersion + 1 WHERE p.postId = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // Used before a user's likes/comments are bulk-deleted, so the counters of the affected posts stay exact
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount - 1, p.engagementVersion = p.engagementVersion + 1 " +
+            "WHERE p.postId IN (SELECT pl.id.postId FROM PostLike pl WHERE pl.id.userId = :userId)")
+    int decrementLikeCountsForLikesByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount - " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.post.postId = p.postId AND c.author.userId = :userId), " +
+            "p.engagementVersion = p.engagementVersion + 1 " +
+            "WHERE p.postId IN (SELECT c.post.postId FROM Comment c WHERE c.author.userId = :userId)")
+    int decrementCommentCountsForCommentsByUser(@Param("userId") Long userId);
+
+    /**
+     * Stored counters for a batch of posts in id order, for reconciliation.
+     * @return rows of [postId (Long), likeCount (Long), commentCount (Long)]
+     */
+    @Query("SELECT p.postId, p.likeCount, p.commentCount FROM Post p WHERE p.postId > :afterId ORDER BY p.postId")
+    List<Object[]> findCounterBatch(@Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * Overwrites both counters, but only if they still hold the values the reconciler read (compare-and-set),
+     * so a like or comment committed in the meantime is never lost.
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = :likeCount, p.commentCount = :commentCount, " +
+            "p.engagementVersion = p.engagementVersion + 1 " +
+            "WHERE p.postId = :postId AND p.likeCount = :expectedLikeCount AND p.commentCount = :expectedCommentCount")
+    int replaceCounters(@Param("postId") Long postId,
+                        @Param("expectedLikeCount") long expectedLikeCount,
+                        @Param("expectedCommentCount") long expectedCommentCount,
+                        @Param("likeCount") long likeCount,
+                        @Param("commentCount") long commentCount);
 }
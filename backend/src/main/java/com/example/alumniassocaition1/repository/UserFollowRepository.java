@@ -1,10 +1,16 @@
 package com.example.alumniassocaition1.repository;
 
+import com.example.alumniassocaition1.dto.user.FollowEntryDto;
 import com.example.alumniassocaition1.entity.UserFollow;
 import com.example.alumniassocaition1.entity.UserFollowId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,57 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, UserFoll
     // Find all followers of a specific user
     List<UserFollow> findByIdFollowingId(Long followingId);
 
+    // Id-only variants that do not load the User entities
+    @Query("SELECT f.id.followingId FROM UserFollow f WHERE f.id.followerId = :followerId")
+    List<Long> findFollowingIds(@Param("followerId") Long followerId);
+
+    @Query("SELECT f.id.followerId FROM UserFollow f WHERE f.id.followingId = :followingId")
+    List<Long> findFollowerIds(@Param("followingId") Long followingId);
+
+    String FOLLOW_ENTRY_FIELDS = "new com.example.alumniassocaition1.dto.user.FollowEntryDto(" +
+            "u.userId, u.name, u.email, u.role, u.profilePictureUrl, f.followedAt) ";
+
+    // Pages of followers, most recent first, with the user columns joined in the same query
+    @Query("SELECT " + FOLLOW_ENTRY_FIELDS + "FROM UserFollow f JOIN f.follower u WHERE f.id.followingId = :userId " +
+            "ORDER BY f.followedAt DESC, f.id.followerId DESC")
+    List<FollowEntryDto> findFollowerPageFirst(@Param("userId") Long userId, Pageable limit);
+
+    @Query("SELECT " + FOLLOW_ENTRY_FIELDS + "FROM UserFollow f JOIN f.follower u WHERE f.id.followingId = :userId AND " +
+            "(f.followedAt < :followedAt OR (f.followedAt = :followedAt AND f.id.followerId < :afterId)) " +
+            "ORDER BY f.followedAt DESC, f.id.followerId DESC")
+    List<FollowEntryDto> findFollowerPageAfter(@Param("userId") Long userId,
+                                               @Param("followedAt") LocalDateTime followedAt,
+                                               @Param("afterId") Long afterId,
+                                               Pageable limit);
+
+    // Pages of followed users, most recent first
+    @Query("SELECT " + FOLLOW_ENTRY_FIELDS + "FROM UserFollow f JOIN f.following u WHERE f.id.followerId = :userId " +
+            "ORDER BY f.followedAt DESC, f.id.followingId DESC")
+    List<FollowEntryDto> findFollowingPageFirst(@Param("userId") Long userId, Pageable limit);
+
+    @Query("SELECT " + FOLLOW_ENTRY_FIELDS + "FROM UserFollow f JOIN f.following u WHERE f.id.followerId = :userId AND " +
+            "(f.followedAt < :followedAt OR (f.followedAt = :followedAt AND f.id.followingId < :afterId)) " +
+            "ORDER BY f.followedAt DESC, f.id.followingId DESC")
+    List<FollowEntryDto> findFollowingPageAfter(@Param("userId") Long userId,
+                                                @Param("followedAt") LocalDateTime followedAt,
+                                                @Param("afterId") Long afterId,
+                                                Pageable limit);
+
+    // Which of the given users the follower follows, for the followedByCurrentUser flags of one page
+    @Query("SELECT f.id.followingId FROM UserFollow f WHERE f.id.followerId = :followerId AND f.id.followingId IN :userIds")
+    List<Long> findFollowedAmong(@Param("followerId") Long followerId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * One batch of relationships after the given (followerId, followingId) key, in key order,
+     * for loading the in-memory follow graph.
+     * @return rows of [followerId, followingId]
+     */
+    @Query("SELECT f.id.followerId, f.id.followingId FROM UserFollow f " +
+            "WHERE f.id.followerId > :followerId OR (f.id.followerId = :followerId AND f.id.followingId > :followingId) " +
+            "ORDER BY f.id.followerId, f.id.followingId")
+    List<Object[]> findEdgeBatchAfter(@Param("followerId") long followerId, @Param("followingId") long followingId,
+                                      Pageable pageable);
+
     Optional<UserFollow> findByIdFollowerIdAndIdFollowingId(Long followerId, Long followingId);
 
     void deleteByIdFollowerIdAndIdFollowingId(Long followerId, Long followingId);
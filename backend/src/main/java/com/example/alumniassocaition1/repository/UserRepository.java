@@ -1,11 +1,15 @@
 // --- File: com/example/alumniassocaition1/repository/UserRepository.java ---
 package com.example.alumniassocaition1.repository;
 
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.example.alumniassocaition1.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query; // Import for @Query
 import org.springframework.data.repository.query.Param; // Import for @Param
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -17,6 +21,62 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find all users belonging to a specific college (used by admin)
     List<User> findByCollegeCollegeId(Long collegeId);
 
+    /**
+     * Versions a profile response is derived from, for conditional GETs.
+     * @return at most one row of [updatedAt, followers count, following count]
+     */
+    @Query("SELECT u.updatedAt, " +
+            "(SELECT COUNT(f) FROM UserFollow f WHERE f.id.followingId = u.userId), " +
+            "(SELECT COUNT(f) FROM UserFollow f WHERE f.id.followerId = u.userId) " +
+            "FROM User u WHERE u.userId = :userId")
+    List<Object[]> findProfileVersionById(@Param("userId") Long userId);
+
+    // [email, role, status, collegeId] of one user, to check a token's claims against the account
+    @Query("SELECT u.email, u.role, u.status, c.collegeId FROM User u LEFT JOIN u.college c WHERE u.userId = :userId")
+    List<Object[]> findAccountStateById(@Param("userId") Long userId);
+
+    // Only the profile timestamp, when the follow counts come from the in-memory follow graph
+    @Query("SELECT u.updatedAt FROM User u WHERE u.userId = :userId")
+    List<LocalDateTime> findUpdatedAtById(@Param("userId") Long userId);
+
+    // --- Read-only UserSummaryDto projections (skip the @Lob profile columns and entity hydration) ---
+    @Query("SELECT new com.example.alumniassocaition1.dto.user.UserSummaryDto(u.userId, u.name, u.email, u.role, u.status) " +
+            "FROM User u WHERE u.college.collegeId = :collegeId AND u.userId <> :excludedUserId")
+    List<UserSummaryDto> findSummariesByCollegeId(@Param("collegeId") Long collegeId,
+                                                  @Param("excludedUserId") Long excludedUserId);
+
+    // pattern is a lower-case LIKE pattern with '!' as the escape character
+    @Query("SELECT new com.example.alumniassocaition1.dto.user.UserSummaryDto(u.userId, u.name, u.email, u.role, u.status) " +
+            "FROM User u WHERE u.college.collegeId = :collegeId AND u.userId <> :excludedUserId AND " +
+            "(LOWER(u.name) LIKE :pattern ESCAPE '!' OR LOWER(u.email) LIKE :pattern ESCAPE '!') ORDER BY u.name, u.userId")
+    List<UserSummaryDto> searchSummariesInCollege(@Param("collegeId") Long collegeId,
+                                                  @Param("pattern") String pattern,
+                                                  @Param("excludedUserId") Long excludedUserId,
+                                                  Pageable limit);
+
+    @Query("SELECT new com.example.alumniassocaition1.dto.user.UserSummaryDto(u.userId, u.name, u.email, u.role, u.status) " +
+            "FROM User u WHERE u.userId IN :userIds AND u.status = 'active'")
+    List<UserSummaryDto> findActiveSummariesByIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // [userId, collegeId] of every active college member in user id order, for the suggestions job
+    @Query("SELECT u.userId, u.college.collegeId FROM User u " +
+            "WHERE u.status = 'active' AND u.college IS NOT NULL ORDER BY u.userId")
+    List<Object[]> findActiveUserColleges();
+
+    // Rows of [userId, collegeId, name, email, role, status] for the in-memory user search structures
+    String SEARCH_ENTRY_SELECT = "SELECT u.userId, u.college.collegeId, u.name, u.email, u.role, u.status FROM User u ";
+
+    // [collegeId, user count] of every college with users, smallest first, the order the user search loads them in
+    @Query("SELECT u.college.collegeId, COUNT(u) FROM User u WHERE u.college IS NOT NULL " +
+            "GROUP BY u.college.collegeId ORDER BY COUNT(u), u.college.collegeId")
+    List<Object[]> countSearchEntriesByCollege();
+
+    @Query(SEARCH_ENTRY_SELECT + "WHERE u.college.collegeId = :collegeId ORDER BY u.userId")
+    List<Object[]> findSearchEntriesByCollegeId(@Param("collegeId") Long collegeId);
+
+    @Query(SEARCH_ENTRY_SELECT + "WHERE u.userId = :userId AND u.college IS NOT NULL")
+    List<Object[]> findSearchEntryById(@Param("userId") Long userId);
+
     // Find users whose name contains a given string (case-insensitive search) - General search
     List<User> findByNameContainingIgnoreCase(String name);
 
@@ -0,0 +1,80 @@
+package com.example.alumniassocaition1.security;
+
+import com.example.alumniassocaition1.repository.UserRepository;
+import com.example.alumniassocaition1.service.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Short-lived copy of each recently seen user's email, role, status and college, which token claims are
+ * checked against. Claims are fixed for the life of a token; this is what lets a deactivation, role change
+ * or removal take effect before the token expires, at the cost of one small query per user per TTL instead
+ * of one per request.
+ * <p>
+ * Users changed on this instance are evicted after commit ({@link UserChangedEvent}); on other instances the
+ * old state is trusted for at most the TTL. Hit and miss counts are published as the "accountStatus" cache.
+ */
+@Component
+public class AccountStatusCache {
+
+    private final UserRepository userRepository;
+    // Empty for users that no longer exist, so a removed user's tokens do not query on every request
+    private final Cache<Long, Optional<AccountState>> cache;
+
+    @Autowired
+    public AccountStatusCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                              @Value("${app.security.account-cache.ttl-seconds:30}") long ttlSeconds,
+                              @Value("${app.security.account-cache.max-entries:100000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accountStatus");
+    }
+
+    /**
+     * The user of the claims as their account is now: the same principal while nothing changed, one with the
+     * current email, role, status and college otherwise, or empty if the user has been removed.
+     */
+    public Optional<AuthenticatedUser> current(AuthenticatedUser fromClaims) {
+        return cache.get(fromClaims.getUserId(), this::load).map(state -> state.matches(fromClaims) ? fromClaims
+                : new AuthenticatedUser(fromClaims.getUserId(), state.collegeId(), state.email(), state.role(), state.status()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    private Optional<AccountState> load(Long userId) {
+        List<Object[]> rows = userRepository.findAccountStateById(userId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        return Optional.of(new AccountState((String) row[0], (String) row[1], (String) row[2], (Long) row[3]));
+    }
+
+    private record AccountState(String email, String role, String status, Long collegeId) {
+
+        boolean matches(AuthenticatedUser user) {
+            return Objects.equals(email, user.getUsername()) && Objects.equals(role, user.getRole())
+                    && Objects.equals(status, user.getStatus()) && Objects.equals(collegeId, user.getCollegeId());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.alumniassocaition1.security;
+
+import com.example.alumniassocaition1.entity.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The signed-in user as the security context holds it: who they are, their college, role and account status.
+ * Built from the verified claims of their token, so authenticating a request reads no user row; built from
+ * the entity at login, where it also carries the password hash to check, and for tokens without those claims.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    // Statuses of deactivated accounts; every other status (active, pending_verification, ...) may sign in
+    private static final Set<String> DEACTIVATED_STATUSES = Set.of("inactive", "deactivated");
+
+    private final Long userId;
+    private final Long collegeId;
+    private final String email;
+    private final String role;
+    private final String status;
+    private String passwordHash; // Only set at login, and erased once checked
+
+    public AuthenticatedUser(Long userId, Long collegeId, String email, String role, String status) {
+        this(userId, collegeId, email, role, status, null);
+    }
+
+    private AuthenticatedUser(Long userId, Long collegeId, String email, String role, String status, String passwordHash) {
+        this.userId = userId;
+        this.collegeId = collegeId;
+        this.email = email;
+        this.role = role;
+        this.status = status;
+        this.passwordHash = passwordHash;
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getUserId(), user.getCollege() != null ? user.getCollege().getCollegeId() : null,
+                user.getEmail(), user.getRole(), user.getStatus(), user.getPasswordHash());
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCollegeId() {
+        return collegeId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+    }
+
+    @Override
+    public String getPassword() {
+        return passwordHash;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        passwordHash = null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    // Deactivated users cannot log in, and their tokens stop working (see AccountStatusCache)
+    @Override
+    public boolean isEnabled() {
+        return status == null || !DEACTIVATED_STATUSES.contains(status.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[userId=" + userId + ", email=" + email + ", role=" + role + "]";
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.alumniassocaition1.security;
 
 import com.example.alumniassocaition1.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,18 +26,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserService customUserDetailsService;
 
+    @Autowired
+    private AccountStatusCache accountStatusCache;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // EventSource (SSE) clients cannot send an Authorization header, so only this path reads a credential from
+    // the query: a short-lived stream ticket (see JwtTokenProvider#generateStreamTicket), never a login token
+    private static final String POST_STREAM_PATH = "/api/posts/stream";
+    private static final String STREAM_TICKET_PARAM = "ticket";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
+            Claims claims = getClaimsFromRequest(request);
+            UserDetails userDetails = claims != null ? currentUser(claims) : null;
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            // Deactivated and removed users stay anonymous, whatever their token says
+            if (userDetails != null && userDetails.isEnabled()) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -49,10 +57,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
+    // The principal comes from the verified claims, checked against the briefly cached account state; only
+    // tokens issued before the claims carried the user's id load the user row
+    private UserDetails currentUser(Claims claims) {
+        AuthenticatedUser fromClaims = tokenProvider.getUserFromClaims(claims);
+        if (fromClaims == null) {
+            return customUserDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return accountStatusCache.current(fromClaims).orElse(null);
+    }
+
+    // A login token from the Authorization header or, on the stream path only, a stream ticket from the query;
+    // neither is accepted in the other's place
+    private Claims getClaimsFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+            Claims claims = tokenProvider.parseClaims(bearerToken.substring(7));
+            return claims != null && !tokenProvider.isStreamTicket(claims) ? claims : null;
+        }
+        String ticket = POST_STREAM_PATH.equals(request.getRequestURI()) ? request.getParameter(STREAM_TICKET_PARAM) : null;
+        if (StringUtils.hasText(ticket)) {
+            Claims claims = tokenProvider.parseClaims(ticket);
+            return claims != null && tokenProvider.isStreamTicket(claims) ? claims : null;
         }
         return null;
     }
@@ -21,12 +21,22 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String COLLEGE_ID_CLAIM = "collegeId";
+    private static final String ROLE_CLAIM = "role";
+    private static final String STATUS_CLAIM = "status";
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_PURPOSE = "stream";
+
     @Value("${app.jwtSecret}")
     private String jwtSecretString;
 
     @Value("${app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
+    @Value("${app.posts.stream.ticket-ttl-ms:30000}")
+    private long streamTicketTtlMs;
+
     private SecretKey jwtSecretKey;
 
     @PostConstruct
@@ -47,30 +57,75 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userPrincipal.getUsername()) // Typically email
                 .setIssuedAt(now) // Use the 'now' variable
-                .setExpiration(expiryDate)
+                .setExpiration(expiryDate);
+        // Who the user is, so requests can be authenticated from the token alone (see JwtAuthenticationFilter)
+        if (userPrincipal instanceof AuthenticatedUser user) {
+            builder.claim(USER_ID_CLAIM, user.getUserId())
+                    .claim(COLLEGE_ID_CLAIM, user.getCollegeId())
+                    .claim(ROLE_CLAIM, user.getRole())
+                    .claim(STATUS_CLAIM, user.getStatus());
+        }
+        return builder
                 .signWith(jwtSecretKey, SignatureAlgorithm.HS512) // Ensure algorithm matches key type
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtSecretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+    /**
+     * A ticket that opens the live feed stream (GET /api/posts/stream?ticket=) for the user and nothing else;
+     * see JwtAuthenticationFilter. It travels in the URL, which ends up in access logs, so it only lives long
+     * enough to connect.
+     */
+    public String generateStreamTicket(AuthenticatedUser user) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + streamTicketTtlMs))
+                .claim(USER_ID_CLAIM, user.getUserId())
+                .claim(COLLEGE_ID_CLAIM, user.getCollegeId())
+                .claim(ROLE_CLAIM, user.getRole())
+                .claim(STATUS_CLAIM, user.getStatus())
+                .claim(PURPOSE_CLAIM, STREAM_PURPOSE)
+                .signWith(jwtSecretKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    public long getStreamTicketTtlMs() {
+        return streamTicketTtlMs;
+    }
+
+    /**
+     * Whether the claims are those of a stream ticket rather than of a login token.
+     */
+    public boolean isStreamTicket(Claims claims) {
+        return STREAM_PURPOSE.equals(claims.get(PURPOSE_CLAIM, String.class));
+    }
+
+    /**
+     * The user the claims were issued for, or null for tokens issued before they carried the user's id.
+     */
+    public AuthenticatedUser getUserFromClaims(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.get(COLLEGE_ID_CLAIM, Long.class), claims.getSubject(),
+                claims.get(ROLE_CLAIM, String.class), claims.get(STATUS_CLAIM, String.class));
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * The claims of a token whose signature and expiry check out, or null (logged) if it is not valid.
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                     .setSigningKey(jwtSecretKey)
                     .build()
-                    .parseClaimsJws(authToken);
-            return true;
+                    .parseClaimsJws(authToken)
+                    .getBody();
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
         } catch (ExpiredJwtException ex) {
@@ -85,6 +140,6 @@ public class JwtTokenProvider {
         } catch (Exception e) { // Catch any other unexpected JWT parsing errors
             logger.error("Could not validate JWT token for an unexpected reason: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 }
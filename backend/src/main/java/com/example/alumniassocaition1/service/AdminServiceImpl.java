@@ -5,10 +5,12 @@ import com.example.alumniassocaition1.dto.user.UserStatusUpdateRequest;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.example.alumniassocaition1.entity.*;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException;
+import com.example.alumniassocaition1.mapper.UserMapper;
 import com.example.alumniassocaition1.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,30 +34,36 @@ public class AdminServiceImpl implements AdminService {
     private final PasswordEncoder passwordEncoder;
 
     private final UserFollowRepository userFollowRepository;
+    private final FollowGraphIndex followGraphIndex;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final DonationRepository donationRepository;
-    private final EventAttendeeRepository eventAttendeeRepository;
+    private final EventSeatAllocator eventSeatAllocator;
     private final PostLikeRepository postLikeRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public AdminServiceImpl(UserRepository userRepository, EventRepository eventRepository, UserService userService,
                             PasswordEncoder passwordEncoder, UserFollowRepository userFollowRepository,
+                            FollowGraphIndex followGraphIndex,
                             PostRepository postRepository, CommentRepository commentRepository,
-                            DonationRepository donationRepository, EventAttendeeRepository eventAttendeeRepository,
-                            PostLikeRepository postLikeRepository, FileStorageService fileStorageService) {
+                            DonationRepository donationRepository, EventSeatAllocator eventSeatAllocator,
+                            PostLikeRepository postLikeRepository, FileStorageService fileStorageService,
+                            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.userFollowRepository = userFollowRepository;
+        this.followGraphIndex = followGraphIndex;
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
         this.donationRepository = donationRepository;
-        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventSeatAllocator = eventSeatAllocator;
         this.postLikeRepository = postLikeRepository;
         this.fileStorageService = fileStorageService;
+        this.eventPublisher = eventPublisher;
     }
 
     private User getCurrentAdminUser() {
@@ -104,12 +112,8 @@ public class AdminServiceImpl implements AdminService {
         logger.info("Fetching users for admin {} (ID: {}) from college ID: {}",
                 adminUser.getName(), adminUser.getUserId(), adminCollege.getCollegeId());
 
-        List<User> usersInCollege = userRepository.findByCollegeCollegeId(adminCollege.getCollegeId());
-
-        return usersInCollege.stream()
-                .filter(user -> !user.getUserId().equals(adminUser.getUserId()))
-                .map(this::mapUserToSummaryDto)
-                .collect(Collectors.toList());
+        // Projection query: the admin is excluded in SQL and no User entities are loaded
+        return userRepository.findSummariesByCollegeId(adminCollege.getCollegeId(), adminUser.getUserId());
     }
 
     @Override
@@ -132,7 +136,8 @@ public class AdminServiceImpl implements AdminService {
         newUser.setStatus(createRequest.getStatus() != null ? createRequest.getStatus().toLowerCase() : "active");
         newUser.setCollege(adminCollege);
         User savedUser = userRepository.save(newUser);
-        return mapUserToSummaryDto(savedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getUserId()));
+        return UserMapper.toSummaryDto(savedUser);
     }
 
     @Override
@@ -157,19 +162,23 @@ public class AdminServiceImpl implements AdminService {
         // 1. Remove from user_follows
         userFollowRepository.deleteByIdFollowerId(userId);
         userFollowRepository.deleteByIdFollowingId(userId);
+        followGraphIndex.removeUser(userId);
         logger.info("Removed follow relationships for user ID: {}", userId);
 
-        // 2. Remove PostLikes made by the user (distinct from likes on their posts)
+        // 2. Remove PostLikes made by the user (distinct from likes on their posts),
+        //    keeping the denormalized counters of the liked posts in step
+        postRepository.decrementLikeCountsForLikesByUser(userId);
         postLikeRepository.deleteByIdUserId(userId);
         logger.info("Removed post likes made by user {}.", userId);
 
-        // 3. Remove EventAttendances by the user
-        eventAttendeeRepository.deleteByIdUserId(userId);
+        // 3. Remove EventAttendances and waitlist places of the user, promoting waitlisted users into freed seats
+        eventSeatAllocator.removeUser(userId);
         logger.info("Removed event attendances for user {}.", userId);
 
         // 4. Comments authored by the user (on any post)
         List<Comment> commentsAuthored = commentRepository.findByAuthorUserId(userId);
         if (!commentsAuthored.isEmpty()) {
+            postRepository.decrementCommentCountsForCommentsByUser(userId);
             commentRepository.deleteAllInBatch(commentsAuthored);
             logger.info("Deleted {} comments authored by user {}.", commentsAuthored.size(), userId);
         }
@@ -217,6 +226,7 @@ public class AdminServiceImpl implements AdminService {
 
         // Finally, delete the user
         userRepository.delete(userToRemove);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
         logger.info("Successfully removed user with ID: {}", userId);
     }
 
@@ -238,7 +248,8 @@ public class AdminServiceImpl implements AdminService {
         }
         userToUpdate.setStatus(newStatus.toLowerCase());
         User updatedUser = userRepository.save(userToUpdate);
-        return mapUserToSummaryDto(updatedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        return UserMapper.toSummaryDto(updatedUser);
     }
 
     @Override
@@ -256,14 +267,4 @@ public class AdminServiceImpl implements AdminService {
         }
         eventRepository.delete(event);
     }
-
-    private UserSummaryDto mapUserToSummaryDto(User user) {
-        UserSummaryDto dto = new UserSummaryDto();
-        dto.setId(user.getUserId());
-        dto.setName(user.getName());
-        dto.setEmail(user.getEmail());
-        dto.setRole(user.getRole());
-        dto.setStatus(user.getStatus());
-        return dto;
-    }
 }
@@ -4,12 +4,13 @@ import com.example.alumniassocaition1.dto.college.CollegeDto; // Corrected DTO p
 import com.example.alumniassocaition1.dto.college.CollegeRegistrationRequest; // Corrected DTO path
 import com.example.alumniassocaition1.entity.College;
 import com.example.alumniassocaition1.entity.User;
+import com.example.alumniassocaition1.mapper.CollegeMapper;
 import com.example.alumniassocaition1.repository.CollegeRepository;
 import com.example.alumniassocaition1.repository.UserRepository;
 // Corrected: Use Spring's Transactional annotation
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,12 +20,15 @@ public class CollegeServiceImpl implements CollegeService {
     private final CollegeRepository collegeRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CollegeServiceImpl(CollegeRepository collegeRepository, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public CollegeServiceImpl(CollegeRepository collegeRepository, UserRepository userRepository, PasswordEncoder passwordEncoder,
+                              ApplicationEventPublisher eventPublisher) {
         this.collegeRepository = collegeRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -57,10 +61,8 @@ public class CollegeServiceImpl implements CollegeService {
         adminUser.setStatus("active"); // Or "pending_verification" based on your flow
         adminUser.setCollege(savedCollege);
         userRepository.save(adminUser);
+        eventPublisher.publishEvent(new UserChangedEvent(adminUser.getUserId()));
 
-        CollegeDto collegeDto = new CollegeDto();
-        BeanUtils.copyProperties(savedCollege, collegeDto);
-        collegeDto.setCollegeId(savedCollege.getCollegeId()); // Ensure ID is mapped
-        return collegeDto;
+        return CollegeMapper.toDto(savedCollege);
     }
 }
@@ -2,6 +2,8 @@ package com.example.alumniassocaition1.service;
 
 import com.example.alumniassocaition1.dto.CommentCreateRequest;
 import com.example.alumniassocaition1.dto.CommentDto;
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.post.PostDto;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException; // Added for consistency if methods throw it
 
 import java.util.List;
@@ -9,6 +11,12 @@ import java.util.List;
 public interface CommentService {
     List<CommentDto> getCommentsForPost(Long postId) throws ResourceNotFoundException; // Added exception
 
+    // Keyset-paginated comments of a post, oldest first; a blank cursor returns the first page
+    CursorPage<CommentDto> getCommentsByCursor(Long postId, String cursor, int size) throws ResourceNotFoundException;
+
+    // Sets latestComments on every post (its two newest comments), loaded for the whole list in one query
+    void attachLatestComments(List<PostDto> posts);
+
     CommentDto addCommentToPost(Long postId, CommentCreateRequest createRequest) throws ResourceNotFoundException; // Added exception
 
     void deleteComment(Long commentId) throws ResourceNotFoundException; // Added exception
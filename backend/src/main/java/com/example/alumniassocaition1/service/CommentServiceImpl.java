@@ -2,24 +2,32 @@ package com.example.alumniassocaition1.service;
 import com.example.alumniassocaition1.controller.PostController;
 import com.example.alumniassocaition1.dto.CommentCreateRequest; // Need to import this DTO
 import com.example.alumniassocaition1.dto.CommentDto;
-import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.post.PostDto;
 import com.example.alumniassocaition1.entity.Comment;
 import com.example.alumniassocaition1.entity.Post;
 import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException; // Import custom exceptions
+import com.example.alumniassocaition1.mapper.CommentMapper;
 import com.example.alumniassocaition1.repository.CommentRepository;
 import com.example.alumniassocaition1.repository.PostRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException; // Import AccessDeniedException
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors; // Need to import Collectors
 
 @Service
@@ -28,12 +36,18 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FeedVersions feedVersions;
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
     @Autowired
-    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository, UserService userService) {
+    public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository, UserService userService,
+                              ApplicationEventPublisher eventPublisher, FeedVersions feedVersions) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.feedVersions = feedVersions;
     }
 
     private User getCurrentAuthenticatedUser() {
@@ -57,9 +71,45 @@ public class CommentServiceImpl implements CommentService {
         if (!postRepository.existsById(postId)) {
             throw new ResourceNotFoundException("Post", "id", postId);
         }
-        return commentRepository.findByPostPostIdOrderByCreatedAtAsc(postId).stream()
-                .map(this::mapCommentToDto)
-                .collect(Collectors.toList());
+        return commentRepository.findDtosByPostId(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByCursor(Long postId, String cursor, int size) throws ResourceNotFoundException {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", "id", postId);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<CommentDto> comments = after == null
+                ? commentRepository.findPageByPostIdFirst(postId, limit)
+                : commentRepository.findPageByPostIdAfter(postId, after.getTimestamp(), after.getId(), limit);
+
+        boolean hasMore = comments.size() > pageSize;
+        List<CommentDto> items = hasMore ? comments.subList(0, pageSize) : comments;
+        String nextCursor = null;
+        if (hasMore) {
+            CommentDto last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void attachLatestComments(List<PostDto> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CommentDto>> latestByPost = new HashMap<>();
+        for (CommentDto comment : commentRepository.findLatestDtosByPostIds(posts.stream().map(PostDto::getId).toList())) {
+            latestByPost.computeIfAbsent(comment.getPostId(), id -> new ArrayList<>(2)).add(comment);
+        }
+        posts.forEach(post -> post.setLatestComments(latestByPost.getOrDefault(post.getId(), Collections.emptyList())));
     }
 
     @Override
@@ -80,12 +130,16 @@ public class CommentServiceImpl implements CommentService {
         logger.info("CommentService: Comment entity text_content being set before save: '{}'", comment.getTextContent());
 
         Comment savedComment = commentRepository.save(comment);
+        postRepository.adjustCommentCount(post.getPostId(), 1);
+        feedVersions.collegeCommentsChanged(post.getCollege() != null ? post.getCollege().getCollegeId() : null);
+        eventPublisher.publishEvent(new PostEngagementEvent(post.getPostId(),
+                post.getCollege() != null ? post.getCollege().getCollegeId() : null, PostEngagementEvent.Type.COMMENT, 1));
 
         // Log what was actually saved (though Hibernate might not reflect it immediately if it's a proxy)
         // More reliable is to check the database directly after this, or log the 'savedComment' details after mapping.
         logger.info("CommentService: Comment saved with ID: {}. Text content from saved entity (if available): '{}'", savedComment.getCommentId(), savedComment.getTextContent());
 
-        return mapCommentToDto(savedComment);
+        return CommentMapper.toDto(savedComment);
     }
 
     @Override
@@ -104,20 +158,12 @@ public class CommentServiceImpl implements CommentService {
             throw new AccessDeniedException("User does not have permission to delete this comment.");
         }
         commentRepository.delete(comment);
+        postRepository.adjustCommentCount(comment.getPost().getPostId(), -1);
+        Long collegeId = comment.getPost().getCollege() != null ? comment.getPost().getCollege().getCollegeId() : null;
+        feedVersions.collegeCommentsChanged(collegeId);
+        eventPublisher.publishEvent(new PostEngagementEvent(comment.getPost().getPostId(), collegeId,
+                PostEngagementEvent.Type.COMMENT, -1));
     }
 
-    private CommentDto mapCommentToDto(Comment comment) {
-        CommentDto dto = new CommentDto();
-        BeanUtils.copyProperties(comment, dto);
-        dto.setId(comment.getCommentId());
-        dto.setPostId(comment.getPost().getPostId());
-        if (comment.getAuthor() != null) {
-            UserSummaryDto authorDto = new UserSummaryDto();
-            BeanUtils.copyProperties(comment.getAuthor(), authorDto);
-            authorDto.setId(comment.getAuthor().getUserId());
-            dto.setAuthor(authorDto);
-        }
-        return dto;
-    }
     // Removed extra closing brace
 }
@@ -0,0 +1,8 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Version of a college's iCalendar feed, for conditional GETs.
+ * lastModified is in epoch milliseconds, or -1 when the college has no events.
+ */
+public record EventCalendarVersion(String calendarName, String eTag, long lastModified) {
+}
@@ -0,0 +1,123 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.EventCalendarEntryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes events as an iCalendar (RFC 5545) feed, one VEVENT per entry as the entries are read, so a feed
+ * of any size goes out without its events being held in memory.
+ * <p>
+ * Event times are stored as local date-times of {@code app.events.calendar.zone} (the server's zone by
+ * default) and written in UTC. Events have no end time, so DTEND is left out.
+ */
+@Component
+public class EventCalendarWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final ZoneId zone;
+    private final String uidDomain;
+
+    public EventCalendarWriter(@Value("${app.events.calendar.zone:}") String zone,
+                               @Value("${app.events.calendar.uid-domain:alumni-association-platform}") String uidDomain) {
+        this.zone = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.uidDomain = uidDomain;
+    }
+
+    public long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    public void write(String calendarName, Stream<EventCalendarEntryDto> entries, Writer out) throws IOException {
+        line(out, "BEGIN:VCALENDAR");
+        line(out, "VERSION:2.0");
+        line(out, "PRODID:-//Alumni Association Platform//Events//EN");
+        line(out, "CALSCALE:GREGORIAN");
+        line(out, "METHOD:PUBLISH");
+        line(out, "X-WR-CALNAME:" + escape(calendarName));
+        Iterator<EventCalendarEntryDto> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            writeEvent(iterator.next(), out);
+        }
+        line(out, "END:VCALENDAR");
+        out.flush();
+    }
+
+    private void writeEvent(EventCalendarEntryDto entry, Writer out) throws IOException {
+        LocalDateTime stamp = entry.getUpdatedAt() != null ? entry.getUpdatedAt() : entry.getCreatedAt();
+        line(out, "BEGIN:VEVENT");
+        line(out, "UID:event-" + entry.getId() + "@" + uidDomain);
+        if (stamp != null) {
+            line(out, "DTSTAMP:" + utc(stamp));
+            line(out, "LAST-MODIFIED:" + utc(stamp));
+        }
+        if (entry.getCreatedAt() != null) {
+            line(out, "CREATED:" + utc(entry.getCreatedAt()));
+        }
+        line(out, "DTSTART:" + utc(entry.getDate()));
+        line(out, "SUMMARY:" + escape(entry.getTitle()));
+        if (entry.getLocation() != null) {
+            line(out, "LOCATION:" + escape(entry.getLocation()));
+        }
+        if (entry.getDescription() != null) {
+            line(out, "DESCRIPTION:" + escape(entry.getDescription()));
+        }
+        line(out, "END:VEVENT");
+    }
+
+    private String utc(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_DATE_TIME);
+    }
+
+    // TEXT value escaping (RFC 5545 3.3.11)
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { } // Line breaks are written as \n alone
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Folds content lines longer than 75 octets (RFC 5545 3.1), never splitting a UTF-8 character
+    private static void line(Writer out, String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int charCount = Character.charCount(codePoint);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4; // UTF-8 length
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.write(CRLF);
+                out.write(' ');
+                octets = 1;
+            }
+            out.write(content, i, charCount);
+            octets += size;
+            i += charCount;
+        }
+        out.write(CRLF);
+    }
+}
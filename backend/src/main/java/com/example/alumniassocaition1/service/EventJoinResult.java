@@ -0,0 +1,9 @@
+package com.example.alumniassocaition1.service;
+
+// Outcome of a join request against an event that may have limited capacity
+public enum EventJoinResult {
+    JOINED,
+    WAITLISTED,
+    ALREADY_JOINED,
+    ALREADY_WAITLISTED
+}
@@ -0,0 +1,174 @@
+package com.example.alumniassocaition1.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Seat allocation for events with an optional capacity.
+ * <p>
+ * events.attendee_count is the seat counter. A seat is taken with a single conditional
+ * {@code UPDATE ... SET attendee_count = attendee_count + 1 WHERE capacity IS NULL OR attendee_count < capacity},
+ * so the check and the increment are one atomic step and an event can never be overbooked. The event row stays
+ * locked only from that statement until the caller's transaction commits, which is the attendee insert that
+ * follows it; everything else a join does (loading the user, the already-attending checks) runs unlocked.
+ * <p>
+ * When the event is full the user goes to the waitlist. A freed seat is handed to the longest-waiting user in
+ * the same transaction that freed it; waitlist rows are claimed with FOR UPDATE SKIP LOCKED so promotion never
+ * waits behind a user who is leaving the waitlist at the same moment. A join that finds the event full locks the
+ * event row before waitlisting, since releasing a seat needs that lock too: a seat freed before the lock is taken
+ * is seen by the join, and one freed after it is promoted only once the new waitlist row is committed.
+ * <p>
+ * events.attendees_version moves with every seat taken or released and every waitlist change, and when an
+ * attendee's details change, so event ETags need not read the attendees or the waitlist. The bumps ride on
+ * statements that lock the event row anyway, except for leaving the waitlist and attendee changes.
+ * <p>
+ * Every method joins the caller's transaction.
+ */
+@Component
+public class EventSeatAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSeatAllocator.class);
+
+    private static final String TAKE_SEAT_SQL =
+            "UPDATE events SET attendee_count = attendee_count + 1, attendees_version = attendees_version + 1 " +
+            "WHERE event_id = ? AND (capacity IS NULL OR attendee_count < capacity)";
+    private static final String LOCK_EVENT_SQL = "SELECT event_id FROM events WHERE event_id = ? FOR UPDATE";
+    private static final String RELEASE_SEAT_SQL =
+            "UPDATE events SET attendee_count = attendee_count - 1, attendees_version = attendees_version + 1 " +
+            "WHERE event_id = ? AND attendee_count > 0";
+    private static final String BUMP_VERSION_SQL =
+            "UPDATE events SET attendees_version = attendees_version + 1 WHERE event_id = ?";
+    private static final String BUMP_ATTENDED_VERSIONS_SQL =
+            "UPDATE events SET attendees_version = attendees_version + 1 " +
+            "WHERE event_id IN (SELECT event_id FROM event_attendees WHERE user_id = ?)";
+    private static final String INSERT_ATTENDEE_SQL =
+            "INSERT INTO event_attendees (event_id, user_id, joined_at) VALUES (?, ?, now()) ON CONFLICT DO NOTHING";
+    private static final String DELETE_ATTENDEE_SQL = "DELETE FROM event_attendees WHERE event_id = ? AND user_id = ?";
+    private static final String INSERT_WAITLIST_SQL =
+            "INSERT INTO event_waitlist (event_id, user_id, requested_at) VALUES (?, ?, now()) ON CONFLICT DO NOTHING";
+    private static final String DELETE_WAITLIST_SQL = "DELETE FROM event_waitlist WHERE event_id = ? AND user_id = ?";
+    private static final String POP_WAITLIST_SQL =
+            "DELETE FROM event_waitlist WHERE (event_id, user_id) IN (" +
+            "SELECT event_id, user_id FROM event_waitlist WHERE event_id = ? " +
+            "ORDER BY requested_at, user_id LIMIT 1 FOR UPDATE SKIP LOCKED) RETURNING user_id";
+    private static final String IS_ATTENDING_SQL = "SELECT EXISTS (SELECT 1 FROM event_attendees WHERE event_id = ? AND user_id = ?)";
+    private static final String IS_WAITLISTED_SQL = "SELECT EXISTS (SELECT 1 FROM event_waitlist WHERE event_id = ? AND user_id = ?)";
+    private static final String DELETE_USER_ATTENDANCES_SQL = "DELETE FROM event_attendees WHERE user_id = ? RETURNING event_id";
+    private static final String DELETE_USER_WAITLIST_SQL = "DELETE FROM event_waitlist WHERE user_id = ? RETURNING event_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EventSeatAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Gives the user a seat if one is free, otherwise a place on the waitlist. The event must exist.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EventJoinResult join(Long eventId, Long userId) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_ATTENDING_SQL, Boolean.class, eventId, userId))) {
+            return EventJoinResult.ALREADY_JOINED;
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_WAITLISTED_SQL, Boolean.class, eventId, userId))) {
+            return EventJoinResult.ALREADY_WAITLISTED;
+        }
+        if (jdbcTemplate.update(TAKE_SEAT_SQL, eventId) == 1) {
+            return seat(eventId, userId);
+        }
+        // Full: a seat released from here on would not see an uncommitted waitlist row, so hold the event row,
+        // then check again for a seat freed before the lock was granted
+        jdbcTemplate.queryForList(LOCK_EVENT_SQL, Long.class, eventId);
+        if (jdbcTemplate.update(TAKE_SEAT_SQL, eventId) == 1) {
+            return seat(eventId, userId);
+        }
+        if (jdbcTemplate.update(INSERT_WAITLIST_SQL, eventId, userId) != 1) {
+            return EventJoinResult.ALREADY_WAITLISTED;
+        }
+        jdbcTemplate.update(BUMP_VERSION_SQL, eventId);
+        return EventJoinResult.WAITLISTED;
+    }
+
+    /**
+     * Removes the user's seat or waitlist place. A freed seat goes to the next user on the waitlist.
+     * @return true if the user was attending or waiting
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean leave(Long eventId, Long userId) {
+        boolean wasWaiting = jdbcTemplate.update(DELETE_WAITLIST_SQL, eventId, userId) == 1;
+        if (jdbcTemplate.update(DELETE_ATTENDEE_SQL, eventId, userId) == 1) {
+            releaseSeat(eventId);
+            return true;
+        }
+        if (wasWaiting) {
+            jdbcTemplate.update(BUMP_VERSION_SQL, eventId);
+        }
+        return wasWaiting;
+    }
+
+    /**
+     * Promotes waitlisted users while the event has free seats, e.g. after its capacity was raised.
+     * @return the number of users promoted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int fillFreeSeats(Long eventId) {
+        int promoted = 0;
+        while (jdbcTemplate.update(TAKE_SEAT_SQL, eventId) == 1) {
+            List<Long> next = jdbcTemplate.queryForList(POP_WAITLIST_SQL, Long.class, eventId);
+            if (next.isEmpty()) {
+                jdbcTemplate.update(RELEASE_SEAT_SQL, eventId);
+                break;
+            }
+            if (jdbcTemplate.update(INSERT_ATTENDEE_SQL, eventId, next.get(0)) == 1) {
+                promoted++;
+                logger.info("User {} promoted from the waitlist of event {}.", next.get(0), eventId);
+            } else {
+                // Already attending; hand the seat to the next in line
+                jdbcTemplate.update(RELEASE_SEAT_SQL, eventId);
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Removes every attendance and waitlist place of a user who is being deleted, promoting others into the
+     * seats they held.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeUser(Long userId) {
+        jdbcTemplate.queryForList(DELETE_USER_WAITLIST_SQL, Long.class, userId)
+                .forEach(eventId -> jdbcTemplate.update(BUMP_VERSION_SQL, eventId));
+        List<Long> eventIds = jdbcTemplate.queryForList(DELETE_USER_ATTENDANCES_SQL, Long.class, userId);
+        eventIds.forEach(this::releaseSeat);
+    }
+
+    // The attendee previews of the user's events show their name; runs in the transaction that changed it
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        jdbcTemplate.update(BUMP_ATTENDED_VERSIONS_SQL, event.userId());
+    }
+
+    // Fills the seat just taken for the user
+    private EventJoinResult seat(Long eventId, Long userId) {
+        if (jdbcTemplate.update(INSERT_ATTENDEE_SQL, eventId, userId) == 1) {
+            return EventJoinResult.JOINED;
+        }
+        // A concurrent request from the same user got there first
+        jdbcTemplate.update(RELEASE_SEAT_SQL, eventId);
+        return EventJoinResult.ALREADY_JOINED;
+    }
+
+    private void releaseSeat(Long eventId) {
+        jdbcTemplate.update(RELEASE_SEAT_SQL, eventId);
+        fillFreeSeats(eventId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.EventAttendeeRepository;
+import com.example.alumniassocaition1.repository.EventRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job that recomputes Event.attendeeCount from the event_attendees table, repairing drifted
+ * counters and backfilling events created before the column existed. A repaired event gets any seats it
+ * now has free handed to its waitlist. Events are walked in id order, one short transaction per batch.
+ */
+@Component
+public class EventSeatReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSeatReconciler.class);
+
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository eventAttendeeRepository;
+    private final EventSeatAllocator eventSeatAllocator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.events.seat-reconcile.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    public EventSeatReconciler(EventRepository eventRepository, EventAttendeeRepository eventAttendeeRepository,
+                               EventSeatAllocator eventSeatAllocator, PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventSeatAllocator = eventSeatAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.events.seat-reconcile.initial-delay-ms:5000}",
+            fixedDelayString = "${app.events.seat-reconcile.interval-ms:600000}")
+    public void reconcileAll() {
+        long afterId = 0L;
+        int scanned = 0;
+        int repaired = 0;
+        while (true) {
+            final long batchStart = afterId;
+            List<Object[]> stored = eventRepository.findSeatCounterBatch(batchStart, PageRequest.of(0, batchSize));
+            if (stored.isEmpty()) {
+                break;
+            }
+            for (Long eventId : findDrifted(stored)) {
+                // One short transaction per event, so the row lock never spans a batch
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> repair(eventId)))) {
+                    repaired++;
+                }
+            }
+            scanned += stored.size();
+            afterId = (Long) stored.get(stored.size() - 1)[0];
+        }
+        if (repaired > 0) {
+            logger.warn("Event seat reconciliation repaired {} of {} events.", repaired, scanned);
+        } else {
+            logger.debug("Event seat reconciliation checked {} events, no drift found.", scanned);
+        }
+    }
+
+    // Unlocked first pass over rows of [eventId, attendeeCount]; may include events that were only mid-join
+    private List<Long> findDrifted(List<Object[]> stored) {
+        List<Long> eventIds = new ArrayList<>(stored.size());
+        for (Object[] row : stored) {
+            eventIds.add((Long) row[0]);
+        }
+        Map<Long, Long> actual = new HashMap<>(stored.size() * 2);
+        for (Object[] row : eventAttendeeRepository.countByEventIds(eventIds)) {
+            actual.put((Long) row[0], (Long) row[1]);
+        }
+        List<Long> drifted = new ArrayList<>();
+        for (Object[] row : stored) {
+            if (actual.getOrDefault((Long) row[0], 0L) != ((Integer) row[1]).longValue()) {
+                drifted.add((Long) row[0]);
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * Recounts one event under its row lock. Every seat change takes that lock before its attendee insert, so
+     * while it is held the committed attendee rows and the counter can be compared exactly; a compare-and-set
+     * would not do, as a join and a leave in between restore the value it expects.
+     * @return true if the counter was repaired
+     */
+    private boolean repair(Long eventId) {
+        Integer stored = eventRepository.lockAttendeeCount(eventId).orElse(null);
+        if (stored == null) {
+            return false; // Deleted in the meantime
+        }
+        int count = (int) eventAttendeeRepository.countByIdEventId(eventId);
+        if (count == stored) {
+            return false;
+        }
+        eventRepository.updateAttendeeCount(eventId, count);
+        eventSeatAllocator.fillFreeSeats(eventId);
+        return true;
+    }
+}
@@ -1,18 +1,39 @@
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.EventAttendeeDto;
 import com.example.alumniassocaition1.dto.EventDto;
 import com.example.alumniassocaition1.dto.EventCreateRequest; // For JSON endpoint
 import com.example.alumniassocaition1.entity.Event;
 import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface EventService {
-    List<EventDto> getAllEvents();
+    Page<EventDto> getEvents(Pageable pageable);
     EventDto getEventById(Long eventId) throws ResourceNotFoundException;
 
+    // Discovery reads, soonest first and scoped like getEvents; location is an optional case-insensitive substring
+    List<EventDto> getUpcomingEvents(int limit, String location);
+    List<EventDto> getEventsInRange(LocalDateTime from, LocalDateTime to, String location);
+
+    // Attendees of one event in join order, by keyset cursor (blank cursor for the first page)
+    CursorPage<EventAttendeeDto> getAttendeesByCursor(Long eventId, String cursor, int size) throws ResourceNotFoundException;
+
+    // ETag for conditional GETs of one event, computed from version columns only
+    String getEventETag(Long eventId) throws ResourceNotFoundException;
+
+    // iCalendar feed of a college's events: its version for conditional GETs, and the feed itself streamed to writer
+    EventCalendarVersion getCollegeCalendarVersion(Long collegeId) throws ResourceNotFoundException;
+    void writeCollegeCalendar(Long collegeId, String calendarName, Writer writer) throws IOException;
+
     // This method is called by the controller when it has already constructed the Event entity
     // from individual multipart parts.
     EventDto createAndSaveEvent(Event event, User currentUser);
@@ -27,6 +48,8 @@ public interface EventService {
     Event findEventEntityById(Long eventId) throws ResourceNotFoundException;
 
     void deleteEvent(Long eventId) throws ResourceNotFoundException;
-    void joinEvent(Long eventId) throws ResourceNotFoundException;
+    // Takes a seat, or a waitlist place when the event is full
+    EventJoinResult joinEvent(Long eventId) throws ResourceNotFoundException;
+    // Gives up a seat or waitlist place; a freed seat goes to the longest-waiting user
     void leaveEvent(Long eventId) throws ResourceNotFoundException;
 }
\ No newline at end of file
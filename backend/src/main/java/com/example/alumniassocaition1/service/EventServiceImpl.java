@@ -1,22 +1,27 @@
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.EventCalendarEntryDto;
+import com.example.alumniassocaition1.dto.EventAttendeeDto;
 import com.example.alumniassocaition1.dto.EventDto;
 import com.example.alumniassocaition1.dto.EventCreateRequest;
-import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.example.alumniassocaition1.entity.Event;
-import com.example.alumniassocaition1.entity.EventAttendee;
-import com.example.alumniassocaition1.entity.EventAttendeeId;
 import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.entity.College;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException;
+import com.example.alumniassocaition1.mapper.EventMapper;
 import com.example.alumniassocaition1.repository.EventAttendeeRepository;
 import com.example.alumniassocaition1.repository.EventRepository;
+import com.example.alumniassocaition1.repository.EventWaitlistRepository;
 import com.example.alumniassocaition1.repository.CollegeRepository; // Assuming you might need it
+import com.example.alumniassocaition1.security.AuthenticatedUser;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,17 +32,32 @@ import org.springframework.util.StringUtils;
 // import org.springframework.web.multipart.MultipartFile; // Not used in this snippet
 // import org.springframework.web.servlet.support.ServletUriComponentsBuilder; // For image URLs
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class EventServiceImpl implements EventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventServiceImpl.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+    private static final int MAX_UPCOMING_EVENTS = 50;
+    private static final int MAX_RANGE_EVENTS = 500;
+    private static final int MAX_RANGE_DAYS = 366;
 
     private final EventRepository eventRepository;
     private final EventAttendeeRepository eventAttendeeRepository;
+    private final EventWaitlistRepository eventWaitlistRepository;
+    private final EventSeatAllocator eventSeatAllocator;
+    private final EventCalendarWriter eventCalendarWriter;
     private final UserService userService; // Assuming this has getCurrentAuthenticatedUserEntity()
     private final FileStorageService fileStorageService; // For deleting images
     private final CollegeRepository collegeRepository; // For college-related operations if any
@@ -45,11 +65,17 @@ public class EventServiceImpl implements EventService {
     @Autowired
     public EventServiceImpl(EventRepository eventRepository,
                             EventAttendeeRepository eventAttendeeRepository,
+                            EventWaitlistRepository eventWaitlistRepository,
+                            EventSeatAllocator eventSeatAllocator,
+                            EventCalendarWriter eventCalendarWriter,
                             UserService userService,
                             FileStorageService fileStorageService,
                             CollegeRepository collegeRepository) {
         this.eventRepository = eventRepository;
         this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventWaitlistRepository = eventWaitlistRepository;
+        this.eventSeatAllocator = eventSeatAllocator;
+        this.eventCalendarWriter = eventCalendarWriter;
         this.userService = userService;
         this.fileStorageService = fileStorageService;
         this.collegeRepository = collegeRepository;
@@ -65,51 +91,215 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    // The signed-in user from their token claims, or null; read paths need no more than their id, role and college
+    private AuthenticatedUser getCurrentViewer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            return null;
+        }
+        return userService.getCurrentPrincipal();
+    }
+
 
     @Override
     @Transactional(readOnly = true)
-    public List<EventDto> getAllEvents() {
-        User currentUser = getCurrentUserEntity();
-        List<Event> events;
+    public Page<EventDto> getEvents(Pageable pageable) {
+        AuthenticatedUser currentUser = getCurrentViewer();
+        Page<EventDto> events;
 
         // Your existing logic for fetching events based on user's college or all events
-        if (currentUser != null && currentUser.getCollege() != null) {
-            logger.info("Fetching events for user {} from college ID: {}", currentUser.getUserId(), currentUser.getCollege().getCollegeId());
-            events = eventRepository.findByCollegeCollegeIdOrderByEventDateDesc(currentUser.getCollege().getCollegeId());
-        } else if (currentUser != null && "admin".equalsIgnoreCase(currentUser.getRole()) && currentUser.getCollege() == null) {
+        if (currentUser != null && currentUser.getCollegeId() != null) {
+            logger.info("Fetching events page {} for user {} from college ID: {}", pageable.getPageNumber(), currentUser.getUserId(), currentUser.getCollegeId());
+            events = eventRepository.findPageDtosByCollegeId(currentUser.getCollegeId(), pageable);
+        } else if (currentUser != null && "admin".equalsIgnoreCase(currentUser.getRole()) && currentUser.getCollegeId() == null) {
             logger.info("Super admin {} fetching all events.", currentUser.getUserId());
-            events = eventRepository.findAllByOrderByEventDateDesc();
+            events = eventRepository.findAllPageDtos(pageable);
         } else {
             logger.info("Fetching all events for unauthenticated user or user with no college affiliation.");
-            events = eventRepository.findAllByOrderByEventDateDesc();
+            events = eventRepository.findAllPageDtos(pageable);
+        }
+
+        attachAttendeePreviews(events.getContent());
+        applyAttendance(events.getContent(), currentUser != null ? currentUser.getUserId() : null);
+        return events;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDto> getUpcomingEvents(int limit, String location) {
+        AuthenticatedUser currentUser = getCurrentViewer();
+        Pageable rows = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_UPCOMING_EVENTS)));
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDto> events = currentUser != null && currentUser.getCollegeId() != null
+                ? eventRepository.findUpcomingDtosByCollegeId(currentUser.getCollegeId(), now, locationPattern(location), rows)
+                : eventRepository.findUpcomingDtos(now, locationPattern(location), rows);
+        attachAttendeePreviews(events);
+        applyAttendance(events, currentUser != null ? currentUser.getUserId() : null);
+        return events;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDto> getEventsInRange(LocalDateTime from, LocalDateTime to, String location) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'.");
         }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days.");
+        }
+        AuthenticatedUser currentUser = getCurrentViewer();
+        Pageable rows = PageRequest.of(0, MAX_RANGE_EVENTS);
+        List<EventDto> events = currentUser != null && currentUser.getCollegeId() != null
+                ? eventRepository.findDtosByCollegeIdInRange(currentUser.getCollegeId(), from, to, locationPattern(location), rows)
+                : eventRepository.findDtosInRange(from, to, locationPattern(location), rows);
+        attachAttendeePreviews(events);
+        applyAttendance(events, currentUser != null ? currentUser.getUserId() : null);
+        return events;
+    }
 
-        return events.stream()
-                .map(event -> mapEventToDto(event, currentUser))
-                .collect(Collectors.toList());
+    // LIKE pattern for a case-insensitive substring match; wildcards typed by the user match literally
+    private static String locationPattern(String location) {
+        if (!StringUtils.hasText(location)) {
+            return "%";
+        }
+        String escaped = location.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
     }
 
     @Override
     @Transactional(readOnly = true)
     public EventDto getEventById(Long eventId) throws ResourceNotFoundException {
-        User currentUser = getCurrentUserEntity();
+        AuthenticatedUser currentUser = getCurrentViewer();
         logger.info("getEventById: Fetching event {} for current user (ID: {}).", eventId, currentUser != null ? currentUser.getUserId() : "null");
 
-        Event event = eventRepository.findById(eventId)
+        EventDto event = eventRepository.findDtoById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        // Your existing college visibility check logic
-        if (currentUser != null && currentUser.getCollege() != null &&
-                event.getCollege() != null &&
-                !currentUser.getCollege().getCollegeId().equals(event.getCollege().getCollegeId())) {
-            boolean isSuperAdmin = "admin".equalsIgnoreCase(currentUser.getRole()) && currentUser.getCollege() == null;
-            if (!"admin".equalsIgnoreCase(currentUser.getRole()) || (currentUser.getCollege() != null && !isSuperAdmin)) {
+        checkCollegeVisibility(eventId, event.getCollegeId(), currentUser);
+        attachAttendeePreviews(List.of(event));
+        applyAttendance(List.of(event), currentUser != null ? currentUser.getUserId() : null);
+        return event;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEventETag(Long eventId) throws ResourceNotFoundException {
+        AuthenticatedUser currentUser = getCurrentViewer();
+        List<Object[]> rows = eventRepository.findVersionById(eventId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        Object[] version = rows.get(0);
+        // Same visibility rule as getEventById, so a 304 never confirms an event the user may not see
+        checkCollegeVisibility(eventId, (Long) version[0], currentUser);
+        return ResourceETags.of("event", eventId, version[1], version[2], version[3], version[4],
+                currentUser != null ? currentUser.getUserId() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventCalendarVersion getCollegeCalendarVersion(Long collegeId) throws ResourceNotFoundException {
+        List<Object[]> rows = eventRepository.findCalendarVersionByCollegeId(collegeId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("College", "id", collegeId);
+        }
+        Object[] version = rows.get(0);
+        String collegeName = (String) version[0];
+        LocalDateTime lastUpdated = (LocalDateTime) version[1];
+        return new EventCalendarVersion(collegeName + " events",
+                ResourceETags.of("calendar", collegeId, collegeName, lastUpdated, version[2]),
+                lastUpdated != null ? eventCalendarWriter.toEpochMillis(lastUpdated) : -1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCollegeCalendar(Long collegeId, String calendarName, Writer writer) throws IOException {
+        // The transaction keeps the database cursor open while events are written one by one
+        try (Stream<EventCalendarEntryDto> entries = eventRepository.streamCalendarEntriesByCollegeId(collegeId)) {
+            eventCalendarWriter.write(calendarName, entries, writer);
+        }
+    }
+
+    // Your existing college visibility check logic
+    private void checkCollegeVisibility(Long eventId, Long eventCollegeId, AuthenticatedUser currentUser) {
+        if (currentUser != null && currentUser.getCollegeId() != null &&
+                eventCollegeId != null &&
+                !currentUser.getCollegeId().equals(eventCollegeId)) {
+            boolean isSuperAdmin = "admin".equalsIgnoreCase(currentUser.getRole()) && currentUser.getCollegeId() == null;
+            if (!"admin".equalsIgnoreCase(currentUser.getRole()) || (currentUser.getCollegeId() != null && !isSuperAdmin)) {
                 logger.warn("User {} from college {} attempted to access event {} from different college {}.",
-                        currentUser.getUserId(), currentUser.getCollege().getCollegeId(), eventId, event.getCollege().getCollegeId());
+                        currentUser.getUserId(), currentUser.getCollegeId(), eventId, eventCollegeId);
                 throw new AccessDeniedException("You do not have permission to view this event from another college.");
             }
         }
-        return mapEventToDto(event, currentUser);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventAttendeeDto> getAttendeesByCursor(Long eventId, String cursor, int size) throws ResourceNotFoundException {
+        List<Long> eventCollege = eventRepository.findCollegeIdById(eventId);
+        if (eventCollege.isEmpty()) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        checkCollegeVisibility(eventId, eventCollege.get(0), getCurrentViewer());
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<EventAttendeeDto> attendees = after == null
+                ? eventAttendeeRepository.findPageByEventIdFirst(eventId, limit)
+                : eventAttendeeRepository.findPageByEventIdAfter(eventId, after.getTimestamp(), after.getId(), limit);
+
+        boolean hasMore = attendees.size() > pageSize;
+        List<EventAttendeeDto> items = hasMore ? attendees.subList(0, pageSize) : attendees;
+        String nextCursor = null;
+        if (hasMore) {
+            EventAttendeeDto last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getJoinedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    // First few attendees for all given events in one query, however many people joined; counts come from Event.attendeeCount
+    private void attachAttendeePreviews(List<EventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Long> eventIds = events.stream().map(EventDto::getId).toList();
+        Map<Long, List<EventAttendeeDto>> previews = new HashMap<>();
+        for (EventAttendeeDto attendee : eventAttendeeRepository.findPreviewDtosByEventIds(eventIds)) {
+            previews.computeIfAbsent(attendee.getEventId(), id -> new ArrayList<>(EventAttendeeRepository.ATTENDEE_PREVIEW_SIZE)).add(attendee);
+        }
+        for (EventDto event : events) {
+            event.setAttendeePreview(previews.getOrDefault(event.getId(), Collections.emptyList()));
+        }
+    }
+
+    // isAttending and waitlisted for every listed event from one query each: the ids among them that the current user attends or waits for
+    private void applyAttendance(List<EventDto> events, Long viewerId) {
+        List<Long> eventIds = events.stream().map(EventDto::getId).toList();
+        Set<Long> attended = findAttendedEventIds(eventIds, viewerId);
+        Set<Long> waitlisted = findWaitlistedEventIds(eventIds, viewerId);
+        events.forEach(event -> {
+            event.setAttending(attended.contains(event.getId()));
+            event.setWaitlisted(waitlisted.contains(event.getId()));
+        });
+    }
+
+    private Set<Long> findAttendedEventIds(List<Long> eventIds, Long viewerId) {
+        if (eventIds.isEmpty() || viewerId == null) {
+            return Collections.emptySet();
+        }
+        return eventAttendeeRepository.findAttendedEventIds(viewerId, eventIds);
+    }
+
+    private Set<Long> findWaitlistedEventIds(List<Long> eventIds, Long viewerId) {
+        if (eventIds.isEmpty() || viewerId == null) {
+            return Collections.emptySet();
+        }
+        return eventWaitlistRepository.findWaitlistedEventIds(viewerId, eventIds);
     }
 
     @Override
@@ -127,9 +317,11 @@ public class EventServiceImpl implements EventService {
         }
         event.setCollege(creator.getCollege());
 
-        Event savedEvent = eventRepository.save(event);
+        boolean isUpdate = event.getEventId() != null;
+        Event savedEvent = eventRepository.saveAndFlush(event);
         logger.info("Event saved/updated successfully with ID: {}", savedEvent.getEventId());
-        return mapEventToDto(savedEvent, creator); // Pass creator as currentUser for initial DTO mapping
+        int promoted = isUpdate ? eventSeatAllocator.fillFreeSeats(savedEvent.getEventId()) : 0;
+        return mapEventToDto(savedEvent, creator, promoted); // Pass creator as currentUser for initial DTO mapping
     }
 
     @Override
@@ -147,12 +339,13 @@ public class EventServiceImpl implements EventService {
         event.setDescription(createRequestDto.getDescription());
         event.setEventDate(createRequestDto.getDate());
         event.setLocation(createRequestDto.getLocation());
+        event.setCapacity(createRequestDto.getCapacity());
         event.setCreatedBy(currentUser);
         event.setCollege(currentUser.getCollege()); // Default to creator's college
         event.setImageUrl(null); // Assuming image handling is separate or via createAndSaveEvent
 
         Event savedEvent = eventRepository.save(event);
-        return mapEventToDto(savedEvent, currentUser);
+        return mapEventToDto(savedEvent, currentUser, 0);
     }
 
     @Override
@@ -176,6 +369,7 @@ public class EventServiceImpl implements EventService {
         event.setDescription(updateRequestDto.getDescription());
         event.setEventDate(updateRequestDto.getDate());
         event.setLocation(updateRequestDto.getLocation());
+        event.setCapacity(updateRequestDto.getCapacity());
 
         // College update logic (if applicable)
         if (updateRequestDto.getCollegeId() != null && "admin".equalsIgnoreCase(currentUser.getRole())) {
@@ -188,8 +382,10 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        Event updatedEvent = eventRepository.save(event);
-        return mapEventToDto(updatedEvent, currentUser);
+        Event updatedEvent = eventRepository.saveAndFlush(event);
+        // A raised (or removed) capacity frees seats for the waitlist
+        int promoted = eventSeatAllocator.fillFreeSeats(eventId);
+        return mapEventToDto(updatedEvent, currentUser, promoted);
     }
 
 
@@ -219,7 +415,7 @@ public class EventServiceImpl implements EventService {
         }
 
         String imageUrl = event.getImageUrl();
-        eventRepository.delete(event); // Cascades to EventAttendee due to orphanRemoval=true
+        eventRepository.delete(event); // Cascades to EventAttendee and EventWaitlistEntry due to orphanRemoval=true
 
         if (StringUtils.hasText(imageUrl)) {
             try {
@@ -236,7 +432,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     @Transactional
-    public void joinEvent(Long eventId) throws ResourceNotFoundException {
+    public EventJoinResult joinEvent(Long eventId) throws ResourceNotFoundException {
         User currentUser = getCurrentUserEntity();
         if (currentUser == null) {
             throw new AccessDeniedException("User must be authenticated to join an event.");
@@ -248,25 +444,13 @@ public class EventServiceImpl implements EventService {
             // Or allow it if admins can also be attendees. For now, let's assume they can.
         }
 
-
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        EventAttendeeId eventAttendeeId = new EventAttendeeId(event.getEventId(), currentUser.getUserId());
-
-        if (eventAttendeeRepository.existsById(eventAttendeeId)) {
-            logger.info("User {} already attending event {}. No action taken.", currentUser.getUserId(), eventId);
-            return; // Already attending
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
         }
 
-        EventAttendee eventAttendee = new EventAttendee();
-        eventAttendee.setId(eventAttendeeId);
-        eventAttendee.setEvent(event);
-        eventAttendee.setUser(currentUser);
-        // 'joinedAt' is set by @PrePersist in EventAttendee entity
-
-        eventAttendeeRepository.save(eventAttendee);
-        logger.info("User {} successfully joined event {}.", currentUser.getUserId(), eventId);
+        EventJoinResult result = eventSeatAllocator.join(eventId, currentUser.getUserId());
+        logger.info("User {} join request for event {}: {}.", currentUser.getUserId(), eventId, result);
+        return result;
     }
 
     @Override
@@ -277,81 +461,19 @@ public class EventServiceImpl implements EventService {
             throw new AccessDeniedException("User must be authenticated to leave an event.");
         }
 
-        EventAttendeeId eventAttendeeId = new EventAttendeeId(eventId, currentUser.getUserId());
-
-        if (!eventAttendeeRepository.existsById(eventAttendeeId)) {
-            logger.info("User {} is not attending event {}. No action taken for leaving.", currentUser.getUserId(), eventId);
-            // Optionally, throw an exception if trying to leave an event not joined,
-            // or just return silently. For robustness, silent return is fine.
-            // throw new ResourceNotFoundException("EventAttendee", "eventId/userId", eventId + "/" + currentUser.getUserId());
+        if (!eventSeatAllocator.leave(eventId, currentUser.getUserId())) {
+            logger.info("User {} is not attending or waiting for event {}. No action taken for leaving.", currentUser.getUserId(), eventId);
             return;
         }
-
-        eventAttendeeRepository.deleteById(eventAttendeeId);
         logger.info("User {} successfully left event {}.", currentUser.getUserId(), eventId);
     }
 
-    private EventDto mapEventToDto(Event event, User currentUser) {
-        EventDto dto = new EventDto();
-        dto.setId(event.getEventId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setDate(event.getEventDate());
-        dto.setLocation(event.getLocation());
-        dto.setImageUrl(event.getImageUrl());
-        dto.setCreatedAt(event.getCreatedAt());
-
-        if (event.getCreatedBy() != null) {
-            UserSummaryDto creatorDto = new UserSummaryDto();
-            // BeanUtils.copyProperties(event.getCreatedBy(), creatorDto); // Careful with this, ensure UserSummaryDto fields match User fields
-            creatorDto.setId(event.getCreatedBy().getUserId());
-            creatorDto.setName(event.getCreatedBy().getName() != null ? event.getCreatedBy().getName() : "Unknown Creator");
-            creatorDto.setEmail(event.getCreatedBy().getEmail()); // Assuming UserSummaryDto has email
-            creatorDto.setRole(event.getCreatedBy().getRole());   // Assuming UserSummaryDto has role
-            dto.setCreatedBy(creatorDto);
-        } else {
-            UserSummaryDto unknownCreator = new UserSummaryDto();
-            unknownCreator.setName("Unknown Creator");
-            dto.setCreatedBy(unknownCreator);
-        }
-
-        if (event.getCollege() != null) {
-            dto.setCollegeId(event.getCollege().getCollegeId());
-        }
-
-        if (event.getAttendees() != null) {
-            dto.setAttendees(event.getAttendees().stream().map(ea -> {
-                UserSummaryDto attendeeUserDto = new UserSummaryDto();
-                if (ea.getUser() != null) {
-                    // BeanUtils.copyProperties(ea.getUser(), attendeeUserDto);
-                    attendeeUserDto.setId(ea.getUser().getUserId());
-                    attendeeUserDto.setName(ea.getUser().getName());
-                    attendeeUserDto.setEmail(ea.getUser().getEmail());
-                    attendeeUserDto.setRole(ea.getUser().getRole());
-                }
-                return attendeeUserDto;
-            }).collect(Collectors.toList()));
-        } else {
-            dto.setAttendees(Collections.emptyList());
-        }
-
-        // --- Crucial part for isAttending ---
-        boolean isAttending = false;
-        if (currentUser != null && event.getEventId() != null && currentUser.getUserId() != null) {
-            // Log the parameters being passed to the repository method
-            logger.debug("mapEventToDto: Checking attendance for eventId: {}, userId: {}", event.getEventId(), currentUser.getUserId());
-            isAttending = eventAttendeeRepository.existsByIdEventIdAndIdUserId(event.getEventId(), currentUser.getUserId());
-            logger.debug("mapEventToDto: eventAttendeeRepository.existsByIdEventIdAndIdUserId returned: {}", isAttending);
-        } else {
-            logger.debug("mapEventToDto: currentUser, eventId, or currentUserId is null. Defaulting isAttending to false. User: {}, EventID: {}",
-                    currentUser != null ? currentUser.getUserId() : "null",
-                    event.getEventId());
-        }
-        dto.setAttending(isAttending);
-        logger.debug("mapEventToDto: Final DTO for eventId {}: isAttending = {}", event.getEventId(), dto.isAttending());
-        // --- End crucial part ---
-
+    // promoted: users moved off the waitlist since the entity was loaded, which its attendeeCount does not include yet
+    private EventDto mapEventToDto(Event event, User currentUser, int promoted) {
+        EventDto dto = EventMapper.toDto(event, false);
+        dto.setAttendeeCount(dto.getAttendeeCount() + promoted);
+        attachAttendeePreviews(List.of(dto));
+        applyAttendance(List.of(dto), currentUser != null ? currentUser.getUserId() : null);
         return dto;
     }
 }
-
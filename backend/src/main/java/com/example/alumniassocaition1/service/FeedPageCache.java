@@ -0,0 +1,100 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.post.PostDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the first few college feed pages. Only the part shared by every viewer is cached
+ * (likedByCurrentUser is always false in cached DTOs); callers overlay the per-user liked flags at read time.
+ * <p>
+ * Entries are dropped when a post of the college is created, edited or deleted. Like and comment counts
+ * are not invalidation triggers and may lag by up to the TTL. Hit, miss and eviction counts are published
+ * to Micrometer as the "feedPages" cache (see /actuator/metrics/cache.gets).
+ */
+@Component
+public class FeedPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedPageCache.class);
+
+    private final Cache<FeedPageKey, CachedFeedPage> cache;
+    private final int cachedPages;
+
+    @Autowired
+    public FeedPageCache(MeterRegistry meterRegistry,
+                         @Value("${app.feed.cache.pages:3}") int cachedPages,
+                         @Value("${app.feed.cache.max-entries:2000}") long maxEntries,
+                         @Value("${app.feed.cache.ttl-seconds:15}") long ttlSeconds) {
+        this.cachedPages = cachedPages;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "feedPages");
+    }
+
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.isPaged() && pageable.getPageNumber() < cachedPages;
+    }
+
+    /**
+     * Returns the cached shared page, loading it with {@code loader} on a miss.
+     * Concurrent misses for the same page wait for a single load.
+     */
+    public CachedFeedPage get(Long collegeId, Pageable pageable, Supplier<CachedFeedPage> loader) {
+        FeedPageKey key = new FeedPageKey(collegeId, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString());
+        return cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Drops every cached page of the college. Inside a transaction the eviction runs after commit,
+     * so a concurrent reader cannot re-cache the pre-change rows.
+     */
+    public void evictCollege(Long collegeId) {
+        if (collegeId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(collegeId);
+                }
+            });
+        } else {
+            evictNow(collegeId);
+        }
+    }
+
+    private void evictNow(Long collegeId) {
+        cache.asMap().keySet().removeIf(key -> key.collegeId().equals(collegeId));
+        logger.debug("Evicted cached feed pages for college ID: {}", collegeId);
+    }
+
+    private record FeedPageKey(Long collegeId, int pageNumber, int pageSize, String sort) {
+    }
+
+    /**
+     * Viewer-independent content of one feed page, and the version of the rows it was read from (post and
+     * author update times and engagement versions, and the total). The DTOs must not be modified by callers.
+     */
+    public record CachedFeedPage(List<PostDto> posts, long totalElements, String version) {
+    }
+}
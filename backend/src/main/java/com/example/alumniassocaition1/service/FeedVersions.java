@@ -0,0 +1,68 @@
+package com.example.alumniassocaition1.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory versions of the parts of a feed page that the cached page itself does not cover (see
+ * {@link FeedPageCache}): each viewer's likes, which decide their likedByCurrentUser flags, and each college's
+ * comments, which decide the comment previews. Feed ETags include them, so a 304 can be answered without
+ * reading post_likes or comments.
+ * <p>
+ * A version moves after the change it stands for has committed, so a tag never runs ahead of the content.
+ * Versions are held per instance, like the feed cache and the like buffer. One not held (never seen, evicted,
+ * or after a restart) is given a fresh value from a sequence that starts at the current time, so it never
+ * repeats an earlier one and only costs the client a full response.
+ */
+@Component
+public class FeedVersions {
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Cache<Long, Long> viewerLikes;
+    private final Cache<Long, Long> collegeComments;
+
+    @Autowired
+    public FeedVersions(@Value("${app.feed.versions.max-entries:100000}") long maxEntries) {
+        this.viewerLikes = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        this.collegeComments = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    public long ofViewerLikes(Long userId) {
+        return viewerLikes.get(userId, id -> sequence.incrementAndGet());
+    }
+
+    public long ofCollegeComments(Long collegeId) {
+        return collegeComments.get(collegeId, id -> sequence.incrementAndGet());
+    }
+
+    public void viewerLikesChanged(Long userId) {
+        afterCommit(() -> viewerLikes.put(userId, sequence.incrementAndGet()));
+    }
+
+    public void collegeCommentsChanged(Long collegeId) {
+        if (collegeId != null) {
+            afterCommit(() -> collegeComments.put(collegeId, sequence.incrementAndGet()));
+        }
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
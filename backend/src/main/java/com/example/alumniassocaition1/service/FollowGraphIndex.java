@@ -0,0 +1,383 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.UserFollowRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory copy of the follow graph: for each user, the ids they follow and the ids following them,
+ * held in primitive {@link LongHashSet}s. Answers counts, "does A follow B" and mutual-follow checks
+ * without touching the database.
+ * <p>
+ * Loaded once the application is ready and rebuilt every {@code app.follow-graph.rebuild-ms} to repair any
+ * drift; in between it follows committed {@link UserFollowChangedEvent}s and removed users. Callers fall back
+ * to the database until the first load has finished ({@link #isReady()}). The estimated heap footprint is
+ * published as the "follow.graph.memory" gauge, alongside "follow.graph.edges" and "follow.graph.users".
+ */
+@Component
+public class FollowGraphIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraphIndex.class);
+
+    // Marks a removed user in the changes recorded during a rebuild
+    private static final long REMOVED_USER = 0L;
+
+    private final UserFollowRepository userFollowRepository;
+    private final int batchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private Graph graph = new Graph(); // Guarded by lock
+    // Changes applied while a rebuild is reading the database, replayed onto the new graph; null otherwise
+    private List<long[]> changesDuringRebuild; // Guarded by lock
+    private volatile boolean ready;
+
+    @Autowired
+    public FollowGraphIndex(UserFollowRepository userFollowRepository, MeterRegistry meterRegistry,
+                            @Value("${app.follow-graph.batch-size:10000}") int batchSize) {
+        this.userFollowRepository = userFollowRepository;
+        this.batchSize = batchSize;
+        Gauge.builder("follow.graph.memory", this, FollowGraphIndex::estimatedBytes)
+                .description("Estimated heap used by the in-memory follow graph")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("follow.graph.edges", this, index -> index.read(g -> (double) g.edgeCount))
+                .description("Follow relationships held in the in-memory follow graph")
+                .register(meterRegistry);
+        Gauge.builder("follow.graph.users", this, index -> index.read(g -> (double) g.userCount))
+                .description("Users with at least one follow relationship in the in-memory follow graph")
+                .register(meterRegistry);
+    }
+
+    /**
+     * False until the first load has finished; callers must then ask the database instead.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long followerCount(long userId) {
+        return read(g -> Graph.size(g.followers, userId));
+    }
+
+    /**
+     * Follower counts of the given users, in the same order, read under a single lock.
+     */
+    public long[] followerCounts(long[] userIds) {
+        return read(g -> {
+            long[] counts = new long[userIds.length];
+            for (int i = 0; i < userIds.length; i++) {
+                counts[i] = Graph.size(g.followers, userIds[i]);
+            }
+            return counts;
+        });
+    }
+
+    public long followingCount(long userId) {
+        return read(g -> Graph.size(g.following, userId));
+    }
+
+    public boolean follows(long followerId, long followingId) {
+        return read(g -> g.follows(followerId, followingId));
+    }
+
+    public boolean isMutual(long userId, long otherUserId) {
+        return read(g -> g.follows(userId, otherUserId) && g.follows(otherUserId, userId));
+    }
+
+    /**
+     * Ids the user follows, in ascending order. A copy, safe to keep.
+     */
+    public long[] followingIds(long userId) {
+        return read(g -> Graph.sortedIds(g.following, userId));
+    }
+
+    /**
+     * Ids following the user, in ascending order. A copy, safe to keep.
+     */
+    public long[] followerIds(long userId) {
+        return read(g -> Graph.sortedIds(g.followers, userId));
+    }
+
+    /**
+     * Walks the ids each of the given users follows, visiting at most maxPerUser of each (an arbitrary but
+     * stable subset of larger lists), under a single read lock and without copying them. The action must not
+     * call back into the index.
+     */
+    public void forEachFollowing(long[] userIds, int maxPerUser, LongConsumer action) {
+        read(g -> {
+            for (long userId : userIds) {
+                LongHashSet followed = g.following.get(userId);
+                if (followed != null) {
+                    followed.forEach(maxPerUser, action);
+                }
+            }
+            return null;
+        });
+    }
+
+    // First of the after-commit listeners, so the others already see the change in the graph
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollowChanged(UserFollowChangedEvent event) {
+        long followerId = event.followerId();
+        long followingId = event.followingId();
+        write(() -> {
+            graph.set(followerId, followingId, event.following());
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new long[]{followerId, followingId});
+            }
+        });
+    }
+
+    /**
+     * Drops every relationship of a deleted user. Inside a transaction the removal runs after commit.
+     */
+    public void removeUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUserNow(userId);
+                }
+            });
+        } else {
+            removeUserNow(userId);
+        }
+    }
+
+    // Ahead of the other ready listeners, so structures ranked by follower counts (UserTypeahead) see real ones
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Reads the whole graph into a new structure and swaps it in. The current graph keeps serving meanwhile;
+     * relationships changed during the read are checked again against the database before the swap, and the
+     * few changed during that check take their state from the current graph, which has already applied them.
+     */
+    @Scheduled(initialDelayString = "${app.follow-graph.rebuild-ms:3600000}", fixedDelayString = "${app.follow-graph.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            long started = System.nanoTime();
+            write(() -> changesDuringRebuild = new ArrayList<>());
+            Graph rebuilt = new Graph();
+            try {
+                long afterFollowerId = 0;
+                long afterFollowingId = 0;
+                List<Object[]> batch;
+                do {
+                    batch = userFollowRepository.findEdgeBatchAfter(afterFollowerId, afterFollowingId,
+                            PageRequest.of(0, batchSize));
+                    for (Object[] row : batch) {
+                        afterFollowerId = (Long) row[0];
+                        afterFollowingId = (Long) row[1];
+                        rebuilt.set(afterFollowerId, afterFollowingId, true);
+                    }
+                } while (batch.size() == batchSize);
+
+                // Checked without the lock; changes recorded meanwhile are collected for the swap below
+                List<long[]> changedDuringRead = new ArrayList<>();
+                write(() -> {
+                    changedDuringRead.addAll(changesDuringRebuild);
+                    changesDuringRebuild = new ArrayList<>();
+                });
+                replay(rebuilt, changedDuringRead,
+                        change -> userFollowRepository.existsByIdFollowerIdAndIdFollowingId(change[0], change[1]));
+            } catch (RuntimeException e) {
+                write(() -> changesDuringRebuild = null);
+                throw e;
+            }
+
+            // Replayed under the write lock, so no later change can be applied before the one read here
+            write(() -> {
+                try {
+                    replay(rebuilt, changesDuringRebuild, change -> graph.follows(change[0], change[1]));
+                    graph = rebuilt;
+                } finally {
+                    changesDuringRebuild = null;
+                }
+            });
+            ready = true;
+            logger.info("Follow graph loaded: {} relationships between {} users in {} ms (~{} KiB).",
+                    rebuilt.edgeCount, rebuilt.userCount, (System.nanoTime() - started) / 1_000_000,
+                    rebuilt.estimatedBytes / 1024);
+        }
+    }
+
+    private static void replay(Graph rebuilt, List<long[]> changes, Predicate<long[]> present) {
+        for (long[] change : changes) {
+            if (change[1] == REMOVED_USER) {
+                rebuilt.removeUser(change[0]);
+            } else {
+                rebuilt.set(change[0], change[1], present.test(change));
+            }
+        }
+    }
+
+    private void removeUserNow(Long userId) {
+        write(() -> {
+            graph.removeUser(userId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new long[]{userId, REMOVED_USER});
+            }
+        });
+    }
+
+    private double estimatedBytes() {
+        return read(g -> (double) g.estimatedBytes);
+    }
+
+    private <T> T read(Function<Graph, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(graph);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Both directions of every relationship. The per-user maps box their keys once per user;
+     * the adjacency sets themselves hold primitive ids. The counts and the footprint are kept up to date on
+     * every change, so the gauges read them without walking the maps.
+     */
+    private static final class Graph {
+
+        // HashMap.Node, boxed Long key and a share of the bucket table
+        private static final long MAP_ENTRY_BYTES = 32 + 16 + 8;
+
+        final Map<Long, LongHashSet> following = new HashMap<>();
+        final Map<Long, LongHashSet> followers = new HashMap<>();
+        long edgeCount;
+        int userCount; // Users with at least one relationship, on either side
+        long estimatedBytes;
+
+        boolean follows(long followerId, long followingId) {
+            LongHashSet followed = following.get(followerId);
+            return followed != null && followed.contains(followingId);
+        }
+
+        private static final long[] NO_IDS = new long[0];
+
+        static long[] sortedIds(Map<Long, LongHashSet> adjacency, long userId) {
+            LongHashSet set = adjacency.get(userId);
+            if (set == null) {
+                return NO_IDS;
+            }
+            long[] ids = set.toArray();
+            Arrays.sort(ids);
+            return ids;
+        }
+
+        static long size(Map<Long, LongHashSet> adjacency, long userId) {
+            LongHashSet set = adjacency.get(userId);
+            return set == null ? 0 : set.size();
+        }
+
+        void set(long followerId, long followingId, boolean present) {
+            if (present) {
+                if (addTo(following, followers, followerId, followingId)) {
+                    addTo(followers, following, followingId, followerId);
+                    edgeCount++;
+                }
+            } else if (removeFrom(following, followers, followerId, followingId)) {
+                removeFrom(followers, following, followingId, followerId);
+                edgeCount--;
+            }
+        }
+
+        void removeUser(long userId) {
+            LongHashSet followed = following.get(userId);
+            if (followed != null) {
+                followed.forEach(followingId -> removeFrom(followers, following, followingId, userId));
+                edgeCount -= followed.size();
+                drop(following, followers, userId);
+            }
+            LongHashSet followedBy = followers.get(userId);
+            if (followedBy != null) {
+                followedBy.forEach(followerId -> removeFrom(following, followers, followerId, userId));
+                edgeCount -= followedBy.size();
+                drop(followers, following, userId);
+            }
+        }
+
+        // reverse is the map of the other direction, telling whether the user still has relationships there
+        private boolean addTo(Map<Long, LongHashSet> adjacency, Map<Long, LongHashSet> reverse, long userId, long otherId) {
+            LongHashSet set = adjacency.get(userId);
+            if (set == null) {
+                set = new LongHashSet();
+                adjacency.put(userId, set);
+                estimatedBytes += MAP_ENTRY_BYTES + set.estimatedBytes();
+                if (!reverse.containsKey(userId)) {
+                    userCount++;
+                }
+            }
+            long before = set.estimatedBytes();
+            if (!set.add(otherId)) {
+                return false;
+            }
+            estimatedBytes += set.estimatedBytes() - before;
+            return true;
+        }
+
+        // Empty sets are dropped so users without relationships cost nothing
+        private boolean removeFrom(Map<Long, LongHashSet> adjacency, Map<Long, LongHashSet> reverse, long userId, long otherId) {
+            LongHashSet set = adjacency.get(userId);
+            if (set == null || !set.remove(otherId)) {
+                return false;
+            }
+            if (set.isEmpty()) {
+                drop(adjacency, reverse, userId);
+            }
+            return true;
+        }
+
+        private void drop(Map<Long, LongHashSet> adjacency, Map<Long, LongHashSet> reverse, long userId) {
+            LongHashSet set = adjacency.remove(userId);
+            estimatedBytes -= MAP_ENTRY_BYTES + set.estimatedBytes();
+            if (!reverse.containsKey(userId)) {
+                userCount--;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.PostRepository;
+import com.example.alumniassocaition1.repository.UserFollowRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory "following" timelines: for each recently active user, a bounded newest-first list of the
+ * posts written by the users they follow.
+ * <p>
+ * Fan-out on write: once a post is committed, its id is pushed (on the timeline executor) into the
+ * materialized timelines of the author's followers. Authors with at least {@code app.timeline.pull-threshold}
+ * followers are not fanned out; their posts are merged in when a timeline is read (fan-out on read).
+ * A timeline that is not in memory is rebuilt from the database on first read, and pages older than the
+ * retained window are read straight from the database.
+ */
+@Component
+public class FollowingTimeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowingTimeline.class);
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparing(TimelineEntry::createdAt, Comparator.reverseOrder())
+            .thenComparing(TimelineEntry::postId, Comparator.reverseOrder());
+
+    private final PostRepository postRepository;
+    private final UserFollowRepository userFollowRepository;
+    private final FollowGraphIndex followGraphIndex;
+    private final Cache<Long, Timeline> timelines;
+    // Authors seen with a follower count over the threshold. Only grows until restart: once an author's
+    // posts stop being pushed, followers must keep pulling them.
+    private final Set<Long> pulledAuthorIds = ConcurrentHashMap.newKeySet();
+    private final int maxEntries;
+    private final long pullThreshold;
+
+    @Autowired
+    public FollowingTimeline(PostRepository postRepository, UserFollowRepository userFollowRepository,
+                             FollowGraphIndex followGraphIndex,
+                             @Value("${app.timeline.max-users:10000}") long maxUsers,
+                             @Value("${app.timeline.max-entries:500}") int maxEntries,
+                             @Value("${app.timeline.idle-minutes:60}") long idleMinutes,
+                             @Value("${app.timeline.pull-threshold:1000}") long pullThreshold) {
+        this.postRepository = postRepository;
+        this.userFollowRepository = userFollowRepository;
+        this.followGraphIndex = followGraphIndex;
+        this.maxEntries = maxEntries;
+        this.pullThreshold = pullThreshold;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    /**
+     * Returns up to {@code limit} entries older than {@code after} (the newest ones when null), newest first.
+     * Entries may point to posts deleted since they were pushed; callers skip those when loading the posts.
+     */
+    public List<TimelineEntry> read(Long userId, KeysetCursor after, int limit) {
+        Timeline timeline = timelines.get(userId, this::build);
+        List<TimelineEntry> entries = timeline.range(after, limit);
+        if (entries == null) {
+            // Past the retained window
+            PageRequest page = PageRequest.of(0, limit);
+            return toEntries(after == null
+                    ? postRepository.findFollowingTimelineFirst(userId, page)
+                    : postRepository.findFollowingTimelineAfter(userId, after.getTimestamp(), after.getId(), page));
+        }
+        Set<Long> pulledFollowees = timeline.followeesAmong(pulledAuthorIds);
+        if (pulledFollowees.isEmpty()) {
+            return entries;
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        List<TimelineEntry> pulled = toEntries(after == null
+                ? postRepository.findTimelineEntriesByAuthorsFirst(pulledFollowees, page)
+                : postRepository.findTimelineEntriesByAuthorsAfter(pulledFollowees, after.getTimestamp(), after.getId(), page));
+        // Same (createdAt, postId) compares equal, so posts present in both lists are kept once
+        TreeSet<TimelineEntry> merged = new TreeSet<>(NEWEST_FIRST);
+        merged.addAll(entries);
+        merged.addAll(pulled);
+        return merged.stream().limit(limit).toList();
+    }
+
+    @Async("timelineExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostCreated(PostCreatedEvent event) {
+        Long authorId = event.authorId();
+        if (pulledAuthorIds.contains(authorId)) {
+            return;
+        }
+        long followerCount = followGraphIndex.isReady()
+                ? followGraphIndex.followerCount(authorId)
+                : userFollowRepository.countByIdFollowingId(authorId);
+        if (followerCount >= pullThreshold) {
+            pulledAuthorIds.add(authorId);
+            logger.info("Author {} is over the fan-out threshold; followers will pull their posts on read.", authorId);
+            return;
+        }
+        TimelineEntry entry = new TimelineEntry(event.postId(), event.createdAt().truncatedTo(ChronoUnit.MICROS), authorId);
+        int pushed = 0;
+        for (Long followerId : userFollowRepository.findFollowerIds(authorId)) {
+            // computeIfPresent waits for an in-flight rebuild of the same timeline instead of missing it
+            if (timelines.asMap().computeIfPresent(followerId, (id, timeline) -> timeline.push(entry)) != null) {
+                pushed++;
+            }
+        }
+        logger.debug("Post {} pushed into {} materialized timelines.", event.postId(), pushed);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollowChanged(UserFollowChangedEvent event) {
+        // Rebuilt lazily on the next read with the new set of followees
+        timelines.invalidate(event.followerId());
+    }
+
+    private Timeline build(Long userId) {
+        Set<Long> followingIds = new HashSet<>(userFollowRepository.findFollowingIds(userId));
+        List<TimelineEntry> entries = toEntries(
+                postRepository.findFollowingTimelineFirst(userId, PageRequest.of(0, maxEntries)));
+        return new Timeline(followingIds, entries, entries.size() < maxEntries, maxEntries);
+    }
+
+    private static List<TimelineEntry> toEntries(List<Object[]> rows) {
+        List<TimelineEntry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            entries.add(new TimelineEntry((Long) row[0], (LocalDateTime) row[1], (Long) row[2]));
+        }
+        return entries;
+    }
+
+    public record TimelineEntry(Long postId, LocalDateTime createdAt, Long authorId) {
+    }
+
+    private static final class Timeline {
+
+        private final Set<Long> followingIds;
+        private final TreeSet<TimelineEntry> entries = new TreeSet<>(NEWEST_FIRST);
+        private final int maxEntries;
+        // True while the timeline still holds every post of its followees (nothing trimmed yet)
+        private boolean complete;
+
+        Timeline(Set<Long> followingIds, List<TimelineEntry> initialEntries, boolean complete, int maxEntries) {
+            this.followingIds = followingIds;
+            this.entries.addAll(initialEntries);
+            this.complete = complete;
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized Timeline push(TimelineEntry entry) {
+            if (followingIds.contains(entry.authorId())) {
+                entries.add(entry);
+                if (entries.size() > maxEntries) {
+                    entries.pollLast();
+                    complete = false;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * @return the next {@code limit} entries after the cursor, or null if the retained window cannot fill the page
+         */
+        synchronized List<TimelineEntry> range(KeysetCursor after, int limit) {
+            SortedSet<TimelineEntry> older = after == null
+                    ? entries
+                    : entries.tailSet(new TimelineEntry(after.getId(), after.getTimestamp(), null), false);
+            List<TimelineEntry> result = new ArrayList<>(limit);
+            for (TimelineEntry entry : older) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(entry);
+            }
+            return result.size() < limit && !complete ? null : result;
+        }
+
+        Set<Long> followeesAmong(Set<Long> authorIds) {
+            Set<Long> result = new HashSet<>();
+            for (Long authorId : authorIds) {
+                if (followingIds.contains(authorId)) {
+                    result.add(authorId);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.PostRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Hot" ranking of college posts by time-decayed engagement.
+ * <p>
+ * Uses forward decay: an engagement of weight w at time t adds w * e^(lambda * t) to the post's score,
+ * with lambda derived from the configured half-life. Older contributions never need rescaling, because
+ * comparing two scores at any instant is the same as comparing them decayed to that instant. Scores are
+ * kept as natural logs so the exponent cannot overflow.
+ * <p>
+ * Scores are updated incrementally from post, like and comment events. A scheduled refresh publishes an
+ * immutable top-K list of post ids per college and drops posts that fell far below it, so serving a page
+ * is a sublist of that snapshot.
+ */
+@Component
+public class HotPostRanking {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotPostRanking.class);
+
+    // Fixed origin for the forward-decay exponent
+    private static final LocalDateTime LANDMARK = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final PostRepository postRepository;
+    private final Map<Long, HotScore> scores = new ConcurrentHashMap<>();
+    private volatile Map<Long, List<Long>> rankingsByCollege = Collections.emptyMap();
+
+    private final double lambda;
+    private final double postWeight;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final int topK;
+    private final int bootstrapDays;
+
+    @Autowired
+    public HotPostRanking(PostRepository postRepository,
+                          @Value("${app.posts.hot.half-life-hours:12}") double halfLifeHours,
+                          @Value("${app.posts.hot.post-weight:1.0}") double postWeight,
+                          @Value("${app.posts.hot.like-weight:1.0}") double likeWeight,
+                          @Value("${app.posts.hot.comment-weight:3.0}") double commentWeight,
+                          @Value("${app.posts.hot.top-k:500}") int topK,
+                          @Value("${app.posts.hot.bootstrap-days:7}") int bootstrapDays) {
+        this.postRepository = postRepository;
+        this.lambda = Math.log(2) / (halfLifeHours * 3600.0);
+        this.postWeight = postWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.topK = topK;
+        this.bootstrapDays = bootstrapDays;
+    }
+
+    /**
+     * Post ids of the college ordered by hotness, as of the last refresh (at most top-k entries).
+     */
+    public List<Long> rankedPostIds(Long collegeId) {
+        return rankingsByCollege.getOrDefault(collegeId, Collections.emptyList());
+    }
+
+    /**
+     * Seeds scores from the stored counters of recent posts. Engagement is credited at the post's
+     * creation time, since the individual like/comment timestamps are not needed for a first ranking.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        List<Object[]> rows = postRepository.findHotRankingSeed(LocalDateTime.now().minusDays(bootstrapDays));
+        for (Object[] row : rows) {
+            Long postId = (Long) row[0];
+            Long collegeId = (Long) row[1];
+            LocalDateTime createdAt = (LocalDateTime) row[2];
+            double weight = postWeight + likeWeight * (Long) row[3] + commentWeight * (Long) row[4];
+            add(postId, collegeId, weight, createdAt);
+        }
+        refresh();
+        logger.info("Hot ranking seeded with {} posts from the last {} days.", rows.size(), bootstrapDays);
+    }
+
+    @Scheduled(initialDelayString = "${app.posts.hot.refresh-ms:30000}", fixedDelayString = "${app.posts.hot.refresh-ms:30000}")
+    public void refresh() {
+        // Keep a margin below the published top-k so posts can climb back without being re-seeded
+        int retained = topK * 4;
+        Map<Long, PriorityQueue<Map.Entry<Long, HotScore>>> heaps = new HashMap<>();
+        for (Map.Entry<Long, HotScore> entry : scores.entrySet()) {
+            PriorityQueue<Map.Entry<Long, HotScore>> heap = heaps.computeIfAbsent(entry.getValue().collegeId(),
+                    id -> new PriorityQueue<>(Comparator.comparingDouble(e -> e.getValue().logScore())));
+            heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > retained) {
+                Map.Entry<Long, HotScore> dropped = heap.poll();
+                scores.remove(dropped.getKey(), dropped.getValue());
+            }
+        }
+
+        Map<Long, List<Long>> rankings = new HashMap<>();
+        for (Map.Entry<Long, PriorityQueue<Map.Entry<Long, HotScore>>> college : heaps.entrySet()) {
+            List<Map.Entry<Long, HotScore>> sorted = new ArrayList<>(college.getValue());
+            sorted.sort(Comparator.comparingDouble((Map.Entry<Long, HotScore> e) -> e.getValue().logScore()).reversed());
+            List<Long> ranked = new ArrayList<>(Math.min(topK, sorted.size()));
+            for (int i = 0; i < sorted.size() && i < topK; i++) {
+                ranked.add(sorted.get(i).getKey());
+            }
+            rankings.put(college.getKey(), Collections.unmodifiableList(ranked));
+        }
+        rankingsByCollege = Collections.unmodifiableMap(rankings);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostCreated(PostCreatedEvent event) {
+        add(event.postId(), event.collegeId(), postWeight, event.createdAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostDeleted(PostDeletedEvent event) {
+        scores.remove(event.postId());
+    }
+
+    /**
+     * Removed likes and comments are not subtracted: when the removed engagement happened is unknown,
+     * and its contribution decays away on its own.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEngagement(PostEngagementEvent event) {
+        if (event.delta() <= 0 || event.collegeId() == null) {
+            return;
+        }
+        double weight = (event.type() == PostEngagementEvent.Type.LIKE ? likeWeight : commentWeight) * event.delta();
+        HotScore contribution = new HotScore(event.collegeId(), Math.log(weight) + decayExponent(LocalDateTime.now()));
+        scores.merge(event.postId(), contribution, HotPostRanking::plus);
+    }
+
+    private void add(Long postId, Long collegeId, double weight, LocalDateTime at) {
+        if (collegeId == null || weight <= 0) {
+            return;
+        }
+        scores.merge(postId, new HotScore(collegeId, Math.log(weight) + decayExponent(at)), HotPostRanking::plus);
+    }
+
+    private double decayExponent(LocalDateTime at) {
+        return lambda * (at.toEpochSecond(ZoneOffset.UTC) - LANDMARK.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    // log(e^a + e^b) without leaving log space
+    private static HotScore plus(HotScore current, HotScore added) {
+        double a = current.logScore();
+        double b = added.logScore();
+        double max = Math.max(a, b);
+        return new HotScore(current.collegeId(), max + Math.log1p(Math.exp(Math.min(a, b) - max)));
+    }
+
+    private record HotScore(Long collegeId, double logScore) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.alumniassocaition1.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional write-behind buffer for like/unlike clicks ({@code app.posts.like-buffer.enabled}).
+ * <p>
+ * Each click records the user's latest intent for a (postId, userId) pair in one of several lock stripes,
+ * so a like followed by an unlike before the next flush leaves a single, usually no-op, intent. A scheduled
+ * flush drains the stripes and applies all intents in one transaction with batched INSERT ... ON CONFLICT DO
+ * NOTHING / DELETE statements, then moves the like counters by the number of rows actually changed.
+ * Likes for posts or users deleted in the meantime are dropped.
+ * <p>
+ * Pending and in-flight intents are visible through {@link #pendingIntent(Long, Long)}, which
+ * PostEngagementResolver uses so likedByCurrentUser reflects a click before it is flushed. An intent leaves
+ * that view only once its flush has committed, so a reader that checks it before querying post_likes never
+ * misses a click.
+ * Like counts only move at flush time.
+ */
+@Component
+public class LikeWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeWriteBuffer.class);
+
+    private static final String INSERT_LIKE_SQL =
+            "INSERT INTO post_likes (post_id, user_id, liked_at) SELECT ?, ?, now() " +
+            "WHERE EXISTS (SELECT 1 FROM posts WHERE post_id = ?) AND EXISTS (SELECT 1 FROM users WHERE user_id = ?) " +
+            "ON CONFLICT DO NOTHING";
+    private static final String DELETE_LIKE_SQL = "DELETE FROM post_likes WHERE post_id = ? AND user_id = ?";
+    private static final String ADJUST_COUNT_SQL =
+            "UPDATE posts SET like_count = like_count + ?, engagement_version = engagement_version + 1 WHERE post_id = ?";
+    private static final String COLLEGES_SQL = "SELECT post_id, college_id FROM posts WHERE post_id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Stripe[] stripes;
+    // Intents drained by the running flush; published before the first stripe is drained and still visible to
+    // readers until its transaction commits, so an intent is always either pending, in flight or committed
+    private volatile Map<LikeKey, Boolean> inFlight = Collections.emptyMap();
+
+    @Autowired
+    public LikeWriteBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.posts.like-buffer.enabled:false}") boolean enabled,
+                           @Value("${app.posts.like-buffer.stripes:16}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the user's latest like (true) or unlike (false) intent for the post.
+     */
+    public void record(Long postId, Long userId, boolean liked) {
+        LikeKey key = new LikeKey(postId, userId);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.intents.put(key, liked);
+        }
+    }
+
+    /**
+     * @return the buffered intent of the user for the post, or null when nothing is pending
+     */
+    public Boolean pendingIntent(Long postId, Long userId) {
+        LikeKey key = new LikeKey(postId, userId);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Boolean pending = stripe.intents.get(key);
+            if (pending != null) {
+                return pending;
+            }
+        }
+        return inFlight.get(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.posts.like-buffer.flush-ms:250}")
+    public synchronized void flush() {
+        Map<LikeKey, Boolean> batch = new ConcurrentHashMap<>();
+        inFlight = batch;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.intents.isEmpty()) {
+                    batch.putAll(stripe.intents);
+                    stripe.intents = new HashMap<>();
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            inFlight = Collections.emptyMap();
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+        } catch (RuntimeException e) {
+            logger.error("Flushing {} buffered like intents failed; they will be retried. Error: {}", batch.size(), e.getMessage());
+            requeue(batch);
+        } finally {
+            inFlight = Collections.emptyMap();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void apply(Map<LikeKey, Boolean> batch) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<LikeKey> insertKeys = new ArrayList<>();
+        List<LikeKey> deleteKeys = new ArrayList<>();
+        for (Map.Entry<LikeKey, Boolean> entry : batch.entrySet()) {
+            LikeKey key = entry.getKey();
+            if (entry.getValue()) {
+                inserts.add(new Object[] {key.postId(), key.userId(), key.postId(), key.userId()});
+                insertKeys.add(key);
+            } else {
+                deletes.add(new Object[] {key.postId(), key.userId()});
+                deleteKeys.add(key);
+            }
+        }
+
+        Map<Long, Long> deltas = new HashMap<>();
+        if (!inserts.isEmpty()) {
+            int[] inserted = jdbcTemplate.batchUpdate(INSERT_LIKE_SQL, inserts);
+            collectDeltas(insertKeys, inserted, 1, deltas);
+        }
+        if (!deletes.isEmpty()) {
+            int[] deleted = jdbcTemplate.batchUpdate(DELETE_LIKE_SQL, deletes);
+            collectDeltas(deleteKeys, deleted, -1, deltas);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Posts whose likes and unlikes cancel out still get a new engagement version (their liked flags changed)
+        List<Object[]> adjustments = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> adjustments.add(new Object[] {delta, postId}));
+        jdbcTemplate.batchUpdate(ADJUST_COUNT_SQL, adjustments);
+        // The colleges of all changed posts in one query, for the engagement events
+        Long[] changed = deltas.entrySet().stream().filter(entry -> entry.getValue() != 0).map(Map.Entry::getKey)
+                .toArray(Long[]::new);
+        if (changed.length > 0) {
+            jdbcTemplate.query(COLLEGES_SQL, (RowCallbackHandler) row -> {
+                long postId = row.getLong(1);
+                eventPublisher.publishEvent(new PostEngagementEvent(postId, row.getObject(2, Long.class),
+                        PostEngagementEvent.Type.LIKE, deltas.get(postId).intValue()));
+            }, (Object) changed);
+        }
+        logger.debug("Flushed {} like intents, {} posts changed.", batch.size(), deltas.size());
+    }
+
+    private static void collectDeltas(List<LikeKey> keys, int[] rowCounts, long sign, Map<Long, Long> deltas) {
+        for (int i = 0; i < keys.size(); i++) {
+            // Drivers may report SUCCESS_NO_INFO (-2) instead of a row count; only exact counts move counters
+            if (rowCounts[i] > 0) {
+                deltas.merge(keys.get(i).postId(), sign * rowCounts[i], Long::sum);
+            }
+        }
+    }
+
+    // Puts back intents that were not superseded by a newer click while the flush ran
+    private void requeue(Map<LikeKey, Boolean> batch) {
+        for (Map.Entry<LikeKey, Boolean> entry : batch.entrySet()) {
+            Stripe stripe = stripeFor(entry.getKey());
+            synchronized (stripe) {
+                stripe.intents.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private Stripe stripeFor(LikeKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private record LikeKey(Long postId, Long userId) {
+    }
+
+    private static final class Stripe {
+        private Map<LikeKey, Boolean> intents = new HashMap<>();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Counts per positive long id, keys and counts stored unboxed in parallel open-addressing tables (linear
+ * probing, 0 marks a free slot), laid out like {@link LongHashSet}. Counting into it allocates nothing per
+ * increment, unlike a HashMap of Long to Integer. Not thread-safe.
+ */
+final class LongHashCounter {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    LongHashCounter() {
+        keys = new long[MIN_CAPACITY];
+        counts = new int[MIN_CAPACITY];
+    }
+
+    void increment(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Ids must be positive: " + key);
+        }
+        int slot = find(key);
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot]++;
+        // Load factor of at most 3/4 keeps probe sequences short
+        if (size * 4L > keys.length * 3L) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    int get(long key) {
+        if (key <= 0) {
+            return 0;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? counts[slot] : 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The counted ids, in no particular order
+    long[] keys() {
+        long[] result = new long[size];
+        int i = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    // Slot holding key, or the free slot where it would be inserted
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // Same mixing as LongHashSet: sequential ids would otherwise form long probe runs
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
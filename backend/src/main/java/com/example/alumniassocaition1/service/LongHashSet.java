@@ -0,0 +1,160 @@
+package com.example.alumniassocaition1.service;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of positive long ids stored unboxed in one open-addressing table (linear probing, 0 marks a free slot).
+ * About 8 to 16 bytes per element against roughly 60 for a HashSet of Long. Not thread-safe.
+ */
+final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long OBJECT_BYTES = 24; // Header, table reference and size
+
+    private long[] table;
+    private int size;
+
+    LongHashSet() {
+        table = new long[MIN_CAPACITY];
+    }
+
+    boolean add(long value) {
+        checkKey(value);
+        int slot = find(value);
+        if (table[slot] == value) {
+            return false;
+        }
+        table[slot] = value;
+        size++;
+        // Load factor of at most 3/4 keeps probe sequences short
+        if (size * 4L > table.length * 3L) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    boolean remove(long value) {
+        checkKey(value);
+        int slot = find(value);
+        if (table[slot] != value) {
+            return false;
+        }
+        size--;
+        shiftBack(slot);
+        return true;
+    }
+
+    boolean contains(long value) {
+        return value > 0 && table[find(value)] == value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void forEach(LongConsumer action) {
+        for (long value : table) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    // Visits at most limit elements, in table order
+    void forEach(int limit, LongConsumer action) {
+        int visited = 0;
+        for (int i = 0; i < table.length && visited < limit; i++) {
+            if (table[i] != 0) {
+                action.accept(table[i]);
+                visited++;
+            }
+        }
+    }
+
+    long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        for (long value : table) {
+            if (value != 0) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    // Approximate heap size of this set, including its table
+    long estimatedBytes() {
+        return OBJECT_BYTES + ARRAY_HEADER_BYTES + 8L * table.length;
+    }
+
+    // Slot holding value, or the free slot where it would be inserted
+    private int find(long value) {
+        int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while (table[slot] != 0 && table[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion: moves later entries of the probe run into the hole so lookups never stop early
+    private void shiftBack(int hole) {
+        int mask = table.length - 1;
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long value = table[slot];
+            if (value == 0) {
+                break;
+            }
+            int home = mix(value) & mask;
+            // Move the entry if its home slot is not cyclically within (hole, slot]
+            boolean movable = hole <= slot ? (home <= hole || home > slot) : (home <= hole && home > slot);
+            if (movable) {
+                table[hole] = value;
+                hole = slot;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int slot = mix(value) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    // Sequential ids would otherwise fill neighbouring slots and form long probe runs
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkKey(long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Ids must be positive: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+}
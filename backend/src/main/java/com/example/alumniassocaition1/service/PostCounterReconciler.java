@@ -0,0 +1,109 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.CommentRepository;
+import com.example.alumniassocaition1.repository.PostLikeRepository;
+import com.example.alumniassocaition1.repository.PostRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job that recomputes Post.likeCount / Post.commentCount from the post_likes and comments
+ * tables and repairs any counter that has drifted (e.g. after manual data fixes).
+ * Posts are walked in id order, one short transaction per batch.
+ */
+@Component
+public class PostCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterReconciler.class);
+
+    private final PostRepository postRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.posts.counter-reconcile.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    public PostCounterReconciler(PostRepository postRepository, PostLikeRepository postLikeRepository,
+                                 CommentRepository commentRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.posts.counter-reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${app.posts.counter-reconcile.interval-ms:600000}")
+    public void reconcileAll() {
+        long afterId = 0L;
+        int scanned = 0;
+        int repaired = 0;
+        while (true) {
+            final long batchStart = afterId;
+            long[] batch = transactionTemplate.execute(status -> reconcileBatch(batchStart));
+            if (batch == null || batch[0] == 0) {
+                break;
+            }
+            scanned += (int) batch[0];
+            repaired += (int) batch[1];
+            afterId = batch[2];
+        }
+        if (repaired > 0) {
+            logger.warn("Post counter reconciliation repaired {} of {} posts.", repaired, scanned);
+        } else {
+            logger.debug("Post counter reconciliation checked {} posts, no drift found.", scanned);
+        }
+    }
+
+    /**
+     * @return {postsScanned, postsRepaired, lastPostId}
+     */
+    private long[] reconcileBatch(long afterId) {
+        List<Object[]> stored = postRepository.findCounterBatch(afterId, PageRequest.of(0, batchSize));
+        if (stored.isEmpty()) {
+            return new long[] {0, 0, afterId};
+        }
+        List<Long> postIds = new ArrayList<>(stored.size());
+        for (Object[] row : stored) {
+            postIds.add((Long) row[0]);
+        }
+        Map<Long, Long> actualLikes = toCountMap(postLikeRepository.countByPostIds(postIds));
+        Map<Long, Long> actualComments = toCountMap(commentRepository.countByPostIds(postIds));
+
+        long repaired = 0;
+        for (Object[] row : stored) {
+            Long postId = (Long) row[0];
+            long storedLikes = (Long) row[1];
+            long storedComments = (Long) row[2];
+            long likes = actualLikes.getOrDefault(postId, 0L);
+            long comments = actualComments.getOrDefault(postId, 0L);
+            if (likes != storedLikes || comments != storedComments) {
+                // A concurrent like/comment makes the compare-and-set miss; the next run picks the post up again
+                repaired += postRepository.replaceCounters(postId, storedLikes, storedComments, likes, comments);
+            }
+        }
+        return new long[] {stored.size(), repaired, postIds.get(postIds.size() - 1)};
+    }
+
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.alumniassocaition1.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by PostServiceImpl when a post is created. Listeners that need the post to be visible
+ * to other transactions should use {@code @TransactionalEventListener} (after commit).
+ */
+public record PostCreatedEvent(Long postId, Long authorId, Long collegeId, LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Published by PostServiceImpl when a post is deleted.
+ */
+public record PostDeletedEvent(Long postId, Long collegeId) {
+}
@@ -0,0 +1,13 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Published when a like or comment is added ({@code delta > 0}) or removed ({@code delta < 0}), with the college
+ * of the post, so listeners need not look it up.
+ */
+public record PostEngagementEvent(Long postId, Long collegeId, Type type, int delta) {
+
+    public enum Type {
+        LIKE,
+        COMMENT
+    }
+}
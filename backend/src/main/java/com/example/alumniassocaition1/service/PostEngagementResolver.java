@@ -0,0 +1,80 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.PostLikeRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the per-viewer part of post engagement (which posts the current user liked) for a whole
+ * page of posts in a single query. Like and comment counts are read from the denormalized
+ * counters on Post and need no lookup.
+ */
+@Component
+public class PostEngagementResolver {
+
+    private final PostLikeRepository postLikeRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+
+    @Autowired
+    public PostEngagementResolver(PostLikeRepository postLikeRepository, LikeWriteBuffer likeWriteBuffer) {
+        this.postLikeRepository = postLikeRepository;
+        this.likeWriteBuffer = likeWriteBuffer;
+    }
+
+    /**
+     * @param postIds       ids of the posts being rendered (may be empty)
+     * @param currentUserId id of the viewing user, or null for anonymous requests
+     */
+    public PostEngagement resolve(Collection<Long> postIds, Long currentUserId) {
+        if (postIds.isEmpty() || currentUserId == null) {
+            return PostEngagement.EMPTY;
+        }
+        // Unflushed clicks are read before the database: one that is flushed in between is already committed by
+        // the time the query runs, whereas reading them afterwards could miss a click committed between the two
+        Map<Long, Boolean> pending = new HashMap<>();
+        if (likeWriteBuffer.isEnabled()) {
+            for (Long postId : postIds) {
+                Boolean intent = likeWriteBuffer.pendingIntent(postId, currentUserId);
+                if (intent != null) {
+                    pending.put(postId, intent);
+                }
+            }
+        }
+        Set<Long> likedPostIds = new HashSet<>(postLikeRepository.findLikedPostIds(currentUserId, postIds));
+        // Clicks not flushed yet override what the database says
+        pending.forEach((postId, liked) -> {
+            if (liked) {
+                likedPostIds.add(postId);
+            } else {
+                likedPostIds.remove(postId);
+            }
+        });
+        return new PostEngagement(likedPostIds);
+    }
+
+    /**
+     * Viewer-specific engagement for one page of posts.
+     */
+    public static final class PostEngagement {
+
+        static final PostEngagement EMPTY = new PostEngagement(Collections.emptySet());
+
+        private final Set<Long> likedPostIds;
+
+        PostEngagement(Set<Long> likedPostIds) {
+            this.likedPostIds = likedPostIds;
+        }
+
+        public boolean isLiked(Long postId) {
+            return likedPostIds.contains(postId);
+        }
+    }
+}
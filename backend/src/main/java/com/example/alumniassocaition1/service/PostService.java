@@ -1,7 +1,9 @@
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.CursorPage;
 import com.example.alumniassocaition1.dto.post.PostCreateRequest; // For JSON endpoint
 import com.example.alumniassocaition1.dto.post.PostDto;
+import com.example.alumniassocaition1.dto.post.PostSearchHitDto;
 import com.example.alumniassocaition1.entity.Post; // If service methods take entity
 import com.example.alumniassocaition1.entity.User; // For current user context
 import com.example.alumniassocaition1.exception.FileStorageException;
@@ -9,11 +11,35 @@ import com.example.alumniassocaition1.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface PostService {
     Page<PostDto> getAllPosts(Pageable pageable);
+
+    /**
+     * ETag of the college feed page {@link #getAllPosts} would return, or null for pages not served from the feed
+     * cache. Reads no likes or comments.
+     */
+    String getFeedETag(Pageable pageable, boolean commentPreview);
+
+    // Keyset-paginated college feed; a blank cursor returns the first page
+    CursorPage<PostDto> getPostsByCursor(String cursor, int size);
+
+    // Posts by the users the current user follows, newest first, keyset-paginated
+    CursorPage<PostDto> getFollowingTimeline(String cursor, int size);
+
+    CursorPage<PostSearchHitDto> searchPosts(String query, String cursor, int size);
+
+    // College posts ordered by time-decayed engagement (see HotPostRanking)
+    Page<PostDto> getHotPosts(Pageable pageable);
+
+    // Live stream of post events for the current user's college (see PostStreamBroadcaster)
+    SseEmitter openCollegeStream();
     PostDto getPostById(Long postId) throws ResourceNotFoundException;
 
+    // ETags for conditional GETs, computed from version columns only (no DTOs, no like/comment lookups)
+    String getPostETag(Long postId) throws ResourceNotFoundException;
+
     // Method for when controller constructs the Post entity from individual parts
     PostDto createAndSavePost(Post post, User currentUser) throws FileStorageException;
 
@@ -1,7 +1,9 @@
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.CursorPage;
 import com.example.alumniassocaition1.dto.post.PostCreateRequest;
 import com.example.alumniassocaition1.dto.post.PostDto;
+import com.example.alumniassocaition1.dto.post.PostSearchHitDto;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.example.alumniassocaition1.entity.Post;
 import com.example.alumniassocaition1.entity.PostLike;
@@ -10,93 +12,319 @@ import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.entity.College;
 import com.example.alumniassocaition1.exception.FileStorageException;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException;
-import com.example.alumniassocaition1.repository.CommentRepository;
+import com.example.alumniassocaition1.mapper.PostMapper;
 import com.example.alumniassocaition1.repository.PostLikeRepository;
 import com.example.alumniassocaition1.repository.PostRepository;
+import com.example.alumniassocaition1.security.AuthenticatedUser;
+import com.example.alumniassocaition1.service.FeedPageCache.CachedFeedPage;
+import com.example.alumniassocaition1.service.FollowingTimeline.TimelineEntry;
+import com.example.alumniassocaition1.service.PostEngagementResolver.PostEngagement;
 import com.example.alumniassocaition1.service.UserService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostServiceImpl implements PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
 
     private final PostRepository postRepository;
     private final PostLikeRepository postLikeRepository;
-    private final CommentRepository commentRepository;
+    private final PostEngagementResolver postEngagementResolver;
+    private final FeedPageCache feedPageCache;
+    private final FeedVersions feedVersions;
+    private final FollowingTimeline followingTimeline;
+    private final HotPostRanking hotPostRanking;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostStreamBroadcaster postStreamBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
     private final FileStorageService fileStorageService;
     private final UserService userService;
 
     @Autowired
     public PostServiceImpl(PostRepository postRepository, PostLikeRepository postLikeRepository,
-                           CommentRepository commentRepository, FileStorageService fileStorageService,
-                           UserService userService) {
+                           PostEngagementResolver postEngagementResolver, FeedPageCache feedPageCache,
+                           FeedVersions feedVersions,
+                           FollowingTimeline followingTimeline, HotPostRanking hotPostRanking,
+                           LikeWriteBuffer likeWriteBuffer, PostStreamBroadcaster postStreamBroadcaster,
+                           ApplicationEventPublisher eventPublisher, FileStorageService fileStorageService, UserService userService) {
         this.postRepository = postRepository;
         this.postLikeRepository = postLikeRepository;
-        this.commentRepository = commentRepository;
+        this.postEngagementResolver = postEngagementResolver;
+        this.feedPageCache = feedPageCache;
+        this.feedVersions = feedVersions;
+        this.followingTimeline = followingTimeline;
+        this.hotPostRanking = hotPostRanking;
+        this.likeWriteBuffer = likeWriteBuffer;
+        this.postStreamBroadcaster = postStreamBroadcaster;
+        this.eventPublisher = eventPublisher;
         this.fileStorageService = fileStorageService;
         this.userService = userService;
     }
 
-    private User getCurrentAuthenticatedUser() {
+    // The signed-in user from their token claims, or null; read paths need no more than their id and college
+    private AuthenticatedUser getCurrentViewer() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
             return null;
         }
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        try {
-            return userService.findUserByEmail(userPrincipal.getUsername());
-        } catch (ResourceNotFoundException e) {
-            logger.warn("Authenticated user email not found in database: {}", userPrincipal.getUsername());
-            return null;
-        }
+        return userService.getCurrentPrincipal();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostDto> getAllPosts(Pageable pageable) {
-        User currentUser = getCurrentAuthenticatedUser();
-        Page<Post> postsPage;
-
-        if (currentUser != null && currentUser.getCollege() != null) {
-            logger.info("Fetching posts for college ID: {}", currentUser.getCollege().getCollegeId());
-            postsPage = postRepository.findByAuthorCollegeCollegeIdOrderByCreatedAtDesc(
-                    currentUser.getCollege().getCollegeId(),
-                    pageable
-            );
+        AuthenticatedUser viewer = getCurrentViewer();
+        Page<PostDto> postsPage;
+
+        if (viewer != null && viewer.getCollegeId() != null) {
+            Long collegeId = viewer.getCollegeId();
+            if (feedPageCache.isCacheable(pageable)) {
+                CachedFeedPage sharedPage = feedPageCache.get(collegeId, pageable, () -> loadSharedFeedPage(collegeId, pageable));
+                return overlayLikedFlags(sharedPage, pageable, viewer);
+            }
+            logger.info("Fetching posts for college ID: {}", collegeId);
+            postsPage = postRepository.findFeedPageDtos(collegeId, pageable);
         } else {
             logger.info("Current user or user's college is null. Fetching all posts globally (requires permitAll on endpoint).");
-            postsPage = postRepository.findAll(pageable);
+            postsPage = postRepository.findAllPageDtos(pageable);
+        }
+
+        // The current user's liked flags for the whole page in one query; counts come from the Post row
+        applyEngagement(postsPage.getContent(), viewer);
+        return postsPage;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getFeedETag(Pageable pageable, boolean commentPreview) {
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null || viewer.getCollegeId() == null || !feedPageCache.isCacheable(pageable)) {
+            return null;
+        }
+        Long collegeId = viewer.getCollegeId();
+        CachedFeedPage sharedPage = feedPageCache.get(collegeId, pageable, () -> loadSharedFeedPage(collegeId, pageable));
+        // The shared page's version, plus what the viewer adds to it: their liked flags and the comment previews
+        return ResourceETags.of("feed", collegeId, pageable, sharedPage.version(), viewer.getUserId(),
+                feedVersions.ofViewerLikes(viewer.getUserId()),
+                commentPreview ? feedVersions.ofCollegeComments(collegeId) : null);
+    }
+
+    // Viewer-independent page content for FeedPageCache: every likedByCurrentUser flag is false. The versions are
+    // read before the posts, so the page's version is never newer than its content.
+    private CachedFeedPage loadSharedFeedPage(Long collegeId, Pageable pageable) {
+        logger.info("Loading feed page {} for college ID: {} into the feed cache", pageable.getPageNumber(), collegeId);
+        Page<Object[]> versions = postRepository.findFeedPageVersions(collegeId, pageable);
+        List<Long> postIds = versions.getContent().stream().map(row -> (Long) row[0]).toList();
+        String version = ResourceETags.of(versions.getTotalElements(),
+                versions.getContent().stream().map(Arrays::toString).collect(Collectors.joining(",")));
+        return new CachedFeedPage(findPostsInOrder(postIds), versions.getTotalElements(), version);
+    }
+
+    private Page<PostDto> overlayLikedFlags(CachedFeedPage sharedPage, Pageable pageable, AuthenticatedUser viewer) {
+        List<Long> postIds = sharedPage.posts().stream().map(PostDto::getId).toList();
+        PostEngagement engagement = postEngagementResolver.resolve(postIds, viewer.getUserId());
+        List<PostDto> content = sharedPage.posts().stream()
+                .map(shared -> copyWithLikedFlag(shared, engagement.isLiked(shared.getId())))
+                .toList();
+        return new PageImpl<>(content, pageable, sharedPage.totalElements());
+    }
+
+    // Cached DTOs are shared between viewers, so the per-user flag is applied to a copy
+    private static PostDto copyWithLikedFlag(PostDto shared, boolean liked) {
+        PostDto dto = new PostDto();
+        dto.setId(shared.getId());
+        dto.setContent(shared.getContent());
+        dto.setImageUrl(shared.getImageUrl());
+        dto.setAuthor(shared.getAuthor());
+        dto.setCreatedAt(shared.getCreatedAt());
+        dto.setLikesCount(shared.getLikesCount());
+        dto.setCommentsCount(shared.getCommentsCount());
+        dto.setLikedByCurrentUser(liked);
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getPostsByCursor(String cursor, int size) {
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null || viewer.getCollegeId() == null) {
+            logger.info("Cursor feed requested without a college context. Returning an empty page.");
+            return new CursorPage<>(Collections.emptyList(), null, false);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Long collegeId = viewer.getCollegeId();
+
+        // Fetch one extra row to learn whether another page exists without counting
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<PostDto> posts = after == null
+                ? postRepository.findFeedFirstPage(collegeId, limit)
+                : postRepository.findFeedPageAfter(collegeId, after.getTimestamp(), after.getId(), limit);
+
+        boolean hasMore = posts.size() > pageSize;
+        List<PostDto> items = hasMore ? posts.subList(0, pageSize) : posts;
+        applyEngagement(items, viewer);
+
+        String nextCursor = null;
+        if (hasMore) {
+            PostDto last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostSearchHitDto> searchPosts(String query, String cursor, int size) {
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("Search query must not be blank.");
         }
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null || viewer.getCollegeId() == null) {
+            return new CursorPage<>(Collections.emptyList(), null, false);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        SearchRankCursor after = SearchRankCursor.decode(cursor);
+        Long collegeId = viewer.getCollegeId();
+
+        // Ranked by ts_rank over the GIN-indexed search_vector columns; one extra row tells whether there is more
+        List<Object[]> rows = after == null
+                ? postRepository.searchTextFirst(collegeId, query.trim(), pageSize + 1)
+                : postRepository.searchTextAfter(collegeId, query.trim(), after.getRank(), after.getType(),
+                        after.getId(), pageSize + 1);
 
-        final User finalCurrentUser = currentUser;
-        return postsPage.map(post -> mapPostToDto(post, finalCurrentUser));
+        boolean hasMore = rows.size() > pageSize;
+        List<PostSearchHitDto> items = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (Object[] row : hasMore ? rows.subList(0, pageSize) : rows) {
+            items.add(new PostSearchHitDto((String) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                    (String) row[7], ((Number) row[5]).longValue(), (String) row[6],
+                    row[4] == null ? null : ((Timestamp) row[4]).toLocalDateTime(), ((Number) row[3]).floatValue()));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            PostSearchHitDto last = items.get(items.size() - 1);
+            nextCursor = new SearchRankCursor(last.getRank(), last.getType(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getFollowingTimeline(String cursor, int size) {
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null) {
+            return new CursorPage<>(Collections.emptyList(), null, false);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<TimelineEntry> entries = followingTimeline.read(viewer.getUserId(), after, pageSize + 1);
+        boolean hasMore = entries.size() > pageSize;
+        List<TimelineEntry> pageEntries = hasMore ? entries.subList(0, pageSize) : entries;
+
+        // Posts deleted after being pushed into the timeline are skipped
+        List<PostDto> items = loadPostsInOrder(pageEntries.stream().map(TimelineEntry::postId).toList(), viewer);
+
+        String nextCursor = null;
+        if (hasMore) {
+            TimelineEntry last = pageEntries.get(pageEntries.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.postId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PostDto> getHotPosts(Pageable pageable) {
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null || viewer.getCollegeId() == null) {
+            return Page.empty(pageable);
+        }
+        List<Long> ranked = hotPostRanking.rankedPostIds(viewer.getCollegeId());
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        // Posts deleted since the last ranking refresh are skipped
+        List<PostDto> content = loadPostsInOrder(ranked.subList(from, to), viewer);
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    private List<PostDto> loadPostsInOrder(List<Long> postIds, AuthenticatedUser viewer) {
+        List<PostDto> posts = findPostsInOrder(postIds);
+        applyEngagement(posts, viewer);
+        return posts;
+    }
+
+    // Without the viewer's liked flags; posts deleted meanwhile are skipped
+    private List<PostDto> findPostsInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, PostDto> postsById = postRepository.findDtosByPostIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostDto::getId, Function.identity()));
+        return postIds.stream().map(postsById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public SseEmitter openCollegeStream() {
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null) throw new AccessDeniedException("Authentication required to open the feed stream.");
+        if (viewer.getCollegeId() == null) throw new IllegalArgumentException("User is not associated with a college.");
+        return postStreamBroadcaster.subscribe(viewer.getCollegeId());
     }
 
     @Override
     @Transactional(readOnly = true)
     public PostDto getPostById(Long postId) throws ResourceNotFoundException{
-        User currentUser = getCurrentAuthenticatedUser();
-        Post post = postRepository.findById(postId)
+        AuthenticatedUser viewer = getCurrentViewer();
+        PostDto post = postRepository.findDtoById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
-        return mapPostToDto(post, currentUser);
+        applyEngagement(List.of(post), viewer);
+        return post;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getPostETag(Long postId) throws ResourceNotFoundException {
+        AuthenticatedUser viewer = getCurrentViewer();
+        Long viewerId = viewer != null ? viewer.getUserId() : null;
+        List<Object[]> rows = postRepository.findVersionById(postId);
+        if (rows.isEmpty()) throw new ResourceNotFoundException("Post", "id", postId);
+        Object[] version = rows.get(0);
+        // The viewer's liked flag is covered by the engagement version, plus any like still in the write buffer
+        return ResourceETags.of("post", postId, version[0], version[1], version[2],
+                viewerId, pendingLike(postId, viewerId));
+    }
+
+    private Boolean pendingLike(Long postId, Long viewerId) {
+        return viewerId != null ? likeWriteBuffer.pendingIntent(postId, viewerId) : null;
     }
 
     @Override
@@ -114,8 +342,10 @@ public class PostServiceImpl implements PostService {
             throw new IllegalArgumentException("Post must have content or an image.");
         }
         Post savedPost = postRepository.save(post);
+        feedPageCache.evictCollege(savedPost.getCollege().getCollegeId());
+        publishPostCreated(savedPost);
         logger.info("Post saved with ID: {}, Author ID: {}, College ID: {}", savedPost.getPostId(), savedPost.getAuthor().getUserId(), savedPost.getCollege() != null ? savedPost.getCollege().getCollegeId() : "N/A");
-        return mapPostToDto(savedPost, currentUser);
+        return mapPostToDto(savedPost, resolveEngagement(List.of(savedPost), currentUser));
     }
 
     @Override
@@ -132,7 +362,9 @@ public class PostServiceImpl implements PostService {
         post.setAuthor(currentUser);
         post.setCollege(currentUser.getCollege());
         Post savedPost = postRepository.save(post);
-        return mapPostToDto(savedPost, currentUser);
+        feedPageCache.evictCollege(savedPost.getCollege().getCollegeId());
+        publishPostCreated(savedPost);
+        return mapPostToDto(savedPost, resolveEngagement(List.of(savedPost), currentUser));
     }
 
     @Override
@@ -158,7 +390,9 @@ public class PostServiceImpl implements PostService {
             throw new IllegalArgumentException("Post update would result in no content and no image.");
         }
         Post updatedPost = postRepository.save(post);
-        return mapPostToDto(updatedPost, currentUser);
+        feedPageCache.evictCollege(updatedPost.getCollege().getCollegeId());
+        eventPublisher.publishEvent(new PostUpdatedEvent(updatedPost.getPostId(), updatedPost.getCollege().getCollegeId()));
+        return mapPostToDto(updatedPost, resolveEngagement(List.of(updatedPost), currentUser));
     }
 
     @Override
@@ -173,21 +407,26 @@ public class PostServiceImpl implements PostService {
         }
         post.setContent(updateRequestDto.getContent());
         Post updatedPost = postRepository.save(post);
-        return mapPostToDto(updatedPost, currentUser);
+        feedPageCache.evictCollege(updatedPost.getCollege().getCollegeId());
+        eventPublisher.publishEvent(new PostUpdatedEvent(updatedPost.getPostId(), updatedPost.getCollege().getCollegeId()));
+        return mapPostToDto(updatedPost, resolveEngagement(List.of(updatedPost), currentUser));
     }
 
     @Override
     @Transactional
     public void deletePost(Long postId) throws ResourceNotFoundException{
-        User currentUser = getCurrentAuthenticatedUser();
-        if (currentUser == null) throw new AccessDeniedException("Authentication required to delete posts.");
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null) throw new AccessDeniedException("Authentication required to delete posts.");
         Post post = postRepository.findById(postId).orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
-        boolean isAdminOfSameCollege = "admin".equalsIgnoreCase(currentUser.getRole()) && currentUser.getCollege() != null && post.getCollege() != null && currentUser.getCollege().getCollegeId().equals(post.getCollege().getCollegeId());
-        if (!(post.getAuthor().getUserId().equals(currentUser.getUserId()) || isAdminOfSameCollege)) {
+        boolean isAdminOfSameCollege = "admin".equalsIgnoreCase(viewer.getRole()) && viewer.getCollegeId() != null && post.getCollege() != null && viewer.getCollegeId().equals(post.getCollege().getCollegeId());
+        if (!(post.getAuthor().getUserId().equals(viewer.getUserId()) || isAdminOfSameCollege)) {
             throw new AccessDeniedException("User does not have permission to delete this post.");
         }
         String imageUrl = post.getImageUrl();
+        Long collegeId = post.getCollege() != null ? post.getCollege().getCollegeId() : null;
         postRepository.delete(post);
+        feedPageCache.evictCollege(collegeId);
+        eventPublisher.publishEvent(new PostDeletedEvent(postId, collegeId));
         logger.info("Deleted post with ID: {}", postId);
         if (StringUtils.hasText(imageUrl)) {
             try { String fileName = imageUrl.substring(imageUrl.lastIndexOf("/") + 1); if(!fileName.isEmpty()) fileStorageService.deleteFile(fileName); }
@@ -198,60 +437,67 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public void likePost(Long postId) throws ResourceNotFoundException{
-        User currentUser = getCurrentAuthenticatedUser();
-        if (currentUser == null) throw new AccessDeniedException("Authentication required to like posts.");
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null) throw new AccessDeniedException("Authentication required to like posts.");
+        if (likeWriteBuffer.isEnabled()) {
+            // Buffered mode: no post or user lookup here; likes of missing posts are dropped at flush time
+            likeWriteBuffer.record(postId, viewer.getUserId(), true);
+            feedVersions.viewerLikesChanged(viewer.getUserId());
+            return;
+        }
         Post post = postRepository.findById(postId).orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
-        PostLikeId likeId = new PostLikeId(post.getPostId(), currentUser.getUserId());
+        PostLikeId likeId = new PostLikeId(post.getPostId(), viewer.getUserId());
         if (postLikeRepository.existsById(likeId)) { return; }
         PostLike postLike = new PostLike();
         postLike.setId(likeId);
         postLike.setPost(post);
-        postLike.setUser(currentUser);
+        postLike.setUser(userService.findUserById(viewer.getUserId()));
         postLikeRepository.save(postLike);
+        postRepository.adjustLikeCount(post.getPostId(), 1);
+        feedVersions.viewerLikesChanged(viewer.getUserId());
+        eventPublisher.publishEvent(new PostEngagementEvent(post.getPostId(), post.getCollege().getCollegeId(),
+                PostEngagementEvent.Type.LIKE, 1));
     }
 
     @Override
     @Transactional
     public void unlikePost(Long postId) throws ResourceNotFoundException {
-        User currentUser = getCurrentAuthenticatedUser();
-        if (currentUser == null) throw new AccessDeniedException("Authentication required to unlike posts.");
-        if (!postRepository.existsById(postId)) throw new ResourceNotFoundException("Post", "id", postId);
-        PostLikeId likeId = new PostLikeId(postId, currentUser.getUserId());
-        if (!postLikeRepository.existsById(likeId)) { return; }
-        postLikeRepository.deleteById(likeId);
+        AuthenticatedUser viewer = getCurrentViewer();
+        if (viewer == null) throw new AccessDeniedException("Authentication required to unlike posts.");
+        if (likeWriteBuffer.isEnabled()) {
+            likeWriteBuffer.record(postId, viewer.getUserId(), false);
+            feedVersions.viewerLikesChanged(viewer.getUserId());
+            return;
+        }
+        Long collegeId = postRepository.findCollegeIdById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+        // Only decrement when a like row was actually removed, so repeated unlikes cannot drive the counter down
+        if (postLikeRepository.deleteLike(postId, viewer.getUserId()) > 0) {
+            postRepository.adjustLikeCount(postId, -1);
+            feedVersions.viewerLikesChanged(viewer.getUserId());
+            eventPublisher.publishEvent(new PostEngagementEvent(postId, collegeId, PostEngagementEvent.Type.LIKE, -1));
+        }
     }
 
-    private PostDto mapPostToDto(Post post, User currentUser) {
-        PostDto dto = new PostDto();
-        dto.setId(post.getPostId());
-        dto.setContent(post.getContent());
-        dto.setImageUrl(post.getImageUrl());
-        dto.setCreatedAt(post.getCreatedAt());
-
-        if (post.getAuthor() != null) {
-            UserSummaryDto authorDto = new UserSummaryDto();
-            authorDto.setId(post.getAuthor().getUserId());
-            // Ensure name is being set, and that post.getAuthor().getName() is not null
-            authorDto.setName(post.getAuthor().getName() != null ? post.getAuthor().getName() : "Unknown Author");
-            authorDto.setEmail(post.getAuthor().getEmail());
-            authorDto.setRole(post.getAuthor().getRole());
-            dto.setAuthor(authorDto);
-            logger.debug("Mapping post {}: Author ID {}, Name '{}'", post.getPostId(), authorDto.getId(), authorDto.getName());
-        } else {
-            UserSummaryDto unknownAuthorDto = new UserSummaryDto();
-            unknownAuthorDto.setName("Unknown User"); // Default if author is somehow null
-            dto.setAuthor(unknownAuthorDto);
-            logger.warn("Post with ID {} has a NULL author relationship in mapPostToDto.", post.getPostId());
-        }
+    private void publishPostCreated(Post post) {
+        eventPublisher.publishEvent(new PostCreatedEvent(post.getPostId(), post.getAuthor().getUserId(),
+                post.getCollege().getCollegeId(), post.getCreatedAt()));
+    }
 
-        dto.setLikesCount(postLikeRepository.countByIdPostId(post.getPostId()));
-        dto.setCommentsCount(commentRepository.countByPostPostId(post.getPostId()));
+    private PostEngagement resolveEngagement(List<Post> posts, User currentUser) {
+        List<Long> postIds = posts.stream().map(Post::getPostId).toList();
+        return postEngagementResolver.resolve(postIds, currentUser != null ? currentUser.getUserId() : null);
+    }
 
-        if (currentUser != null && post.getPostId() != null && currentUser.getUserId() != null) {
-            dto.setLikedByCurrentUser(postLikeRepository.existsByIdPostIdAndIdUserId(post.getPostId(), currentUser.getUserId()));
-        } else {
-            dto.setLikedByCurrentUser(false);
+    private void applyEngagement(List<PostDto> posts, AuthenticatedUser viewer) {
+        List<Long> postIds = posts.stream().map(PostDto::getId).toList();
+        PostEngagement engagement = postEngagementResolver.resolve(postIds, viewer != null ? viewer.getUserId() : null);
+        for (PostDto post : posts) {
+            post.setLikedByCurrentUser(engagement.isLiked(post.getId()));
         }
-        return dto;
+    }
+
+    private PostDto mapPostToDto(Post post, PostEngagement engagement) {
+        return PostMapper.toDto(post, engagement.isLiked(post.getPostId()));
     }
 }
@@ -0,0 +1,154 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.post.PostStreamEvent;
+import com.example.alumniassocaition1.repository.PostRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-college fan-out of live feed events to Server-Sent Events subscribers.
+ * <p>
+ * Subscribers are async SseEmitters, so no servlet thread is held while a stream is open. Events are
+ * taken from the post events after commit and written on the stream executor, never on the request
+ * thread that made the change. Like counts are coalesced and sent by a periodic flush, so a burst of
+ * likes costs one query rather than one per like. A periodic heartbeat keeps idle connections open and
+ * weeds out clients that went away.
+ */
+@Component
+public class PostStreamBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostStreamBroadcaster.class);
+
+    private final PostRepository postRepository;
+    private final Map<Long, Set<SseEmitter>> subscribersByCollege = new ConcurrentHashMap<>();
+    // postId -> collegeId of the posts whose like count changed since the last flush, in watched colleges
+    private final Map<Long, Long> likedPosts = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    @Autowired
+    public PostStreamBroadcaster(PostRepository postRepository,
+                                 @Value("${app.posts.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.postRepository = postRepository;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(Long collegeId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // compute() rather than computeIfAbsent().add(), so a concurrent unsubscribe cannot drop the new set
+        subscribersByCollege.compute(collegeId, (id, emitters) -> {
+            Set<SseEmitter> result = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            result.add(emitter);
+            return result;
+        });
+        emitter.onCompletion(() -> unsubscribe(collegeId, emitter));
+        emitter.onTimeout(() -> {
+            unsubscribe(collegeId, emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(collegeId, emitter));
+        logger.debug("New feed stream subscriber for college ID: {}", collegeId);
+        return emitter;
+    }
+
+    @Async("streamExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostCreated(PostCreatedEvent event) {
+        broadcast(event.collegeId(), new PostStreamEvent(PostStreamEvent.POST_CREATED, event.postId(), null));
+    }
+
+    @Async("streamExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        broadcast(event.collegeId(), new PostStreamEvent(PostStreamEvent.POST_UPDATED, event.postId(), null));
+    }
+
+    @Async("streamExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostDeleted(PostDeletedEvent event) {
+        broadcast(event.collegeId(), new PostStreamEvent(PostStreamEvent.POST_DELETED, event.postId(), null));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEngagement(PostEngagementEvent event) {
+        if (event.type() == PostEngagementEvent.Type.LIKE && event.collegeId() != null
+                && subscribersByCollege.containsKey(event.collegeId())) {
+            likedPosts.put(event.postId(), event.collegeId());
+        }
+    }
+
+    // The committed like counts of every post liked or unliked since the last run, read in one query; a post
+    // liked many times in between is sent once
+    @Scheduled(fixedDelayString = "${app.posts.stream.likes-flush-ms:500}")
+    public void flushLikeCounts() {
+        if (likedPosts.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> batch = new HashMap<>();
+        for (Long postId : List.copyOf(likedPosts.keySet())) {
+            Long collegeId = likedPosts.remove(postId);
+            if (collegeId != null) {
+                batch.put(postId, collegeId);
+            }
+        }
+        for (Object[] row : postRepository.findLikeCounts(batch.keySet())) {
+            Long postId = (Long) row[0];
+            broadcast(batch.get(postId), new PostStreamEvent(PostStreamEvent.POST_LIKES, postId, (Long) row[1]));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.posts.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribersByCollege.forEach((collegeId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(collegeId, emitter, SseEmitter.event().comment("keepalive"));
+            }
+        });
+    }
+
+    private void broadcast(Long collegeId, PostStreamEvent event) {
+        if (collegeId == null) {
+            return;
+        }
+        Set<SseEmitter> emitters = subscribersByCollege.get(collegeId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(collegeId, emitter, SseEmitter.event().name(event.getType()).data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void send(Long collegeId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            unsubscribe(collegeId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(Long collegeId, SseEmitter emitter) {
+        subscribersByCollege.computeIfPresent(collegeId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Published by PostServiceImpl when a post's content or image is edited.
+ */
+public record PostUpdatedEvent(Long postId, Long collegeId) {
+}
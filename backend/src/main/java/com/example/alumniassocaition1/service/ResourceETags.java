@@ -0,0 +1,26 @@
+package com.example.alumniassocaition1.service;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds ETags from the version columns a response is derived from (timestamps, counters, viewer id),
+ * so a conditional GET can be answered before the response body is built.
+ * <p>
+ * The tags are weak: equal versions always produce the same content, but not necessarily the same bytes
+ * once serialized and compressed.
+ */
+public final class ResourceETags {
+
+    private ResourceETags() {
+    }
+
+    public static String of(Object... versionParts) {
+        StringBuilder versions = new StringBuilder();
+        for (Object part : versionParts) {
+            versions.append(part).append('|');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.alumniassocaition1.service;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor over a (rank, type, id) sort key, used for keyset pagination of ranked search results.
+ * The rank is kept as the exact float the database returned, so the next page starts right after it;
+ * type and id break ties between equally ranked rows of different tables.
+ */
+public final class SearchRankCursor {
+
+    private final float rank;
+    private final String type;
+    private final Long id;
+
+    public SearchRankCursor(float rank, String type, Long id) {
+        this.rank = rank;
+        this.type = type;
+        this.id = id;
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = rank + "|" + type + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a blank cursor (first page)
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static SearchRankCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor.");
+            }
+            return new SearchRankCursor(Float.parseFloat(parts[0]), parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) { // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Malformed cursor.", e);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 // --- File: com/example/alumniassocaition1/service/SearchService.java ---
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.search.FederatedSearchResponse;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.dto.user.UserTypeaheadDto;
 import java.util.List;
 
 public interface SearchService {
-    List<UserSummaryDto> searchUsersInMyCollege(String searchTerm);
+    List<UserSummaryDto> searchUsersInMyCollege(String searchTerm, int limit);
+
+    List<UserTypeaheadDto> autocompleteUsersInMyCollege(String prefix, int limit);
+
+    FederatedSearchResponse searchEverything(String query, int limit);
 }
\ No newline at end of file
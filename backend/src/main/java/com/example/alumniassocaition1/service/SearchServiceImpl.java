@@ -1,24 +1,52 @@
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.EventDto;
+import com.example.alumniassocaition1.dto.post.PostDto;
+import com.example.alumniassocaition1.dto.search.FederatedSearchResponse;
+import com.example.alumniassocaition1.dto.search.SearchHitDto;
+import com.example.alumniassocaition1.dto.search.SearchSectionDto;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
-import com.example.alumniassocaition1.entity.User;
+import com.example.alumniassocaition1.dto.user.UserTypeaheadDto;
 import com.example.alumniassocaition1.entity.College; // Not strictly needed here if college comes via User
 import com.example.alumniassocaition1.exception.ResourceNotFoundException; // Should not be thrown from here directly
+import com.example.alumniassocaition1.repository.EventRepository;
+import com.example.alumniassocaition1.repository.PostRepository;
 import com.example.alumniassocaition1.repository.UserRepository;
+import com.example.alumniassocaition1.security.AuthenticatedUser;
 // UserService import is correct
 // import com.example.alumniassocaition1.service.UserService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException; // Can be thrown if user has no college
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 // Unused import: import java.util.stream.Stream;
 
@@ -26,65 +54,304 @@ import java.util.stream.Collectors;
 public class SearchServiceImpl implements SearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+    private static final int MAX_RESULTS = 50;
+    private static final int SNIPPET_LENGTH = 100;
 
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final EventRepository eventRepository;
     private final UserService userService; // To get the current authenticated user
+    private final UserSearchIndex userSearchIndex;
+    private final UserTypeahead userTypeahead;
+    private final Executor searchExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    private final long usersTimeoutMs;
+    private final long postsTimeoutMs;
+    private final long eventsTimeoutMs;
+    private final int candidates;
 
     @Autowired
-    public SearchServiceImpl(UserRepository userRepository, UserService userService) {
+    public SearchServiceImpl(UserRepository userRepository, PostRepository postRepository,
+                             EventRepository eventRepository, UserService userService,
+                             UserSearchIndex userSearchIndex, UserTypeahead userTypeahead,
+                             @Qualifier("searchExecutor") Executor searchExecutor,
+                             PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+                             @Value("${app.search.federated.users-timeout-ms:150}") long usersTimeoutMs,
+                             @Value("${app.search.federated.posts-timeout-ms:400}") long postsTimeoutMs,
+                             @Value("${app.search.federated.events-timeout-ms:400}") long eventsTimeoutMs,
+                             @Value("${app.search.federated.candidates:100}") int candidates) {
         this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.eventRepository = eventRepository;
         this.userService = userService;
+        this.userSearchIndex = userSearchIndex;
+        this.userTypeahead = userTypeahead;
+        this.searchExecutor = searchExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jdbcTemplate = jdbcTemplate;
+        this.usersTimeoutMs = usersTimeoutMs;
+        this.postsTimeoutMs = postsTimeoutMs;
+        this.eventsTimeoutMs = eventsTimeoutMs;
+        this.candidates = candidates;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserSummaryDto> searchUsersInMyCollege(String searchTerm) {
+    public List<UserSummaryDto> searchUsersInMyCollege(String searchTerm, int limit) {
         // Corrected line: Call the public interface method
-        User currentUser = userService.getCurrentAuthenticatedUserEntity();
+        AuthenticatedUser currentUser = userService.getCurrentPrincipal();
 
-        if (currentUser.getCollege() == null) {
+        if (currentUser.getCollegeId() == null) {
             logger.warn("User {} (ID: {}) attempted to search but is not associated with a college.",
-                    currentUser.getName(), currentUser.getUserId());
+                    currentUser.getUsername(), currentUser.getUserId());
             // Depending on requirements, either return empty list or throw an exception
             // For a search, returning an empty list is often acceptable.
             return List.of();
             // Or: throw new IllegalStateException("User is not associated with a college and cannot perform college-scoped search.");
         }
 
-        Long collegeId = currentUser.getCollege().getCollegeId();
+        Long collegeId = currentUser.getCollegeId();
         logger.info("Searching for users with term '{}' in college ID: {}", searchTerm, collegeId);
 
-        // Fetch users by name and by email, then combine and make distinct
-        List<User> usersByName = userRepository.findByCollegeCollegeIdAndNameContainingIgnoreCase(collegeId, searchTerm);
-        List<User> usersByEmail = userRepository.findByCollegeCollegeIdAndEmailContainingIgnoreCase(collegeId, searchTerm);
-
-        // Combine and ensure uniqueness (e.g., if name and email match the same user)
-        // Also, filter out the current user from the search results.
-        Set<User> combinedResults = new HashSet<>();
-        usersByName.stream()
-                .filter(user -> !user.getUserId().equals(currentUser.getUserId()))
-                .forEach(combinedResults::add);
-        usersByEmail.stream()
-                .filter(user -> !user.getUserId().equals(currentUser.getUserId()))
-                .forEach(combinedResults::add);
-
-
-        return combinedResults.stream()
-                // .filter(user -> !user.getUserId().equals(currentUser.getUserId())) // Already filtered above
-                .map(this::mapUserToSummaryDto)
-                .collect(Collectors.toList());
-    }
-
-    private UserSummaryDto mapUserToSummaryDto(User user) {
-        UserSummaryDto dto = new UserSummaryDto();
-        // BeanUtils.copyProperties(user, dto); // This can be used if fields match exactly
-        // Explicit mapping for clarity and to ensure correct fields from UserSummaryDto are populated
-        dto.setId(user.getUserId());
-        dto.setName(user.getName());
-        dto.setEmail(user.getEmail());
-        dto.setRole(user.getRole());
-        dto.setStatus(user.getStatus());
-        // Add other fields to UserSummaryDto if needed for search results display
-        return dto;
+        int resultLimit = Math.max(1, Math.min(limit, MAX_RESULTS));
+        // Ranked from the in-memory trigram index; the database is only asked for colleges it does not hold
+        return userSearchIndex.search(collegeId, searchTerm, currentUser.getUserId(), resultLimit)
+                .orElseGet(() -> userRepository.searchSummariesInCollege(collegeId,
+                        likePattern(searchTerm.trim().toLowerCase(Locale.ROOT)),
+                        currentUser.getUserId(), PageRequest.of(0, resultLimit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserTypeaheadDto> autocompleteUsersInMyCollege(String prefix, int limit) {
+        AuthenticatedUser currentUser = userService.getCurrentPrincipal();
+        if (currentUser.getCollegeId() == null) {
+            return List.of();
+        }
+        // Served from the in-memory typeahead only; every keystroke stays off the database
+        return userTypeahead.complete(currentUser.getCollegeId(), prefix, currentUser.getUserId(),
+                Math.max(1, Math.min(limit, MAX_RESULTS)));
+    }
+
+    /**
+     * Users, posts and events of the caller's college matching the query, searched side by side. Each source
+     * gets its own budget, counted from when all three were started; a source that misses it, or fails, comes
+     * back as an empty section with its status, and the response is marked partial. Every result is scored
+     * by where the query matches (whole field, prefix, word prefix, anywhere) and in which field, so the
+     * sources can be merged into one relevance-ordered list.
+     * <p>
+     * Not transactional: each source runs its queries on a search thread, in its own read-only transaction.
+     */
+    @Override
+    public FederatedSearchResponse searchEverything(String query, int limit) {
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        long started = System.nanoTime();
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        int resultLimit = Math.max(1, Math.min(limit, MAX_RESULTS));
+
+        AuthenticatedUser currentUser = userService.getCurrentPrincipal();
+        if (currentUser.getCollegeId() == null) {
+            return new FederatedSearchResponse(query, List.of(), emptySection(usersTimeoutMs),
+                    emptySection(postsTimeoutMs), emptySection(eventsTimeoutMs), false, elapsedMs(started));
+        }
+        Long collegeId = currentUser.getCollegeId();
+        Long userId = currentUser.getUserId();
+        String pattern = likePattern(term);
+
+        long fannedOut = System.nanoTime();
+        CompletableFuture<SourceResult<UserSummaryDto>> users =
+                fanOut(() -> rankUsers(collegeId, term, pattern, userId), fannedOut, usersTimeoutMs);
+        CompletableFuture<SourceResult<PostDto>> posts =
+                fanOut(() -> rankPosts(collegeId, term, pattern), fannedOut, postsTimeoutMs);
+        CompletableFuture<SourceResult<EventDto>> events =
+                fanOut(() -> rankEvents(collegeId, term, pattern), fannedOut, eventsTimeoutMs);
+        SourceResult<UserSummaryDto> userResult = await("users", users, fannedOut, usersTimeoutMs);
+        SourceResult<PostDto> postResult = await("posts", posts, fannedOut, postsTimeoutMs);
+        SourceResult<EventDto> eventResult = await("events", events, fannedOut, eventsTimeoutMs);
+
+        List<SearchHitDto> topHits = new ArrayList<>();
+        addHits(topHits, userResult, resultLimit, "user", UserSummaryDto::getId, UserSummaryDto::getName);
+        addHits(topHits, postResult, resultLimit, "post", PostDto::getId, post -> snippet(post.getContent()));
+        addHits(topHits, eventResult, resultLimit, "event", EventDto::getId, EventDto::getTitle);
+        // Stable, so equal scores keep users before posts before events
+        topHits.sort(Comparator.comparingDouble(SearchHitDto::getScore).reversed());
+        if (topHits.size() > resultLimit) {
+            topHits = new ArrayList<>(topHits.subList(0, resultLimit));
+        }
+
+        boolean partial = !SearchSectionDto.OK.equals(userResult.status())
+                || !SearchSectionDto.OK.equals(postResult.status())
+                || !SearchSectionDto.OK.equals(eventResult.status());
+        return new FederatedSearchResponse(query, topHits,
+                section(userResult, resultLimit, usersTimeoutMs),
+                section(postResult, resultLimit, postsTimeoutMs),
+                section(eventResult, resultLimit, eventsTimeoutMs),
+                partial, elapsedMs(started));
+    }
+
+    private List<Scored<UserSummaryDto>> rankUsers(Long collegeId, String term, String pattern, Long userId) {
+        List<UserSummaryDto> users = userSearchIndex.search(collegeId, term, userId, candidates)
+                .orElseGet(() -> userRepository.searchSummariesInCollege(collegeId, pattern, userId,
+                        PageRequest.of(0, candidates)));
+        return ranked(users, user -> Math.max(matchScore(user.getName(), term), 0.7 * matchScore(user.getEmail(), term)));
+    }
+
+    private List<Scored<PostDto>> rankPosts(Long collegeId, String term, String pattern) {
+        // The newest matching posts; among equally relevant ones the newer stays first
+        List<Long> postIds = postRepository.searchIdsInCollege(collegeId, pattern, candidates);
+        List<PostDto> posts = inIdOrder(postIds, postIds.isEmpty() ? List.of() : postRepository.findDtosByPostIdIn(postIds),
+                PostDto::getId);
+        return ranked(posts, post -> 0.8 * matchScore(post.getContent(), term));
+    }
+
+    private List<Scored<EventDto>> rankEvents(Long collegeId, String term, String pattern) {
+        List<Long> eventIds = eventRepository.searchIdsInCollege(collegeId, pattern, candidates);
+        List<EventDto> events = inIdOrder(eventIds,
+                eventIds.isEmpty() ? List.of() : eventRepository.findDtosByEventIdIn(eventIds), EventDto::getId);
+        return ranked(events, event -> Math.max(matchScore(event.getTitle(), term),
+                Math.max(0.7 * matchScore(event.getLocation(), term), 0.5 * matchScore(event.getDescription(), term))));
+    }
+
+    // Runs the source on the search pool, in a read-only transaction of its own (large-object columns are only
+    // readable inside one). What is left of the budget when the source starts becomes the transaction's
+    // statement timeout, so the database cancels a query the search has stopped waiting for and the thread is
+    // not held past the budget.
+    private <T> CompletableFuture<SourceResult<T>> fanOut(Supplier<List<Scored<T>>> source, long fannedOut,
+                                                          long budgetMs) {
+        long deadline = fannedOut + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - started);
+                if (remainingMs <= 0) {
+                    // Queued past its budget; the caller has already given up on it
+                    return new SourceResult<>(List.of(), SearchSectionDto.TIMEOUT, 0);
+                }
+                List<Scored<T>> items = readOnlyTransaction.execute(status -> {
+                    // Local to the transaction, so the connection goes back to the pool without it
+                    jdbcTemplate.queryForObject("SELECT set_config('statement_timeout', ?, true)", String.class,
+                            remainingMs + "ms");
+                    return source.get();
+                });
+                return new SourceResult<>(items, SearchSectionDto.OK, elapsedMs(started));
+            }, searchExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Waits for the source until its deadline; a late source's statement is cancelled at the same deadline by
+    // its statement timeout, and whatever it returns is dropped
+    private <T> SourceResult<T> await(String source, CompletableFuture<SourceResult<T>> future, long fannedOut,
+                                      long budgetMs) {
+        long remaining = fannedOut + TimeUnit.MILLISECONDS.toNanos(budgetMs) - System.nanoTime();
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            logger.warn("Search source '{}' missed its {} ms budget; returning the other sources.", source, budgetMs);
+            return new SourceResult<>(List.of(), SearchSectionDto.TIMEOUT, elapsedMs(fannedOut));
+        } catch (ExecutionException e) {
+            logger.warn("Search source '{}' failed; returning the other sources.", source, e.getCause());
+            return new SourceResult<>(List.of(), SearchSectionDto.ERROR, elapsedMs(fannedOut));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SourceResult<>(List.of(), SearchSectionDto.ERROR, elapsedMs(fannedOut));
+        }
+    }
+
+    private static <T> void addHits(List<SearchHitDto> hits, SourceResult<T> result, int limit, String type,
+                                    Function<T, Long> id, Function<T, String> title) {
+        for (Scored<T> scored : result.items().subList(0, Math.min(limit, result.items().size()))) {
+            hits.add(new SearchHitDto(type, id.apply(scored.item()), title.apply(scored.item()), scored.score()));
+        }
+    }
+
+    private static <T> SearchSectionDto<T> section(SourceResult<T> result, int limit, long budgetMs) {
+        List<T> items = new ArrayList<>(Math.min(limit, result.items().size()));
+        for (Scored<T> scored : result.items().subList(0, Math.min(limit, result.items().size()))) {
+            items.add(scored.item());
+        }
+        return new SearchSectionDto<>(items, result.status(), result.tookMs(), budgetMs);
+    }
+
+    // The rows fetched by id, put back in the order the ids were found in; rows gone since are skipped
+    private static <T> List<T> inIdOrder(List<Long> ids, List<T> rows, Function<T, Long> id) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(id.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long rowId : ids) {
+            T row = byId.get(rowId);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    private static <T> SearchSectionDto<T> emptySection(long budgetMs) {
+        return new SearchSectionDto<>(List.of(), SearchSectionDto.OK, 0, budgetMs);
+    }
+
+    // Stable sort: items the source returned first stay first among equal scores
+    private static <T> List<Scored<T>> ranked(List<T> items, ToDoubleFunction<T> score) {
+        List<Scored<T>> scored = new ArrayList<>(items.size());
+        for (T item : items) {
+            scored.add(new Scored<>(item, score.applyAsDouble(item)));
+        }
+        scored.sort(Comparator.comparingDouble((Scored<T> s) -> s.score()).reversed());
+        return scored;
+    }
+
+    // 1 for the whole field, 0.8 at its start, 0.6 at the start of a later word, 0.4 anywhere else, 0 if absent
+    private static double matchScore(String text, String term) {
+        if (text == null) {
+            return 0;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.equals(term)) {
+            return 1.0;
+        }
+        int at = lower.indexOf(term);
+        if (at < 0) {
+            return 0;
+        }
+        if (at == 0) {
+            return 0.8;
+        }
+        for (int i = at; i >= 0; i = lower.indexOf(term, i + 1)) {
+            if (!Character.isLetterOrDigit(lower.charAt(i - 1))) {
+                return 0.6;
+            }
+        }
+        return 0.4;
+    }
+
+    // LIKE pattern for a substring match with '!' as the escape, so wildcards typed by the user match literally
+    private static String likePattern(String term) {
+        return "%" + term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static String snippet(String content) {
+        if (content == null || content.length() <= SNIPPET_LENGTH) {
+            return content;
+        }
+        return content.substring(0, SNIPPET_LENGTH) + "…";
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    private record Scored<T>(T item, double score) {
+    }
+
+    private record SourceResult<T>(List<Scored<T>> items, String status, long tookMs) {
     }
 }
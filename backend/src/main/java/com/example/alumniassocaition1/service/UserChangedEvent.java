@@ -0,0 +1,8 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Published when a user is created, their name, email, role or status changes, or they are removed.
+ * Listeners reload the user after commit; a user that no longer exists has been removed.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,7 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * Published by UserServiceImpl when a follow relationship is created ({@code following == true}) or removed.
+ */
+public record UserFollowChangedEvent(Long followerId, Long followingId, boolean following) {
+}
@@ -0,0 +1,13 @@
+package com.example.alumniassocaition1.service;
+
+/**
+ * One user as the in-memory user search structures see them (see {@link UserSearchLoader}).
+ */
+public record UserSearchEntry(long userId, long collegeId, String name, String email, String role, String status) {
+
+    // Row of UserRepository.SEARCH_ENTRY_SELECT
+    static UserSearchEntry of(Object[] row) {
+        return new UserSearchEntry((Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                (String) row[5]);
+    }
+}
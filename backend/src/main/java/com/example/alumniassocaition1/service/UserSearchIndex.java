@@ -0,0 +1,408 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Per-college trigram index over user names and emails for substring search. Every three-character window of
+ * the lower-cased name and email points to a sorted posting list of user ids. A query intersects the posting
+ * lists of its own trigrams, then checks the few candidates left for a real substring match. Queries shorter
+ * than three characters scan the college's users in memory.
+ * <p>
+ * Built once the application is ready and kept current from {@link UserChangedEvent}s, both through
+ * {@link UserSearchLoader}, which builds the college indexes in parallel. The estimated size of all college
+ * indexes is held under {@code app.search.users.max-memory-mb}: built indexes are admitted smallest college
+ * first, and once one does not fit it and every later college are left out, as are colleges first seen after
+ * that. A college left out (or later dropped) returns empty from {@link #search}, so callers fall back to the
+ * database. The size is published as the "search.users.index.memory" gauge.
+ */
+@Component
+public class UserSearchIndex implements UserSearchLoader.Target {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    // Match quality, best first: name equal, name prefix, word in name starts with the term, name contains, email
+    private static final int NAME_EQUALS = 0;
+    private static final int NAME_PREFIX = 1;
+    private static final int NAME_WORD_PREFIX = 2;
+    private static final int NAME_CONTAINS = 3;
+    private static final int EMAIL_PREFIX = 4;
+    private static final int EMAIL_CONTAINS = 5;
+    private static final int NO_MATCH = -1;
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::rank)
+            .thenComparingInt(hit -> hit.doc().name.length())
+            .thenComparing(hit -> hit.doc().name)
+            .thenComparingLong(hit -> hit.doc().userId);
+
+    private final long memoryBudget;
+    private final Map<Long, CollegeIndex> colleges = new ConcurrentHashMap<>();
+    // College of each indexed user, to find their entry again on change or removal
+    private final Map<Long, Long> collegeOfUser = new ConcurrentHashMap<>();
+    // Colleges left out for the memory budget; never indexed partially from single changes
+    private final Set<Long> unindexedColleges = ConcurrentHashMap.newKeySet();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    // Set once a college did not fit; every later college, and any new one, is left out
+    private volatile boolean budgetExhausted;
+    private volatile boolean ready;
+
+    @Autowired
+    public UserSearchIndex(MeterRegistry meterRegistry,
+                           @Value("${app.search.users.max-memory-mb:64}") long maxMemoryMb) {
+        this.memoryBudget = maxMemoryMb * 1024 * 1024;
+        Gauge.builder("search.users.index.memory", estimatedBytes, AtomicLong::get)
+                .description("Estimated heap used by the in-memory user search index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("search.users.index.colleges", colleges, Map::size)
+                .description("Colleges held in the in-memory user search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Best matches of the term among the college's users other than {@code excludedUserId}, at most
+     * {@code limit}. Empty if the college is not indexed (index not loaded yet, or over the memory budget).
+     */
+    public Optional<List<UserSummaryDto>> search(Long collegeId, String term, Long excludedUserId, int limit) {
+        CollegeIndex index = ready ? colleges.get(collegeId) : null;
+        if (index == null) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(normalize(term), excludedUserId, limit));
+    }
+
+    @Override
+    public Runnable build(long collegeId, List<UserSearchEntry> entries) {
+        CollegeIndex index = new CollegeIndex();
+        entries.forEach(entry -> index.add(toDoc(entry)));
+        return () -> admit(collegeId, index, entries);
+    }
+
+    private void admit(long collegeId, CollegeIndex index, List<UserSearchEntry> entries) {
+        if (budgetExhausted || estimatedBytes.get() + index.bytes() > memoryBudget) {
+            if (!budgetExhausted) {
+                budgetExhausted = true;
+                logger.warn("User search index over its memory budget from college {} ({} users) on; those " +
+                        "colleges are searched in the database.", collegeId, entries.size());
+            }
+            unindexedColleges.add(collegeId);
+            return;
+        }
+        estimatedBytes.addAndGet(index.bytes());
+        colleges.put(collegeId, index);
+        entries.forEach(entry -> collegeOfUser.put(entry.userId(), collegeId));
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        logger.info("User search index built for {} of {} colleges (~{} KiB).", colleges.size(),
+                colleges.size() + unindexedColleges.size(), estimatedBytes.get() / 1024);
+    }
+
+    // Replaces the user's entry with their current row, or drops it if the user is gone
+    @Override
+    public void update(long userId, Optional<UserSearchEntry> entry) {
+        Long previousCollegeId = collegeOfUser.remove(userId);
+        if (previousCollegeId != null) {
+            CollegeIndex previous = colleges.get(previousCollegeId);
+            if (previous != null) {
+                estimatedBytes.addAndGet(previous.remove(userId));
+            }
+        }
+        entry.map(UserSearchIndex::toDoc).filter(doc -> !unindexedColleges.contains(doc.collegeId)).ifPresent(doc -> {
+            CollegeIndex index = colleges.get(doc.collegeId);
+            if (index == null) {
+                if (budgetExhausted) {
+                    // A college first seen once the budget ran out is not started; the database serves it
+                    unindexedColleges.add(doc.collegeId);
+                    return;
+                }
+                index = colleges.computeIfAbsent(doc.collegeId, id -> new CollegeIndex());
+            }
+            estimatedBytes.addAndGet(index.add(doc));
+            collegeOfUser.put(userId, doc.collegeId);
+            if (estimatedBytes.get() > memoryBudget && colleges.remove(doc.collegeId, index)) {
+                // Dropped whole, so searches of this college go to the database instead of missing users
+                budgetExhausted = true;
+                unindexedColleges.add(doc.collegeId);
+                estimatedBytes.addAndGet(-index.bytes());
+                logger.warn("User search index over its memory budget; dropped college {}.", doc.collegeId);
+            }
+        });
+    }
+
+    private static Doc toDoc(UserSearchEntry entry) {
+        return new Doc(entry.userId(), entry.collegeId(), entry.name(), entry.email(), entry.role(), entry.status());
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The three chars of the window, packed into one key
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private record Hit(Doc doc, int rank) {
+    }
+
+    /**
+     * One indexed user. The lower-cased name and email are what the trigrams and matches are taken from.
+     */
+    private static final class Doc {
+
+        final long userId;
+        final long collegeId;
+        final String name;
+        final String email;
+        final String role;
+        final String status;
+        final String displayName;
+        final String displayEmail;
+
+        Doc(long userId, long collegeId, String name, String email, String role, String status) {
+            this.userId = userId;
+            this.collegeId = collegeId;
+            this.displayName = name;
+            this.displayEmail = email;
+            this.name = normalize(name);
+            this.email = normalize(email);
+            this.role = role;
+            this.status = status;
+        }
+
+        int rank(String term) {
+            if (name.equals(term)) {
+                return NAME_EQUALS;
+            }
+            int at = name.indexOf(term);
+            if (at == 0) {
+                return NAME_PREFIX;
+            }
+            if (at > 0) {
+                // Any later occurrence may still start a word ("ann" in "mary anne")
+                for (int i = at; i >= 0; i = name.indexOf(term, i + 1)) {
+                    if (!Character.isLetterOrDigit(name.charAt(i - 1))) {
+                        return NAME_WORD_PREFIX;
+                    }
+                }
+                return NAME_CONTAINS;
+            }
+            at = email.indexOf(term);
+            return at == 0 ? EMAIL_PREFIX : at > 0 ? EMAIL_CONTAINS : NO_MATCH;
+        }
+
+        UserSummaryDto toSummary() {
+            return new UserSummaryDto(userId, displayName, displayEmail, role, status);
+        }
+
+        // Object headers and fields, plus the four strings (Latin-1 compact strings, one byte per char)
+        long estimatedBytes() {
+            return 64 + 4 * 40L + 2L * (name.length() + email.length());
+        }
+    }
+
+    /**
+     * Users of one college and their trigram posting lists. Searches and changes of one college take turns.
+     */
+    private static final class CollegeIndex {
+
+        // HashMap.Node, boxed key and a share of the bucket table
+        private static final long MAP_ENTRY_BYTES = 32 + 16 + 8;
+
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private long bytes; // Guarded by this
+
+        synchronized long add(Doc doc) {
+            long before = bytes;
+            Doc previous = docs.put(doc.userId, doc);
+            if (previous != null) {
+                unindex(previous);
+            } else {
+                bytes += MAP_ENTRY_BYTES;
+            }
+            bytes += doc.estimatedBytes();
+            forEachTrigram(doc, key -> {
+                Postings list = postings.get(key);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(key, list);
+                    bytes += MAP_ENTRY_BYTES + list.estimatedBytes();
+                }
+                long listBefore = list.estimatedBytes();
+                list.add(doc.userId);
+                bytes += list.estimatedBytes() - listBefore;
+            });
+            return bytes - before;
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized long remove(long userId) {
+            Doc doc = docs.remove(userId);
+            if (doc == null) {
+                return 0;
+            }
+            long before = bytes;
+            unindex(doc);
+            bytes -= MAP_ENTRY_BYTES;
+            return bytes - before;
+        }
+
+        synchronized List<UserSummaryDto> search(String term, Long excludedUserId, int limit) {
+            if (term.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            // Worst of the current best kept on top, so each better hit replaces it
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            for (Doc doc : candidates(term)) {
+                if (excludedUserId != null && doc.userId == excludedUserId) {
+                    continue;
+                }
+                int rank = doc.rank(term);
+                if (rank != NO_MATCH) {
+                    best.offer(new Hit(doc, rank));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(BEST_FIRST);
+            List<UserSummaryDto> result = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                result.add(hit.doc().toSummary());
+            }
+            return result;
+        }
+
+        // Users holding every trigram of the term; all users for terms too short to have one
+        private Iterable<Doc> candidates(String term) {
+            if (term.length() < 3) {
+                return docs.values();
+            }
+            List<Postings> lists = new ArrayList<>(term.length() - 2);
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                Postings list = postings.get(trigram(term, i));
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+            List<Doc> result = new ArrayList<>();
+            next:
+            for (int i = 0; i < shortest.size; i++) {
+                long userId = shortest.ids[i];
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(userId)) {
+                        continue next;
+                    }
+                }
+                result.add(docs.get(userId));
+            }
+            return result;
+        }
+
+        private void unindex(Doc doc) {
+            bytes -= doc.estimatedBytes();
+            forEachTrigram(doc, key -> {
+                Postings list = postings.get(key);
+                if (list != null) {
+                    long listBefore = list.estimatedBytes();
+                    list.remove(doc.userId);
+                    bytes += list.estimatedBytes() - listBefore;
+                    if (list.size == 0) {
+                        postings.remove(key);
+                        bytes -= MAP_ENTRY_BYTES + list.estimatedBytes();
+                    }
+                }
+            });
+        }
+
+        // Each distinct trigram of the name and email once
+        private static void forEachTrigram(Doc doc, LongConsumer action) {
+            LongHashSet seen = new LongHashSet();
+            for (String text : new String[]{doc.name, doc.email}) {
+                for (int i = 0; i + 3 <= text.length(); i++) {
+                    long key = trigram(text, i);
+                    // LongHashSet keeps positive keys only; a window of three NUL chars is not worth indexing
+                    if (key > 0 && seen.add(key)) {
+                        action.accept(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorted user ids of one trigram, in a primitive array grown by doubling.
+     */
+    private static final class Postings {
+
+        long[] ids = new long[2];
+        int size;
+
+        void add(long userId) {
+            int at = Arrays.binarySearch(ids, 0, size, userId);
+            if (at >= 0) {
+                return;
+            }
+            int insertAt = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = userId;
+            size++;
+        }
+
+        void remove(long userId) {
+            int at = Arrays.binarySearch(ids, 0, size, userId);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            if (size > 0 && size * 4 <= ids.length) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+            }
+        }
+
+        boolean contains(long userId) {
+            return Arrays.binarySearch(ids, 0, size, userId) >= 0;
+        }
+
+        long estimatedBytes() {
+            return 16 + 16 + 8L * ids.length;
+        }
+    }
+}
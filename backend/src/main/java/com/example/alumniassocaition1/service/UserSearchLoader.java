@@ -0,0 +1,116 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Feeds the in-memory user search structures ({@link Target}s): reads the users once the application is ready,
+ * then passes on the current entry of every user named by a {@link UserChangedEvent}.
+ * <p>
+ * Colleges are independent, so the load reads each one's users and has every target build its structure for it
+ * in parallel. The built structures are then admitted one college at a time, smallest first and then by id, so a
+ * memory budget admits the same colleges on every start whatever order the builds finish in. Users changed
+ * while the load runs are passed on once it is done.
+ */
+@Component
+public class UserSearchLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchLoader.class);
+
+    private final UserRepository userRepository;
+    private final List<Target> targets;
+    private final Object loadMonitor = new Object();
+    // Users changed while the load runs, passed on once it is done
+    private final Set<Long> changedDuringLoad = new HashSet<>(); // Guarded by loadMonitor
+    private volatile boolean ready;
+
+    @Autowired
+    public UserSearchLoader(UserRepository userRepository, List<Target> targets) {
+        this.userRepository = userRepository;
+        this.targets = targets;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        List<Object[]> colleges = userRepository.countSearchEntriesByCollege();
+        // Built side by side; forEachOrdered admits them in the order of the list above
+        colleges.parallelStream()
+                .map(college -> build((Long) college[0]))
+                .forEachOrdered(admissions -> admissions.forEach(Runnable::run));
+        List<Long> changed;
+        synchronized (loadMonitor) {
+            ready = true;
+            changed = new ArrayList<>(changedDuringLoad);
+            changedDuringLoad.clear();
+        }
+        targets.forEach(Target::loaded);
+        changed.forEach(this::update);
+        logger.info("User search entries read for {} colleges in {} ms.", colleges.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Reads the college's users once and has every target build from them; returns each target's admission
+    private List<Runnable> build(long collegeId) {
+        List<UserSearchEntry> entries = userRepository.findSearchEntriesByCollegeId(collegeId).stream()
+                .map(UserSearchEntry::of)
+                .toList();
+        return targets.stream().map(target -> target.build(collegeId, entries)).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!ready) {
+            synchronized (loadMonitor) {
+                if (!ready) {
+                    changedDuringLoad.add(event.userId());
+                    return;
+                }
+            }
+        }
+        update(event.userId());
+    }
+
+    private void update(Long userId) {
+        Optional<UserSearchEntry> current = userRepository.findSearchEntryById(userId).stream().findFirst()
+                .map(UserSearchEntry::of);
+        targets.forEach(target -> target.update(userId, current));
+    }
+
+    /**
+     * An in-memory structure built from the users of each college.
+     */
+    public interface Target {
+
+        /**
+         * Builds the structure of one college from its users (in user id order) during the load. Runs on any
+         * thread, alongside the builds of other colleges, so it must not touch shared state; that is left to the
+         * returned admission, which the load runs one college at a time, in a fixed order.
+         */
+        Runnable build(long collegeId, List<UserSearchEntry> entries);
+
+        /**
+         * Called once every college has been admitted, before the users changed meanwhile are passed on.
+         */
+        void loaded();
+
+        /**
+         * The user's current entry, or empty if the user is gone or no longer belongs to a college.
+         */
+        void update(long userId, Optional<UserSearchEntry> entry);
+    }
+}
@@ -1,10 +1,13 @@
 // --- File: com/example/alumniassocaition1/service/UserService.java ---
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.user.FollowEntryDto;
 import com.example.alumniassocaition1.dto.user.UserProfileDto;
-import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.dto.user.UserSuggestionDto;
 import com.example.alumniassocaition1.dto.user.UserUpdateRequest;
 import com.example.alumniassocaition1.entity.User;
+import com.example.alumniassocaition1.security.AuthenticatedUser;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import java.util.List;
@@ -12,13 +15,18 @@ import java.util.List;
 public interface UserService extends UserDetailsService { // Extends UserDetailsService for Spring Security integration
     UserProfileDto getUserProfile(Long userId) throws ResourceNotFoundException;
 
+    // ETag for conditional GETs of a profile, computed from version columns only
+    String getUserProfileETag(Long userId) throws ResourceNotFoundException;
+
     UserProfileDto getCurrentUserProfile();
 
     UserProfileDto updateUserProfile(UserUpdateRequest updateRequest);
 
-    List<UserSummaryDto> getFollowers(Long userId) throws ResourceNotFoundException;
+    CursorPage<FollowEntryDto> getFollowers(Long userId, String cursor, int size) throws ResourceNotFoundException;
+
+    CursorPage<FollowEntryDto> getFollowing(Long userId, String cursor, int size) throws ResourceNotFoundException;
 
-    List<UserSummaryDto> getFollowing(Long userId) throws ResourceNotFoundException;
+    List<UserSuggestionDto> getSuggestions(int limit);
 
     void followUser(Long userIdToFollow) throws ResourceNotFoundException;
 
@@ -36,4 +44,11 @@ public interface UserService extends UserDetailsService { // Extends UserDetails
      */
     User getCurrentAuthenticatedUserEntity();
 
+    /**
+     * The currently authenticated user's id, college, role and status, as carried by their token; no
+     * database read for requests authenticated from token claims.
+     * Throws AccessDeniedException if no user is authenticated.
+     */
+    AuthenticatedUser getCurrentPrincipal();
+
 }
\ No newline at end of file
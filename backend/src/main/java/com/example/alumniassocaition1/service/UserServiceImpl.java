@@ -1,67 +1,86 @@
 // --- File: com/example/alumniassocaition1/service/UserServiceImpl.java ---
 package com.example.alumniassocaition1.service;
 
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.user.FollowEntryDto;
 import com.example.alumniassocaition1.dto.user.UserProfileDto;
+import com.example.alumniassocaition1.dto.user.UserSuggestionDto;
 import com.example.alumniassocaition1.dto.user.UserSummaryDto;
 import com.example.alumniassocaition1.dto.user.UserUpdateRequest;
 import com.example.alumniassocaition1.entity.User;
 import com.example.alumniassocaition1.entity.UserFollow;
 import com.example.alumniassocaition1.entity.UserFollowId;
 import com.example.alumniassocaition1.exception.ResourceNotFoundException;
+import com.example.alumniassocaition1.mapper.UserMapper;
 import com.example.alumniassocaition1.repository.UserFollowRepository;
 import com.example.alumniassocaition1.repository.UserRepository;
+import com.example.alumniassocaition1.security.AuthenticatedUser;
 
 import org.slf4j.Logger; // Import Logger
 import org.slf4j.LoggerFactory; // Import LoggerFactory
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class); // Added logger
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
 
     private final UserRepository userRepository;
     private final UserFollowRepository userFollowRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FollowGraphIndex followGraphIndex;
+    private final UserSuggestions userSuggestions;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserFollowRepository userFollowRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserFollowRepository userFollowRepository,
+                           ApplicationEventPublisher eventPublisher, FollowGraphIndex followGraphIndex,
+                           UserSuggestions userSuggestions) {
         this.userRepository = userRepository;
         this.userFollowRepository = userFollowRepository;
+        this.eventPublisher = eventPublisher;
+        this.followGraphIndex = followGraphIndex;
+        this.userSuggestions = userSuggestions;
     }
 
     // --- IMPLEMENTATION OF THE NEW METHOD ---
     @Override
     @Transactional(readOnly = true)
     public User getCurrentAuthenticatedUserEntity() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            logger.warn("Attempt to get current authenticated user entity, but no valid authentication found.");
-            throw new AccessDeniedException("User not authenticated. Cannot retrieve user entity.");
+        Object principal = getAuthenticatedPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return userRepository.findById(user.getUserId())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id from security context: " + user.getUserId()));
         }
-        Object principal = authentication.getPrincipal();
         String email;
         if (principal instanceof UserDetails) {
             email = ((UserDetails) principal).getUsername();
-        } else if (principal != null) {
+        } else {
             // This case might occur if the principal is just a String (e.g., from some token types not wrapped in UserDetails)
             email = principal.toString();
             logger.debug("Authentication principal is a String: {}", email);
-        } else {
-            logger.error("Authentication principal is null. This should not happen for an authenticated user.");
-            throw new AccessDeniedException("Authentication principal is null. Cannot retrieve user entity.");
         }
 
         return userRepository.findByEmail(email)
@@ -71,6 +90,29 @@ public class UserServiceImpl implements UserService {
                 });
     }
 
+    // Not transactional: with token claims there is nothing to read
+    @Override
+    public AuthenticatedUser getCurrentPrincipal() {
+        if (getAuthenticatedPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        // Set up by other means than a token (tests, for instance): read the user once
+        return AuthenticatedUser.of(getCurrentAuthenticatedUserEntity());
+    }
+
+    private Object getAuthenticatedPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            logger.warn("Attempt to get current authenticated user entity, but no valid authentication found.");
+            throw new AccessDeniedException("User not authenticated. Cannot retrieve user entity.");
+        }
+        if (authentication.getPrincipal() == null) {
+            logger.error("Authentication principal is null. This should not happen for an authenticated user.");
+            throw new AccessDeniedException("Authentication principal is null. Cannot retrieve user entity.");
+        }
+        return authentication.getPrincipal();
+    }
+
     // Implementation for UserDetailsService interface method
     @Override
     @Transactional(readOnly = true)
@@ -78,15 +120,52 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPasswordHash(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().toUpperCase())));
+        // Carries what JwtTokenProvider puts in the token's claims
+        return AuthenticatedUser.of(user);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserProfileDto getUserProfile(Long userId) throws ResourceNotFoundException {
         User user = findUserById(userId); // Uses existing findUserById
-        return mapUserToProfileDto(user);
+        UserProfileDto dto = mapUserToProfileDto(user);
+        Long viewerId = getCurrentPrincipal().getUserId();
+        if (!viewerId.equals(userId)) {
+            dto.setFollowedByCurrentUser(follows(viewerId, userId));
+            dto.setFollowsCurrentUser(follows(userId, viewerId));
+        }
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getUserProfileETag(Long userId) throws ResourceNotFoundException {
+        Long viewerId = getCurrentPrincipal().getUserId();
+        Object updatedAt;
+        long followersCount;
+        long followingCount;
+        if (followGraphIndex.isReady()) {
+            List<LocalDateTime> rows = userRepository.findUpdatedAtById(userId);
+            if (rows.isEmpty()) {
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+            updatedAt = rows.get(0);
+            followersCount = followGraphIndex.followerCount(userId);
+            followingCount = followGraphIndex.followingCount(userId);
+        } else {
+            List<Object[]> rows = userRepository.findProfileVersionById(userId);
+            if (rows.isEmpty()) {
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+            Object[] version = rows.get(0);
+            updatedAt = version[0];
+            followersCount = (Long) version[1];
+            followingCount = (Long) version[2];
+        }
+        // The follow flags differ per viewer
+        boolean ownProfile = viewerId.equals(userId);
+        return ResourceETags.of("user", userId, updatedAt, followersCount, followingCount, viewerId,
+                !ownProfile && follows(viewerId, userId), !ownProfile && follows(userId, viewerId));
     }
 
     @Override
@@ -107,27 +186,99 @@ public class UserServiceImpl implements UserService {
         // Handle profilePictureUrl if it's part of UserUpdateRequest and needs special handling
 
         User updatedUser = userRepository.save(currentUser);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getUserId()));
         return mapUserToProfileDto(updatedUser);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserSummaryDto> getFollowers(Long userId) throws ResourceNotFoundException {
-        User user = findUserById(userId);
-        return userFollowRepository.findByIdFollowingId(user.getUserId()).stream()
-                .map(UserFollow::getFollower)
-                .map(this::mapUserToSummaryDto)
-                .collect(Collectors.toList());
+    public CursorPage<FollowEntryDto> getFollowers(Long userId, String cursor, int size) throws ResourceNotFoundException {
+        requireUserExists(userId);
+        return followPage(cursor, size, (after, limit) -> after == null
+                ? userFollowRepository.findFollowerPageFirst(userId, limit)
+                : userFollowRepository.findFollowerPageAfter(userId, after.getTimestamp(), after.getId(), limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FollowEntryDto> getFollowing(Long userId, String cursor, int size) throws ResourceNotFoundException {
+        requireUserExists(userId);
+        return followPage(cursor, size, (after, limit) -> after == null
+                ? userFollowRepository.findFollowingPageFirst(userId, limit)
+                : userFollowRepository.findFollowingPageAfter(userId, after.getTimestamp(), after.getId(), limit));
+    }
+
+    private CursorPage<FollowEntryDto> followPage(String cursor, int size,
+                                                  BiFunction<KeysetCursor, Pageable, List<FollowEntryDto>> query) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page exists
+        List<FollowEntryDto> entries = query.apply(after, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        List<FollowEntryDto> items = hasMore ? entries.subList(0, pageSize) : entries;
+        markFollowedByCurrentUser(items);
+        String nextCursor = null;
+        if (hasMore) {
+            FollowEntryDto last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getFollowedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    // From the follow graph when loaded, otherwise with one query for the whole page
+    private void markFollowedByCurrentUser(List<FollowEntryDto> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Long viewerId = getCurrentPrincipal().getUserId();
+        if (followGraphIndex.isReady()) {
+            for (FollowEntryDto entry : entries) {
+                entry.setFollowedByCurrentUser(followGraphIndex.follows(viewerId, entry.getId()));
+            }
+            return;
+        }
+        Set<Long> followed = new HashSet<>(userFollowRepository.findFollowedAmong(viewerId,
+                entries.stream().map(FollowEntryDto::getId).toList()));
+        for (FollowEntryDto entry : entries) {
+            entry.setFollowedByCurrentUser(followed.contains(entry.getId()));
+        }
+    }
+
+    private void requireUserExists(Long userId) throws ResourceNotFoundException {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserSummaryDto> getFollowing(Long userId) throws ResourceNotFoundException {
-        User user = findUserById(userId);
-        return userFollowRepository.findByIdFollowerId(user.getUserId()).stream()
-                .map(UserFollow::getFollowing)
-                .map(this::mapUserToSummaryDto)
-                .collect(Collectors.toList());
+    public List<UserSuggestionDto> getSuggestions(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive.");
+        }
+        UserSuggestions.Suggestions suggestions = userSuggestions.get(getCurrentPrincipal().getUserId());
+        int count = Math.min(limit, suggestions.userIds().length);
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> mutualFollows = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            mutualFollows.put(suggestions.userIds()[i], suggestions.mutualFollows()[i]);
+        }
+        // Users deactivated or removed since the suggestions were computed drop out here
+        Map<Long, UserSummaryDto> summaries = new HashMap<>();
+        for (UserSummaryDto summary : userRepository.findActiveSummariesByIdIn(mutualFollows.keySet())) {
+            summaries.put(summary.getId(), summary);
+        }
+        List<UserSuggestionDto> result = new ArrayList<>(summaries.size());
+        mutualFollows.forEach((id, mutual) -> {
+            UserSummaryDto summary = summaries.get(id);
+            if (summary != null) {
+                result.add(new UserSuggestionDto(summary, mutual));
+            }
+        });
+        return result;
     }
 
     @Override
@@ -151,6 +302,7 @@ public class UserServiceImpl implements UserService {
         userFollow.setFollower(currentUser);
         userFollow.setFollowing(userToFollow);
         userFollowRepository.save(userFollow);
+        eventPublisher.publishEvent(new UserFollowChangedEvent(currentUser.getUserId(), userToFollow.getUserId(), true));
         logger.info("User {} successfully followed user {}.", currentUser.getUserId(), userIdToFollow);
     }
 
@@ -166,6 +318,7 @@ public class UserServiceImpl implements UserService {
             return; // Not following, or trying to unfollow someone not followed
         }
         userFollowRepository.deleteById(followId);
+        eventPublisher.publishEvent(new UserFollowChangedEvent(currentUser.getUserId(), userToUnfollow.getUserId(), false));
         logger.info("User {} successfully unfollowed user {}.", currentUser.getUserId(), userIdToUnfollow);
     }
 
@@ -184,24 +337,20 @@ public class UserServiceImpl implements UserService {
     }
 
     private UserProfileDto mapUserToProfileDto(User user) {
-        UserProfileDto dto = new UserProfileDto();
-        BeanUtils.copyProperties(user, dto);
-        dto.setId(user.getUserId());
-        dto.setProfilePictureUrl(user.getProfilePictureUrl()); // Ensure this is mapped
-        dto.setFollowersCount(userFollowRepository.countByIdFollowingId(user.getUserId()));
-        dto.setFollowingCount(userFollowRepository.countByIdFollowerId(user.getUserId()));
-        // Ensure other fields like name, email, role, headline, location, about are correctly copied by BeanUtils
-        // or set them explicitly if needed.
-        return dto;
+        Long userId = user.getUserId();
+        if (followGraphIndex.isReady()) {
+            return UserMapper.toProfileDto(user,
+                    followGraphIndex.followerCount(userId), followGraphIndex.followingCount(userId));
+        }
+        return UserMapper.toProfileDto(user,
+                userFollowRepository.countByIdFollowingId(userId),
+                userFollowRepository.countByIdFollowerId(userId));
     }
 
-    private UserSummaryDto mapUserToSummaryDto(User user) {
-        UserSummaryDto dto = new UserSummaryDto();
-        BeanUtils.copyProperties(user, dto);
-        dto.setId(user.getUserId());
-        // Ensure role and status are copied if UserSummaryDto needs them
-        dto.setRole(user.getRole());
-        dto.setStatus(user.getStatus()); // Assuming UserSummaryDto has status
-        return dto;
+    // From the follow graph once it is loaded, from the database before that
+    private boolean follows(Long followerId, Long followingId) {
+        return followGraphIndex.isReady()
+                ? followGraphIndex.follows(followerId, followingId)
+                : userFollowRepository.existsByIdFollowerIdAndIdFollowingId(followerId, followingId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * "People you may know": for each user, the active users of their college they do not follow yet, ranked by
+ * the number of people they follow who follow that user (friends of friends), walked in the
+ * {@link FollowGraphIndex}. Of each followee's own follows, at most
+ * {@code app.suggestions.max-fanout-per-followee} are counted.
+ * <p>
+ * A background job computes every user's list on a fork/join pool every {@code app.suggestions.refresh-ms}; the
+ * scheduler only hands the run to the pool, and a run still in progress makes the next one skip.
+ * When a user follows or unfollows someone, their own list is recomputed straight away and the lists of
+ * their followers (whose second hop went through them) are dropped and recomputed on the next read.
+ */
+@Component
+public class UserSuggestions {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSuggestions.class);
+
+    // Users per fork/join leaf task
+    private static final int USERS_PER_TASK = 64;
+
+    private final FollowGraphIndex followGraphIndex;
+    private final UserRepository userRepository;
+    private final Cache<Long, Suggestions> suggestions;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final int size;
+    private final int maxFanout;
+    private volatile CollegeDirectory directory;
+
+    @Autowired
+    public UserSuggestions(FollowGraphIndex followGraphIndex, UserRepository userRepository,
+                           @Value("${app.suggestions.size:20}") int size,
+                           @Value("${app.suggestions.max-users:200000}") long maxUsers,
+                           @Value("${app.suggestions.parallelism:0}") int parallelism,
+                           @Value("${app.suggestions.max-fanout-per-followee:1000}") int maxFanout) {
+        this.followGraphIndex = followGraphIndex;
+        this.userRepository = userRepository;
+        this.size = size;
+        this.maxFanout = maxFanout;
+        this.suggestions = Caffeine.newBuilder().maximumSize(maxUsers).build();
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Suggested user ids for the user, best first, with their mutual-follow counts. Empty until the follow
+     * graph has loaded.
+     */
+    public Suggestions get(Long userId) {
+        if (!followGraphIndex.isReady()) {
+            return Suggestions.NONE;
+        }
+        return suggestions.get(userId, id -> compute(id, directory()));
+    }
+
+    @Scheduled(initialDelayString = "${app.suggestions.initial-delay-ms:60000}", fixedDelayString = "${app.suggestions.refresh-ms:21600000}")
+    public void refreshAll() {
+        if (!followGraphIndex.isReady()) {
+            logger.info("Follow graph not loaded yet; skipping the suggestions refresh.");
+            return;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            logger.info("The previous suggestions refresh is still running; skipping this one.");
+            return;
+        }
+        pool.execute(() -> {
+            try {
+                long started = System.nanoTime();
+                CollegeDirectory loaded = loadDirectory();
+                directory = loaded;
+                new RefreshTask(loaded, 0, loaded.userIds.length).invoke();
+                logger.info("Suggestions refreshed for {} users in {} ms.",
+                        loaded.userIds.length, (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                logger.error("Refreshing suggestions failed: {}", e.getMessage(), e);
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollowChanged(UserFollowChangedEvent event) {
+        if (!followGraphIndex.isReady()) {
+            return;
+        }
+        // Runs after the follow graph has applied the change (see FollowGraphIndex#onFollowChanged)
+        Long followerId = event.followerId();
+        suggestions.put(followerId, compute(followerId, directory()));
+        for (long id : followGraphIndex.followerIds(followerId)) {
+            suggestions.invalidate(id);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private Suggestions compute(long userId, CollegeDirectory directory) {
+        long collegeId = directory.collegeOf(userId);
+        long[] following = followGraphIndex.followingIds(userId);
+        if (collegeId < 0 || following.length == 0) {
+            return Suggestions.NONE;
+        }
+
+        // Mutual-follow counts, counted while walking the second hop; at most maxFanout ids of each followee, so
+        // following someone who follows everyone costs no more than following an ordinary user
+        LongHashCounter mutuals = new LongHashCounter();
+        followGraphIndex.forEachFollowing(following, maxFanout, id -> {
+            if (id != userId && Arrays.binarySearch(following, id) < 0) {
+                mutuals.increment(id);
+            }
+        });
+
+        // Candidates as (count << 32 | position of the id in candidateIds), so one sort ranks them
+        long[] candidateIds = mutuals.keys();
+        Arrays.sort(candidateIds);
+        long[] ranked = new long[candidateIds.length];
+        int candidates = 0;
+        for (int i = 0; i < candidateIds.length; i++) {
+            if (directory.collegeOf(candidateIds[i]) == collegeId) {
+                // Equal counts keep the lower user id first
+                ranked[candidates++] = ((long) mutuals.get(candidateIds[i]) << 32) | (Integer.MAX_VALUE - i);
+            }
+        }
+        Arrays.sort(ranked, 0, candidates);
+
+        int count = Math.min(size, candidates);
+        long[] userIds = new long[count];
+        int[] mutualFollows = new int[count];
+        for (int i = 0; i < count; i++) {
+            long key = ranked[candidates - 1 - i];
+            userIds[i] = candidateIds[Integer.MAX_VALUE - (int) key];
+            mutualFollows[i] = (int) (key >>> 32);
+        }
+        return new Suggestions(userIds, mutualFollows);
+    }
+
+    private CollegeDirectory directory() {
+        CollegeDirectory current = directory;
+        if (current == null) {
+            synchronized (this) {
+                current = directory;
+                if (current == null) {
+                    current = loadDirectory();
+                    directory = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private CollegeDirectory loadDirectory() {
+        List<Object[]> rows = userRepository.findActiveUserColleges();
+        long[] userIds = new long[rows.size()];
+        long[] collegeIds = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            userIds[i] = (Long) rows.get(i)[0];
+            collegeIds[i] = (Long) rows.get(i)[1];
+        }
+        return new CollegeDirectory(userIds, collegeIds);
+    }
+
+    /**
+     * Ranked suggestions of one user: ids best first and, at the same positions, how many of the people
+     * the user follows follow that id.
+     */
+    public record Suggestions(long[] userIds, int[] mutualFollows) {
+        static final Suggestions NONE = new Suggestions(new long[0], new int[0]);
+    }
+
+    /**
+     * College of every active user, as parallel arrays sorted by user id. Users who joined since the last
+     * refresh are neither suggested nor given suggestions until the next one.
+     */
+    private record CollegeDirectory(long[] userIds, long[] collegeIds) {
+        long collegeOf(long userId) {
+            int i = Arrays.binarySearch(userIds, userId);
+            return i < 0 ? -1 : collegeIds[i];
+        }
+    }
+
+    private final class RefreshTask extends RecursiveAction {
+
+        private final CollegeDirectory directory;
+        private final int from;
+        private final int to;
+
+        RefreshTask(CollegeDirectory directory, int from, int to) {
+            this.directory = directory;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= USERS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    long userId = directory.userIds[i];
+                    suggestions.put(userId, UserSuggestions.this.compute(userId, directory));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RefreshTask(directory, from, middle), new RefreshTask(directory, middle, to));
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.user.UserTypeaheadDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Name typeahead for each college: a sorted array of lower-cased name keys (the full name and every later
+ * word of it, so "ann" finds "Mary Anne") pointing at their users. A prefix is a contiguous range of that
+ * array, found by binary search. Every range of more than {@code WALK_LIMIT} keys, whatever the prefix length,
+ * keeps a ready list of its most followed users; prefixes sharing a range (such as "mich" and "micha" when every
+ * key under one also falls under the other) share its list. Only ranges of at most {@code WALK_LIMIT} keys are
+ * walked per keystroke, with their follower counts read in one go, keeping the {@code limit} most followed users
+ * in fixed-size arrays.
+ * <p>
+ * Tables are immutable and replaced whole (copy-on-write), so lookups take no lock. User changes and follower
+ * changes are not applied on the committing thread: they are collected per college and applied by
+ * {@link #refresh()} every {@code app.search.typeahead.refresh-ms}, one rebuild or re-rank per college however
+ * many changes it collected. Built and kept current through {@link UserSearchLoader}, after the follow graph has
+ * loaded; until then no suggestions are returned. The estimated size is published as the
+ * "search.typeahead.memory" gauge.
+ */
+@Component
+public class UserTypeahead implements UserSearchLoader.Target {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTypeahead.class);
+
+    // Ranges holding more than WALK_LIMIT keys get a ready list of LIST_SIZE users
+    private static final int WALK_LIMIT = 256;
+    private static final int LIST_SIZE = 64;
+
+    private static final PrefixTable EMPTY = new PrefixTable(new String[0], new Person[0], 0, Map.of());
+
+    private final FollowGraphIndex followGraphIndex;
+    private final Map<Long, PrefixTable> tables = new ConcurrentHashMap<>();
+    // Each indexed user, to find their keys again on change or removal
+    private final Map<Long, Person> people = new ConcurrentHashMap<>();
+    // Per college, users whose keys changed and users whose follower count changed since the last refresh
+    private final Map<Long, Set<Long>> changedUsers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> rerankedUsers = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private volatile boolean ready;
+
+    @Autowired
+    public UserTypeahead(FollowGraphIndex followGraphIndex, MeterRegistry meterRegistry) {
+        this.followGraphIndex = followGraphIndex;
+        Gauge.builder("search.typeahead.memory", estimatedBytes, AtomicLong::get)
+                .description("Estimated heap used by the in-memory name typeahead")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code limit} users of the college, other than {@code excludedUserId}, whose name or a word of it
+     * starts with the prefix; most followed first, then by name.
+     */
+    public List<UserTypeaheadDto> complete(Long collegeId, String prefix, Long excludedUserId, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PrefixTable table = ready ? tables.getOrDefault(collegeId, EMPTY) : EMPTY;
+        long excluded = excludedUserId == null ? -1 : excludedUserId;
+        int from = table.firstAtLeast(key);
+        int to = table.endOf(key, from);
+
+        // One more than asked for, in case the caller is among them
+        Ranked listed = to - from > WALK_LIMIT && limit < LIST_SIZE ? table.listed.get(range(from, to)) : null;
+        Ranked ranked = listed != null ? listed : table.rank(from, to, limit + 1, followerCounts());
+        List<UserTypeaheadDto> result = new ArrayList<>(Math.min(limit, ranked.count()));
+        for (int i = 0; i < ranked.count() && result.size() < limit; i++) {
+            Person person = ranked.people()[i];
+            if (person.userId != excluded) {
+                result.add(new UserTypeaheadDto(person.userId, person.name, person.email, person.role, ranked.followers()[i]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Runnable build(long collegeId, List<UserSearchEntry> entries) {
+        List<Person> college = entries.stream().map(UserTypeahead::toPerson).toList();
+        PrefixTable table = PrefixTable.of(college, followerCounts());
+        return () -> {
+            tables.put(collegeId, table);
+            estimatedBytes.addAndGet(table.estimatedBytes());
+            college.forEach(person -> people.put(person.userId, person));
+        };
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        logger.info("Name typeahead built for {} colleges (~{} KiB).", tables.size(), estimatedBytes.get() / 1024);
+    }
+
+    // Records the user's current row, or that the user is gone; their colleges' tables follow on the next refresh
+    @Override
+    public void update(long userId, Optional<UserSearchEntry> entry) {
+        Person current = entry.map(UserTypeahead::toPerson).orElse(null);
+        Person previous = current != null ? people.put(userId, current) : people.remove(userId);
+        if (previous != null) {
+            mark(changedUsers, previous.collegeId, userId);
+        }
+        if (current != null) {
+            mark(changedUsers, current.collegeId, userId);
+        }
+    }
+
+    // Runs after the follow graph has applied the change (see FollowGraphIndex#onFollowChanged)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollowChanged(UserFollowChangedEvent event) {
+        Person followed = people.get(event.followingId());
+        if (ready && followed != null) {
+            mark(rerankedUsers, followed.collegeId, followed.userId);
+        }
+    }
+
+    /**
+     * Applies the changes collected since the last run: each college with changed users is rebuilt once from the
+     * current rows, which also ranks all its lists anew; each other college with changed follower counts has the
+     * lists of those users re-ranked.
+     */
+    @Scheduled(fixedDelayString = "${app.search.typeahead.refresh-ms:200}")
+    public void refresh() {
+        for (Long collegeId : List.copyOf(changedUsers.keySet())) {
+            // Taken before the rebuild reads the follower counts, which then include every change marked so far
+            rerankedUsers.remove(collegeId);
+            Set<Long> changed = changedUsers.remove(collegeId);
+            tables.compute(collegeId, (id, table) ->
+                    replace(table, (table == null ? EMPTY : table).replacing(id, changed, people, followerCounts())));
+        }
+        for (Long collegeId : List.copyOf(rerankedUsers.keySet())) {
+            List<Person> reranked = rerankedUsers.remove(collegeId).stream()
+                    .map(people::get)
+                    .filter(person -> person != null && person.collegeId == collegeId)
+                    .toList();
+            tables.computeIfPresent(collegeId, (id, table) -> replace(table, table.reranked(reranked, followerCounts())));
+        }
+    }
+
+    // Adds the user to the college's set; the set is only read once refresh() has taken it out of the map
+    private static void mark(Map<Long, Set<Long>> pending, long collegeId, long userId) {
+        pending.compute(collegeId, (id, users) -> {
+            Set<Long> marked = users == null ? new HashSet<>() : users;
+            marked.add(userId);
+            return marked;
+        });
+    }
+
+    // Swaps in the new table and keeps the size estimate in step; empty tables are dropped
+    private PrefixTable replace(PrefixTable previous, PrefixTable next) {
+        estimatedBytes.addAndGet(next.estimatedBytes() - (previous == null ? 0 : previous.estimatedBytes()));
+        return next.keys.length == 0 ? null : next;
+    }
+
+    // Until the follow graph has loaded every count is zero, so users rank by name
+    private FollowerCounts followerCounts() {
+        if (!followGraphIndex.isReady()) {
+            return (people, from, to) -> new long[to - from];
+        }
+        return (people, from, to) -> {
+            long[] userIds = new long[to - from];
+            for (int i = from; i < to; i++) {
+                userIds[i - from] = people[i].userId();
+            }
+            return followGraphIndex.followerCounts(userIds);
+        };
+    }
+
+    // The key of a range of positions in its table's ready lists
+    private static long range(int from, int to) {
+        return (long) from << 32 | to;
+    }
+
+    private static boolean ranksBefore(Person person, long followers, Person other, long otherFollowers) {
+        if (followers != otherFollowers) {
+            return followers > otherFollowers;
+        }
+        int byName = person.name.compareToIgnoreCase(other.name);
+        return byName != 0 ? byName < 0 : person.userId < other.userId;
+    }
+
+    private static int indexOf(Person[] people, int count, Person person) {
+        for (int i = 0; i < count; i++) {
+            if (people[i] == person) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Person toPerson(UserSearchEntry entry) {
+        return new Person(entry.userId(), entry.collegeId(), entry.name(), entry.email(), entry.role());
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Person(long userId, long collegeId, String name, String email, String role) {
+    }
+
+    private record Entry(String key, Person person) {
+    }
+
+    /**
+     * The first {@code count} users of a prefix, best first, with the follower counts they were ranked by.
+     */
+    private record Ranked(Person[] people, long[] followers, int count) {
+    }
+
+    @FunctionalInterface
+    private interface FollowerCounts {
+
+        /**
+         * Follower counts of {@code people[from, to)}, in the same order.
+         */
+        long[] of(Person[] people, int from, int to);
+    }
+
+    /**
+     * Name keys of one college in sorted order, with the user of each key at the same position, and the ready
+     * lists of its crowded ranges, keyed by {@link #range(int, int)}.
+     */
+    private static final class PrefixTable {
+
+        private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key)
+                .thenComparingLong(entry -> entry.person().userId());
+
+        // HashMap.Node, the boxed range and a share of the bucket table
+        private static final long LISTED_ENTRY_BYTES = 32 + 16 + 8;
+
+        final String[] keys;
+        final Person[] people;
+        final Map<Long, Ranked> listed;
+        private final int userCount;
+
+        PrefixTable(String[] keys, Person[] people, int userCount, Map<Long, Ranked> listed) {
+            this.keys = keys;
+            this.people = people;
+            this.userCount = userCount;
+            this.listed = listed;
+        }
+
+        static PrefixTable of(List<Person> people, FollowerCounts followers) {
+            List<Entry> entries = new ArrayList<>();
+            people.forEach(person -> keysOf(person).forEach(key -> entries.add(new Entry(key, person))));
+            return sorted(entries, followers);
+        }
+
+        // The table with the keys of the given users dropped and replaced by those of their current row, if that
+        // row still belongs to this college; one copy and one sort for the whole batch
+        PrefixTable replacing(long collegeId, Set<Long> userIds, Map<Long, Person> current, FollowerCounts followers) {
+            List<Entry> entries = new ArrayList<>(keys.length + 2 * userIds.size());
+            for (int i = 0; i < keys.length; i++) {
+                if (!userIds.contains(people[i].userId())) {
+                    entries.add(new Entry(keys[i], people[i]));
+                }
+            }
+            for (Long userId : userIds) {
+                Person person = current.get(userId);
+                if (person != null && person.collegeId() == collegeId) {
+                    keysOf(person).forEach(key -> entries.add(new Entry(key, person)));
+                }
+            }
+            return sorted(entries, followers);
+        }
+
+        // The table with the ready lists the given people appear under ranked again, each list once
+        PrefixTable reranked(List<Person> reranked, FollowerCounts followers) {
+            Map<Long, Ranked> updated = null;
+            Set<Long> done = new HashSet<>();
+            for (Person person : reranked) {
+                for (String key : keysOf(person)) {
+                    for (int length = 1; length <= key.length(); length++) {
+                        String prefix = key.substring(0, length);
+                        int from = firstAtLeast(prefix);
+                        int to = endOf(prefix, from);
+                        if (to - from <= WALK_LIMIT) {
+                            break;
+                        }
+                        long range = range(from, to);
+                        if (listed.containsKey(range) && done.add(range)) {
+                            if (updated == null) {
+                                updated = new HashMap<>(listed);
+                            }
+                            updated.put(range, rank(from, to, LIST_SIZE, followers));
+                        }
+                    }
+                }
+            }
+            return updated == null ? this : new PrefixTable(keys, people, userCount, updated);
+        }
+
+        // Walks the range once, keeping the best size users; a user listed under several words is taken once
+        Ranked rank(int from, int to, int size, FollowerCounts followerCounts) {
+            long[] counts = followerCounts.of(people, from, to);
+            Person[] top = new Person[size];
+            long[] topFollowers = new long[size];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                Person person = people[i];
+                long followers = counts[i - from];
+                int at = count;
+                while (at > 0 && ranksBefore(person, followers, top[at - 1], topFollowers[at - 1])) {
+                    at--;
+                }
+                if (at == size || indexOf(top, count, person) >= 0) {
+                    continue;
+                }
+                int shifted = Math.min(count, size - 1) - at;
+                System.arraycopy(top, at, top, at + 1, shifted);
+                System.arraycopy(topFollowers, at, topFollowers, at + 1, shifted);
+                top[at] = person;
+                topFollowers[at] = followers;
+                count = Math.min(count + 1, size);
+            }
+            return new Ranked(top, topFollowers, count);
+        }
+
+        // First position whose key is not below the prefix; every key starting with it follows from there
+        int firstAtLeast(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // First position from the one firstAtLeast found whose key does not start with the prefix
+        int endOf(String prefix, int from) {
+            int low = from;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].startsWith(prefix)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Two array slots and a string per key (Latin-1, one byte per char), plus one Person per user and the lists
+        long estimatedBytes() {
+            long bytes = 32 + 48L * userCount + 16L * keys.length;
+            for (String key : keys) {
+                bytes += 40 + key.length();
+            }
+            return bytes + listed.size() * (LISTED_ENTRY_BYTES + 80 + 16L * LIST_SIZE);
+        }
+
+        // The full name, then the rest of the name from the start of each later word
+        private static List<String> keysOf(Person person) {
+            String name = normalize(person.name());
+            if (name.isEmpty()) {
+                return List.of();
+            }
+            List<String> keys = new ArrayList<>(2);
+            keys.add(name);
+            for (int i = 1; i < name.length(); i++) {
+                if (Character.isLetterOrDigit(name.charAt(i)) && !Character.isLetterOrDigit(name.charAt(i - 1))) {
+                    keys.add(name.substring(i));
+                }
+            }
+            return keys;
+        }
+
+        private static PrefixTable sorted(List<Entry> entries, FollowerCounts followers) {
+            entries.sort(ORDER);
+            String[] keys = new String[entries.size()];
+            Person[] people = new Person[entries.size()];
+            Set<Long> userIds = new HashSet<>();
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = entries.get(i).key();
+                people[i] = entries.get(i).person();
+                userIds.add(people[i].userId());
+            }
+            PrefixTable table = new PrefixTable(keys, people, userIds.size(), Map.of());
+            Map<Long, Ranked> crowded = new HashMap<>();
+            table.listCrowdedRanges(0, keys.length, 0, followers, crowded);
+            return new PrefixTable(keys, people, userIds.size(), crowded);
+        }
+
+        // Lists every range within [start, end) of more than WALK_LIMIT keys. The keys of [start, end) share their
+        // first depth chars, so splitting on the next one gives the ranges one char longer; a range equal to the
+        // one above it (every key went on the same way) is already listed and kept once.
+        private void listCrowdedRanges(int start, int end, int depth, FollowerCounts followers, Map<Long, Ranked> crowded) {
+            int from = start;
+            // A key that is just the shared prefix sorts first and belongs to no longer prefix
+            while (from < end && keys[from].length() == depth) {
+                from++;
+            }
+            while (from < end) {
+                char next = keys[from].charAt(depth);
+                int to = from + 1;
+                while (to < end && keys[to].charAt(depth) == next) {
+                    to++;
+                }
+                if (to - from > WALK_LIMIT) {
+                    long range = range(from, to);
+                    if (!crowded.containsKey(range)) {
+                        crowded.put(range, rank(from, to, LIST_SIZE, followers));
+                    }
+                    listCrowdedRanges(from, to, depth + 1, followers, crowded);
+                }
+                from = to;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.alumniassocaition1.mapper;
+
+import com.example.alumniassocaition1.dto.CommentDto;
+import com.example.alumniassocaition1.dto.user.UserProfileDto;
+import com.example.alumniassocaition1.dto.user.UserSummaryDto;
+import com.example.alumniassocaition1.entity.Comment;
+import com.example.alumniassocaition1.entity.Post;
+import com.example.alumniassocaition1.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the entity to DTO mappers against the BeanUtils.copyProperties mapping
+ * they replaced, for list-sized batches of users, profiles and comments.
+ * <p>
+ * Not a unit test; run it manually from the backend directory:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) com.example.alumniassocaition1.mapper.MappingBenchmark
+ * </pre>
+ * Allocation per operation is reported as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private List<User> users;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>(BATCH_SIZE);
+        comments = new ArrayList<>(BATCH_SIZE);
+        Post post = new Post();
+        post.setPostId(1L);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            User user = new User();
+            user.setUserId((long) i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setRole("alumnus");
+            user.setStatus("active");
+            user.setProfileHeadline("Engineer");
+            user.setProfileLocation("Pune");
+            user.setProfileAbout("About user " + i);
+            user.setProfilePictureUrl("/uploads/profile_pictures/" + i + ".png");
+            user.setCreatedAt(LocalDateTime.now());
+            users.add(user);
+
+            Comment comment = new Comment();
+            comment.setCommentId((long) i);
+            comment.setPost(post);
+            comment.setAuthor(user);
+            comment.setTextContent("Comment " + i);
+            comment.setCreatedAt(LocalDateTime.now());
+            comments.add(comment);
+        }
+    }
+
+    @Benchmark
+    public void summaryBeanUtils(Blackhole blackhole) {
+        for (User user : users) {
+            UserSummaryDto dto = new UserSummaryDto();
+            BeanUtils.copyProperties(user, dto);
+            dto.setId(user.getUserId());
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void summaryMapper(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(UserMapper.toSummaryDto(user));
+        }
+    }
+
+    @Benchmark
+    public void profileBeanUtils(Blackhole blackhole) {
+        for (User user : users) {
+            UserProfileDto dto = new UserProfileDto();
+            BeanUtils.copyProperties(user, dto);
+            dto.setId(user.getUserId());
+            dto.setFollowersCount(3L);
+            dto.setFollowingCount(5L);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void profileMapper(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(UserMapper.toProfileDto(user, 3L, 5L));
+        }
+    }
+
+    @Benchmark
+    public void commentBeanUtils(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            CommentDto dto = new CommentDto();
+            BeanUtils.copyProperties(comment, dto);
+            dto.setId(comment.getCommentId());
+            dto.setText(comment.getTextContent());
+            dto.setPostId(comment.getPost().getPostId());
+            UserSummaryDto authorDto = new UserSummaryDto();
+            BeanUtils.copyProperties(comment.getAuthor(), authorDto);
+            authorDto.setId(comment.getAuthor().getUserId());
+            dto.setAuthor(authorDto);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void commentMapper(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentMapper.toDto(comment));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
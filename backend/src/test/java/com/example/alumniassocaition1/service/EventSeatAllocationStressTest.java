@@ -0,0 +1,303 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.entity.College;
+import com.example.alumniassocaition1.entity.Event;
+import com.example.alumniassocaition1.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hundreds of users joining and leaving one limited-capacity event at the same moment must never overbook it,
+ * lose a seat, or leave a waiting user behind while a seat is free. Runs against the configured database with
+ * real commits, so every request is its own transaction, and removes its data afterwards.
+ */
+@SpringBootTest
+class EventSeatAllocationStressTest {
+
+    private static final int CAPACITY = 50;
+    private static final int USER_COUNT = 200;
+    private static final int THREADS = 32;
+    private static final int CHURN_CYCLES = 5;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSeatAllocator eventSeatAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private Long collegeId;
+    private Long eventId;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newFixedThreadPool(THREADS);
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            College college = new College();
+            college.setName("Seat stress college " + tag);
+            college.setRegistrationStatus("approved");
+            entityManager.persist(college);
+            collegeId = college.getCollegeId();
+
+            for (int i = 0; i < USER_COUNT; i++) {
+                User user = new User();
+                user.setCollege(college);
+                user.setName("Seat user " + i);
+                user.setEmail("seat" + i + "_" + tag + "@example.com");
+                user.setPasswordHash("not-a-real-hash");
+                user.setRole("alumnus");
+                user.setStatus("active");
+                entityManager.persist(user);
+                users.add(user);
+            }
+
+            Event event = new Event();
+            event.setTitle("Limited event " + tag);
+            event.setDescription("Description");
+            event.setEventDate(LocalDateTime.now().plusDays(7));
+            event.setLocation("Hall");
+            event.setCapacity(CAPACITY);
+            event.setCreatedBy(users.get(0));
+            event.setCollege(college);
+            entityManager.persist(event);
+            eventId = event.getEventId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        jdbcTemplate.update("DELETE FROM event_waitlist WHERE event_id = ?", eventId);
+        jdbcTemplate.update("DELETE FROM event_attendees WHERE event_id = ?", eventId);
+        jdbcTemplate.update("DELETE FROM events WHERE event_id = ?", eventId);
+        jdbcTemplate.update("DELETE FROM users WHERE college_id = ?", collegeId);
+        jdbcTemplate.update("DELETE FROM colleges WHERE college_id = ?", collegeId);
+    }
+
+    @Test
+    void concurrentJoinsFillCapacityExactlyAndWaitlistTheRest() throws Exception {
+        Map<EventJoinResult, Integer> results = joinAll(users);
+
+        assertEquals(CAPACITY, results.getOrDefault(EventJoinResult.JOINED, 0), "JOINED results");
+        assertEquals(USER_COUNT - CAPACITY, results.getOrDefault(EventJoinResult.WAITLISTED, 0), "WAITLISTED results");
+        assertSeats(CAPACITY, USER_COUNT - CAPACITY);
+
+        // Joining again changes nothing
+        Map<EventJoinResult, Integer> repeated = joinAll(users.subList(0, 20));
+        assertEquals(20, repeated.getOrDefault(EventJoinResult.ALREADY_JOINED, 0)
+                + repeated.getOrDefault(EventJoinResult.ALREADY_WAITLISTED, 0), "repeated joins");
+        assertSeats(CAPACITY, USER_COUNT - CAPACITY);
+    }
+
+    @Test
+    void concurrentLeavesPromoteWaitlistedUsersWithoutOverbooking() throws Exception {
+        joinAll(users);
+        List<Long> attending = jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_attendees WHERE event_id = ?", Long.class, eventId);
+        List<Long> waiting = jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_waitlist WHERE event_id = ?", Long.class, eventId);
+
+        // 30 attendees and 20 waiting users leave at once, racing the promotions
+        Set<Long> leavers = new HashSet<>(attending.subList(0, 30));
+        leavers.addAll(waiting.subList(0, 20));
+        List<Future<Void>> futures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (User user : users) {
+            if (leavers.contains(user.getUserId())) {
+                futures.add(executor.submit(asUser(user, start, () -> {
+                    eventService.leaveEvent(eventId);
+                    return null;
+                })));
+            }
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        assertSeats(CAPACITY, USER_COUNT - CAPACITY - leavers.size());
+        List<Long> stillListed = jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_attendees WHERE event_id = ? UNION ALL " +
+                "SELECT user_id FROM event_waitlist WHERE event_id = ?", Long.class, eventId, eventId);
+        assertTrue(stillListed.stream().noneMatch(leavers::contains), "a user who left is still attending or waiting");
+    }
+
+    @Test
+    void concurrentJoinsAndLeavesNeverStrandWaitingUsersBesideFreeSeats() throws Exception {
+        List<User> early = users.subList(0, CAPACITY + 10);
+        joinAll(early);
+        List<Long> attending = jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_attendees WHERE event_id = ?", Long.class, eventId);
+        Set<Long> churners = new HashSet<>(attending.subList(0, 30));
+
+        // 30 attendees repeatedly leave and rejoin while every remaining user joins, so seat releases keep racing
+        // joins that find the event full
+        List<Future<?>> futures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (User user : early) {
+            if (churners.contains(user.getUserId())) {
+                futures.add(executor.submit(asUser(user, start, () -> {
+                    for (int i = 0; i < CHURN_CYCLES; i++) {
+                        eventService.leaveEvent(eventId);
+                        eventService.joinEvent(eventId);
+                    }
+                    return null;
+                })));
+            }
+        }
+        for (User user : users.subList(early.size(), USER_COUNT)) {
+            futures.add(executor.submit(asUser(user, start, () -> eventService.joinEvent(eventId))));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        // Every user ends up wanting a seat, so all seats must be taken and everyone else waiting
+        assertSeats(CAPACITY, USER_COUNT - CAPACITY);
+    }
+
+    @Test
+    void seatReleasedWhileAJoinIsBeingWaitlistedGoesToThatUser() throws Exception {
+        joinAll(users.subList(0, CAPACITY));
+        Long joinerId = users.get(CAPACITY).getUserId();
+        Long leaverId = users.get(0).getUserId();
+
+        // The join finds the event full and waitlists the user, then holds its transaction open
+        CountDownLatch waitlisted = new CountDownLatch(1);
+        CountDownLatch commitJoin = new CountDownLatch(1);
+        Future<EventJoinResult> join = executor.submit(() -> transactionTemplate.execute(status -> {
+            EventJoinResult result = eventSeatAllocator.join(eventId, joinerId);
+            waitlisted.countDown();
+            awaitUninterruptibly(commitJoin);
+            return result;
+        }));
+        assertTrue(waitlisted.await(30, TimeUnit.SECONDS), "join did not reach the waitlist");
+
+        // An attendee leaves meanwhile; its promotion cannot see the uncommitted waitlist row
+        Future<Boolean> leave = executor.submit(() -> transactionTemplate.execute(
+                status -> eventSeatAllocator.leave(eventId, leaverId)));
+        try {
+            leave.get(1, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // Waiting for the join to commit
+        }
+        commitJoin.countDown();
+
+        assertEquals(EventJoinResult.WAITLISTED, join.get(30, TimeUnit.SECONDS));
+        assertTrue(leave.get(30, TimeUnit.SECONDS), "leave");
+        assertSeats(CAPACITY, 0);
+        assertTrue(Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM event_attendees WHERE event_id = ? AND user_id = ?)",
+                Boolean.class, eventId, joinerId)), "the waiting user holds the freed seat");
+    }
+
+    @Test
+    void raisingCapacityPromotesTheLongestWaitingUsers() throws Exception {
+        joinAll(users);
+        List<Long> firstInLine = jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_waitlist WHERE event_id = ? ORDER BY requested_at, user_id LIMIT 10",
+                Long.class, eventId);
+
+        Integer promoted = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE events SET capacity = ? WHERE event_id = ?", CAPACITY + 10, eventId);
+            return eventSeatAllocator.fillFreeSeats(eventId);
+        });
+
+        assertEquals(10, promoted, "promoted users");
+        assertSeats(CAPACITY + 10, USER_COUNT - CAPACITY - 10);
+        List<Long> attending = jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_attendees WHERE event_id = ?", Long.class, eventId);
+        assertTrue(attending.containsAll(firstInLine), "the first ten waiting users hold seats");
+    }
+
+    private Map<EventJoinResult, Integer> joinAll(List<User> joiners) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventJoinResult>> futures = new ArrayList<>(joiners.size());
+        for (User user : joiners) {
+            futures.add(executor.submit(asUser(user, start, () -> eventService.joinEvent(eventId))));
+        }
+        start.countDown();
+        Map<EventJoinResult, Integer> results = new EnumMap<>(EventJoinResult.class);
+        for (Future<EventJoinResult> future : futures) {
+            results.merge(future.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+        }
+        return results;
+    }
+
+    // Runs the call as the given user once every task has been submitted
+    private static <T> Callable<T> asUser(User user, CountDownLatch start, Callable<T> call) {
+        return () -> {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+            try {
+                start.await();
+                return call.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void assertSeats(int expectedAttendees, int expectedWaiting) {
+        assertEquals(expectedAttendees, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_attendees WHERE event_id = ?", Integer.class, eventId), "attendee rows");
+        assertEquals(expectedAttendees, jdbcTemplate.queryForObject(
+                "SELECT attendee_count FROM events WHERE event_id = ?", Integer.class, eventId), "events.attendee_count");
+        assertEquals(expectedWaiting, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_waitlist WHERE event_id = ?", Integer.class, eventId), "waitlist rows");
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.EventDto;
+import com.example.alumniassocaition1.entity.College;
+import com.example.alumniassocaition1.entity.Event;
+import com.example.alumniassocaition1.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Event reads must cost a fixed number of statements, however many events are listed and however many
+ * people attend them. Runs in a rolled-back transaction against the configured database.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class EventServiceQueryCountTest {
+
+    private static final int EVENT_COUNT = 25;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSeatAllocator eventSeatAllocator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User viewer;
+    private final List<Event> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+
+        College college = new College();
+        college.setName("Query count college " + tag);
+        college.setRegistrationStatus("approved");
+        entityManager.persist(college);
+
+        viewer = newUser(college, "viewer_" + tag + "@example.com");
+        User creator = newUser(college, "creator_" + tag + "@example.com");
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            others.add(newUser(college, "attendee" + i + "_" + tag + "@example.com"));
+        }
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setDescription("Description");
+            event.setEventDate(LocalDateTime.now().plusDays(i + 1));
+            event.setLocation("Hall");
+            event.setCreatedBy(creator);
+            event.setCollege(college);
+            entityManager.persist(event);
+            entityManager.flush();
+            events.add(event);
+            // The viewer attends every other event; attendee numbers grow with the index
+            if (i % 2 == 0) {
+                attend(event, viewer);
+            }
+            others.subList(0, i % others.size()).forEach(user -> attend(event, user));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(viewer.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void eventListCostsTheSameStatementsForAnyPageSize() {
+        long smallPage = countStatements(() -> eventService.getEvents(PageRequest.of(0, 5)));
+        long fullPage = countStatements(() -> eventService.getEvents(PageRequest.of(0, EVENT_COUNT)));
+
+        assertEquals(smallPage, fullPage, "statements for a 5-event page vs a " + EVENT_COUNT + "-event page");
+    }
+
+    @Test
+    void eventListResolvesAttendanceFromOneLookup() {
+        Page<EventDto> page = eventService.getEvents(PageRequest.of(0, EVENT_COUNT));
+
+        assertEquals(EVENT_COUNT, page.getNumberOfElements());
+        for (EventDto event : page.getContent()) {
+            int index = indexOf(event.getId());
+            assertEquals(index % 2 == 0, event.isAttending(), "isAttending of event " + index);
+            assertEquals((index % 2 == 0 ? 1 : 0) + index % 10, event.getAttendeeCount(), "attendeeCount of event " + index);
+        }
+    }
+
+    @Test
+    void eventDetailCostsTheSameStatementsForAnyAttendeeCount() {
+        long noAttendees = countStatements(() -> eventService.getEventById(events.get(1).getEventId()));
+        long manyAttendees = countStatements(() -> eventService.getEventById(events.get(EVENT_COUNT - 1).getEventId()));
+
+        assertEquals(noAttendees, manyAttendees, "statements for an event with no attendees vs a full one");
+    }
+
+    private long countStatements(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private int indexOf(Long eventId) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).getEventId().equals(eventId)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unexpected event " + eventId);
+    }
+
+    private User newUser(College college, String email) {
+        User user = new User();
+        user.setCollege(college);
+        user.setName(email);
+        user.setEmail(email);
+        user.setPasswordHash("not-a-real-hash");
+        user.setRole("alumnus");
+        user.setStatus("active");
+        entityManager.persist(user);
+        return user;
+    }
+
+    // Through the allocator, so Event.attendeeCount moves with the attendee rows
+    private void attend(Event event, User user) {
+        eventSeatAllocator.join(event.getEventId(), user.getUserId());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.alumniassocaition1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The open-addressing counter behind the suggestion walk: counts survive growth and match a boxed map.
+ */
+class LongHashCounterTest {
+
+    @Test
+    void countsEveryIncrement() {
+        LongHashCounter counter = new LongHashCounter();
+
+        counter.increment(7);
+        counter.increment(42);
+        counter.increment(7);
+
+        assertEquals(2, counter.size());
+        assertEquals(2, counter.get(7));
+        assertEquals(1, counter.get(42));
+        assertEquals(0, counter.get(8));
+        assertEquals(0, counter.get(0));
+        assertThrows(IllegalArgumentException.class, () -> counter.increment(0));
+        assertThrows(IllegalArgumentException.class, () -> counter.increment(-3));
+    }
+
+    @Test
+    void growsKeepingEveryCount() {
+        Random random = new Random(19);
+        LongHashCounter counter = new LongHashCounter();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(20_000);
+            counter.increment(id);
+            expected.merge(id, 1, Integer::sum);
+        }
+
+        assertEquals(expected.size(), counter.size());
+        expected.forEach((id, count) -> assertEquals(count, counter.get(id), "count of " + id));
+        long[] keys = counter.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.alumniassocaition1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The open-addressing set behind the follow graph: membership, growth, and backward-shift deletion, which must
+ * never cut a probe run short and hide an element that is still present.
+ */
+class LongHashSetTest {
+
+    @Test
+    void addRemoveAndContains() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(7));
+        assertFalse(set.add(7), "adding twice");
+        assertTrue(set.add(42));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(7));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(8));
+
+        assertTrue(set.remove(7));
+        assertFalse(set.remove(7), "removing twice");
+        assertFalse(set.contains(7));
+        assertTrue(set.contains(42));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(42));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void idsMustBePositive() {
+        LongHashSet set = new LongHashSet();
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(0));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-3));
+        assertThrows(IllegalArgumentException.class, () -> set.remove(0));
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(-3));
+    }
+
+    @Test
+    void growsKeepingEveryElement() {
+        LongHashSet set = new LongHashSet();
+        long initialBytes = set.estimatedBytes();
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(set.add(id));
+        }
+
+        assertEquals(10_000, set.size());
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(set.contains(id), "lost " + id + " while growing");
+        }
+        assertFalse(set.contains(10_001));
+        assertTrue(set.estimatedBytes() > initialBytes, "the table grew");
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(LongStream.rangeClosed(1, 10_000).toArray(), values);
+    }
+
+    @Test
+    void forEachStopsAtTheLimit() {
+        LongHashSet set = new LongHashSet();
+        for (long id = 1; id <= 100; id++) {
+            set.add(id);
+        }
+        Set<Long> visited = new HashSet<>();
+
+        set.forEach(10, id -> assertTrue(visited.add(id), "visited twice: " + id));
+        assertEquals(10, visited.size());
+        visited.forEach(id -> assertTrue(set.contains(id)));
+
+        visited.clear();
+        set.forEach(1_000, visited::add);
+        assertEquals(100, visited.size());
+    }
+
+    @Test
+    void removalsKeepProbeRunsIntact() {
+        // Ids from a small range added and removed at random, so removals keep shifting entries back, also across
+        // the end of the table
+        Random random = new Random(18);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(512);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), set.remove(id), "remove " + id);
+            } else {
+                assertEquals(expected.add(id), set.add(id), "add " + id);
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long id = 1; id <= 512; id++) {
+            assertEquals(expected.contains(id), set.contains(id), "contains " + id);
+        }
+        set.forEach(id -> assertTrue(expected.contains(id), "unexpected " + id));
+    }
+}
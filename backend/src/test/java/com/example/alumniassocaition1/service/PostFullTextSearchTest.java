@@ -0,0 +1,233 @@
+package com.example.alumniassocaition1.service;
+
+import com.example.alumniassocaition1.dto.CursorPage;
+import com.example.alumniassocaition1.dto.post.PostSearchHitDto;
+import com.example.alumniassocaition1.entity.College;
+import com.example.alumniassocaition1.entity.Comment;
+import com.example.alumniassocaition1.entity.Post;
+import com.example.alumniassocaition1.entity.User;
+import com.example.alumniassocaition1.repository.PostRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Full-text search over posts and comments, against an embedded PostgreSQL (tsvector, GIN and ts_rank have
+ * no stand-in elsewhere). Covers ranking, college scoping, keyset paging, re-indexing on edit, and that the
+ * query plans read the GIN indexes. PostgreSQL will not run as root, so there the test is skipped.
+ */
+@SpringBootTest
+@Transactional
+class PostFullTextSearchTest {
+
+    private static final int FILLER_ROWS = 5000;
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL refuses to run as root");
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    // DataSourceConfig connects to a fixed database; point the application at the embedded one instead
+    @TestConfiguration
+    static class EmbeddedDataSource {
+
+        @Bean
+        static BeanPostProcessor embeddedDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource
+                            ? postgres.getPostgresDatabase()
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private College college;
+    private User alice;
+    private Post reunionPost;
+    private Post photosPost;
+    private Post mentorPost;
+    private Comment reunionComment;
+
+    @BeforeEach
+    void setUp() {
+        college = newCollege("Search college");
+        alice = newUser(college, "alice@example.com");
+        User bob = newUser(college, "bob@example.com");
+
+        reunionPost = newPost(alice, "Reunion dinner at the old campus. The reunion committee booked the hall, " +
+                "and reunion tickets are on sale now.");
+        photosPost = newPost(bob, "Photos from last year's alumni reunion are finally up.");
+        mentorPost = newPost(alice, "Looking for a mentor in data engineering.");
+        reunionComment = newComment(mentorPost, bob, "Ask at the mentoring table during the reunion.");
+
+        College otherCollege = newCollege("Other college");
+        newPost(newUser(otherCollege, "carol@example.com"), "Reunion, reunion, reunion: our own reunion.");
+        entityManager.flush();
+        entityManager.clear();
+
+        UserDetails principal = org.springframework.security.core.userdetails.User.withUsername(alice.getEmail())
+                .password(alice.getPasswordHash()).authorities(List.of()).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void searchRanksMatchesFromTheCallersCollegeOnly() {
+        List<PostSearchHitDto> hits = postService.searchPosts("reunion", null, 20).getItems();
+
+        assertEquals(3, hits.size(), "post and comment hits of the caller's college");
+        assertEquals(reunionPost.getPostId(), hits.get(0).getId(), "the post repeating the term ranks first");
+        assertTrue(hits.stream().anyMatch(hit -> "post".equals(hit.getType()) && hit.getId().equals(photosPost.getPostId())));
+        assertTrue(hits.stream().anyMatch(hit -> "comment".equals(hit.getType())
+                && hit.getId().equals(reunionComment.getCommentId())
+                && hit.getPostId().equals(mentorPost.getPostId())));
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getRank() >= hits.get(i).getRank(), "ranks descend at " + i);
+        }
+    }
+
+    @Test
+    void searchPagesThroughEveryHitOnce() {
+        List<PostSearchHitDto> all = postService.searchPosts("reunion", null, 20).getItems();
+
+        List<PostSearchHitDto> paged = new ArrayList<>();
+        String cursor = null;
+        CursorPage<PostSearchHitDto> page;
+        do {
+            page = postService.searchPosts("reunion", cursor, 1);
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertEquals(keys(all), keys(paged));
+    }
+
+    @Test
+    void editedPostIsFoundByItsNewText() {
+        Post post = entityManager.find(Post.class, mentorPost.getPostId());
+        post.setContent("Looking for a mentor in machine learning.");
+        entityManager.flush();
+
+        assertTrue(postService.searchPosts("engineering", null, 20).getItems().isEmpty());
+        assertEquals(List.of(mentorPost.getPostId()),
+                postService.searchPosts("learning", null, 20).getItems().stream().map(PostSearchHitDto::getId).toList());
+    }
+
+    @Test
+    void searchIsServedByTheGinIndexes() {
+        // Enough unrelated rows that reading the whole college costs more than the indexes
+        jdbcTemplate.update("INSERT INTO posts (author_id, college_id, content, created_at, updated_at) " +
+                "SELECT ?, ?, CAST(lo_from_bytea(0, convert_to('Filler post number ' || g, 'UTF8')) AS text), now(), now() " +
+                "FROM generate_series(1, ?) g", alice.getUserId(), college.getCollegeId(), FILLER_ROWS);
+        jdbcTemplate.update("INSERT INTO comments (post_id, author_id, text_content, created_at, updated_at) " +
+                "SELECT ?, ?, lo_from_bytea(0, convert_to('Filler comment number ' || g, 'UTF8')), now(), now() " +
+                "FROM generate_series(1, ?) g", photosPost.getPostId(), alice.getUserId(), FILLER_ROWS);
+        // Fresh GIN entries wait in a pending list that the planner prices as a scan; merge them as vacuum would
+        jdbcTemplate.queryForList("SELECT gin_clean_pending_list(CAST(? AS regclass))", "idx_posts_search_vector");
+        jdbcTemplate.queryForList("SELECT gin_clean_pending_list(CAST(? AS regclass))", "idx_comments_search_vector");
+        jdbcTemplate.execute("ANALYZE posts, comments");
+
+        String plan = String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "EXPLAIN " + PostRepository.TEXT_SEARCH_FIRST_PAGE,
+                Map.of("collegeId", college.getCollegeId(), "query", "reunion", "limit", 21), String.class));
+
+        assertTrue(plan.contains("idx_posts_search_vector"), plan);
+        assertTrue(plan.contains("idx_comments_search_vector"), plan);
+        assertFalse(plan.contains("Seq Scan on posts") || plan.contains("Seq Scan on comments"), plan);
+    }
+
+    private static List<String> keys(List<PostSearchHitDto> hits) {
+        return hits.stream().map(hit -> hit.getType() + ":" + hit.getId()).toList();
+    }
+
+    private College newCollege(String name) {
+        College college = new College();
+        college.setName(name);
+        college.setRegistrationStatus("approved");
+        entityManager.persist(college);
+        return college;
+    }
+
+    private User newUser(College college, String email) {
+        User user = new User();
+        user.setCollege(college);
+        user.setName(email);
+        user.setEmail(email);
+        user.setPasswordHash("not-a-real-hash");
+        user.setRole("alumnus");
+        user.setStatus("active");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Post newPost(User author, String content) {
+        Post post = new Post();
+        post.setAuthor(author);
+        post.setCollege(author.getCollege());
+        post.setContent(content);
+        entityManager.persist(post);
+        return post;
+    }
+
+    private Comment newComment(Post post, User author, String text) {
+        Comment comment = new Comment();
+        comment.setPost(post);
+        comment.setAuthor(author);
+        comment.setTextContent(text);
+        entityManager.persist(comment);
+        return comment;
+    }
+}
@@ -10,6 +10,7 @@ function EditEventForm({ onSubmit, onCancel, initialData = {} }) {
   const [description, setDescription] = useState('');
   const [date, setDate] = useState(''); // Format for datetime-local: YYYY-MM-DDTHH:mm
   const [location, setLocation] = useState('');
+  const [capacity, setCapacity] = useState(''); // Blank means unlimited
 
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState(null);
@@ -22,6 +23,7 @@ function EditEventForm({ onSubmit, onCancel, initialData = {} }) {
       // Format date from ISO string to datetime-local compatible string
       setDate(initialData.date ? initialData.date.substring(0, 16) : '');
       setLocation(initialData.location || '');
+      setCapacity(initialData.capacity ? String(initialData.capacity) : '');
     }
   }, [initialData]);
 
@@ -32,7 +34,8 @@ function EditEventForm({ onSubmit, onCancel, initialData = {} }) {
       title !== (initialData.title || '') ||
       description !== (initialData.description || '') ||
       date !== (initialData.date ? initialData.date.substring(0, 16) : '') ||
-      location !== (initialData.location || '')
+      location !== (initialData.location || '') ||
+      capacity !== (initialData.capacity ? String(initialData.capacity) : '')
     );
   };
 
@@ -44,6 +47,10 @@ function EditEventForm({ onSubmit, onCancel, initialData = {} }) {
         setError("No changes detected.");
         return;
     }
+    if (capacity && !(Number.isInteger(Number(capacity)) && Number(capacity) > 0)) {
+        setError("Capacity must be a positive whole number.");
+        return;
+    }
     setIsLoading(true);
 
     const updatedEventData = {
@@ -51,6 +58,7 @@ function EditEventForm({ onSubmit, onCancel, initialData = {} }) {
       description,
       date: date ? new Date(date).toISOString() : null, // Convert back to ISO string
       location,
+      capacity: capacity || undefined, // Raising it promotes users from the waitlist
     };
 
     try {
@@ -89,6 +97,11 @@ function EditEventForm({ onSubmit, onCancel, initialData = {} }) {
         onChange={(e) => setLocation(e.target.value)} required disabled={isLoading}
       />
 
+      <Input
+        label="Capacity (optional)" id="edit-event-capacity" name="capacity" type="number" min="1" step="1" value={capacity}
+        onChange={(e) => setCapacity(e.target.value)} placeholder="Unlimited" disabled={isLoading}
+      />
+
       <div className="pt-2 flex justify-end space-x-3">
         <Button type="button" variant="secondary" onClick={onCancel} disabled={isLoading}>
           Cancel
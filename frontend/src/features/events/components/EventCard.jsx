@@ -33,6 +33,12 @@ function EventCard({ event }) {
         <p className="text-gray-600 text-sm mb-3">
           <span className="font-medium">Location:</span> {event.location || 'Location TBD'}
         </p>
+        {event.capacity != null && (
+          <p className="text-gray-600 text-sm mb-3 -mt-2">
+            <span className="font-medium">Seats:</span> {event.attendeeCount ?? 0} / {event.capacity}
+            {(event.attendeeCount ?? 0) >= event.capacity && <span className="ml-2 text-xs font-semibold text-red-600 uppercase">Full, waitlist open</span>}
+          </p>
+        )}
         <p className="text-gray-700 text-sm mb-4 line-clamp-3 flex-grow">
             {event.description}
         </p>
@@ -10,6 +10,7 @@ function EventForm({ onSubmit, initialData = {}, isEditMode = false }) {
   // which is typically "YYYY-MM-DDTHH:MM" or "YYYY-MM-DDTHH:MM:SS"
   const [date, setDate] = useState(''); 
   const [location, setLocation] = useState('');
+  const [capacity, setCapacity] = useState(''); // Blank means unlimited; extra joins go to the waitlist
   const [collegeId, setCollegeId] = useState(''); // Optional: if you want to send collegeId
 
   const [selectedFile, setSelectedFile] = useState(null);
@@ -41,6 +42,7 @@ function EventForm({ onSubmit, initialData = {}, isEditMode = false }) {
         setDate('');
     }
     setLocation(initialData.location || '');
+    setCapacity(initialData.capacity ? String(initialData.capacity) : '');
     setCollegeId(initialData.collegeId || ''); // If you have collegeId in initialData
 
     if (isEditMode && initialData.imageUrl) {
@@ -82,6 +84,10 @@ function EventForm({ onSubmit, initialData = {}, isEditMode = false }) {
         setError("Title, description, date, and location are required.");
         return;
     }
+    if (capacity && !(Number.isInteger(Number(capacity)) && Number(capacity) > 0)) {
+        setError("Capacity must be a positive whole number.");
+        return;
+    }
     setIsLoading(true);
 
     // eventDetails.date will be the string from the datetime-local input (e.g., "2025-05-22T19:42")
@@ -90,6 +96,7 @@ function EventForm({ onSubmit, initialData = {}, isEditMode = false }) {
       description,
       date, // Pass the direct value from the datetime-local input
       location,
+      capacity: capacity || undefined,
       collegeId: collegeId || undefined, // Send if has value
       // For updates, signaling image removal needs specific logic if desired
       ...(isEditMode && initialData.imageUrl && !previewUrl && !selectedFile && { removeCurrentImage: true }),
@@ -100,7 +107,7 @@ function EventForm({ onSubmit, initialData = {}, isEditMode = false }) {
     try {
       await onSubmit(eventDetails, selectedFile);
       if (!isEditMode) {
-        setTitle(''); setDescription(''); setDate(''); setLocation(''); setCollegeId(''); removeImage();
+        setTitle(''); setDescription(''); setDate(''); setLocation(''); setCapacity(''); setCollegeId(''); removeImage();
       }
     } catch (err) {
       setError(err.message || `Failed to ${isEditMode ? 'update' : 'create'} event.`);
@@ -133,6 +140,10 @@ function EventForm({ onSubmit, initialData = {}, isEditMode = false }) {
         label="Location" id="location" name="location" value={location}
         onChange={(e) => setLocation(e.target.value)} required disabled={isLoading}
       />
+      <Input
+        label="Capacity (optional)" id="capacity" name="capacity" type="number" min="1" step="1" value={capacity}
+        onChange={(e) => setCapacity(e.target.value)} placeholder="Unlimited" disabled={isLoading}
+      />
       {/* Optional College ID input if admin can assign to other colleges */}
       {/* <Input label="College ID (Optional)" id="collegeId" name="collegeId" type="number" value={collegeId} onChange={(e) => setCollegeId(e.target.value)} disabled={isLoading} /> */}
 
@@ -43,6 +43,7 @@ function PostCard({ post, onDeletePost, onUpdatePost }) {
   const [comments, setComments] = useState([]);
   const [showComments, setShowComments] = useState(false);
   const [isLoadingComments, setIsLoadingComments] = useState(false);
+  const [commentsCursor, setCommentsCursor] = useState(null); // nextCursor of the last loaded page, null when done
   const [newCommentText, setNewCommentText] = useState('');
   const [isAddingComment, setIsAddingComment] = useState(false);
   const [actionError, setActionError] = useState(null);
@@ -87,20 +88,26 @@ function PostCard({ post, onDeletePost, onUpdatePost }) {
     finally { setIsLikeLoading(false); }
   };
 
+  const loadCommentsPage = useCallback(async (cursor) => {
+    if (!post?.id) return;
+    setIsLoadingComments(true); setActionError(null);
+    try {
+      const page = await fetchCommentsService(post.id, cursor);
+      setComments(prev => (cursor ? [...prev, ...(page?.items || [])] : page?.items || []));
+      setCommentsCursor(page?.hasMore ? page.nextCursor : null);
+    } catch (err) { 
+      setActionError(err.message || err.data?.message || "Could not load comments."); 
+    } 
+    finally { setIsLoadingComments(false); }
+  }, [post?.id]);
+
   const handleToggleComments = useCallback(async () => {
     const nextShowComments = !showComments;
     setShowComments(nextShowComments);
-    if (nextShowComments && comments.length === 0 && post?.id) {
-      setIsLoadingComments(true); setActionError(null);
-      try {
-        const fetchedComments = await fetchCommentsService(post.id);
-        setComments(fetchedComments || []);
-      } catch (err) { 
-        setActionError(err.message || err.data?.message || "Could not load comments."); 
-      } 
-      finally { setIsLoadingComments(false); }
+    if (nextShowComments && comments.length === 0) {
+      await loadCommentsPage(null);
     }
-  }, [showComments, comments.length, post?.id]);
+  }, [showComments, comments.length, loadCommentsPage]);
 
   const handleAddComment = async (e) => {
     e.preventDefault();
@@ -273,6 +280,25 @@ function PostCard({ post, onDeletePost, onUpdatePost }) {
         </div>
         {/* --- End Like and Comment Buttons --- */}
 
+        {/* Latest comments preview, embedded in the feed response (no request per post) */}
+        {!showComments && post.latestComments?.length > 0 && (
+          <div className="mt-3 space-y-1">
+            {[...post.latestComments].reverse().map(comment => (
+              <p key={comment.id} className="text-sm text-gray-700 truncate">
+                <Link to={comment.author?.id ? `/users/${comment.author.id}` : '#'} className="font-semibold text-gray-800 hover:underline mr-1">
+                  {comment.author?.name || 'User'}
+                </Link>
+                {comment.text}
+              </p>
+            ))}
+            {commentsCount > post.latestComments.length && (
+              <button onClick={handleToggleComments} className="text-xs text-gray-500 hover:text-blue-500">
+                View all {commentsCount} comments
+              </button>
+            )}
+          </div>
+        )}
+
         {/* --- Comments Section - RESTORED --- */}
         {showComments && (
           <div className="mt-4 pt-4 border-t border-gray-200">
@@ -301,7 +327,7 @@ function PostCard({ post, onDeletePost, onUpdatePost }) {
               </form>
             )}
             
-            {isLoadingComments ? (
+            {isLoadingComments && comments.length === 0 ? (
               <div className="text-center py-4"><Spinner size="w-6 h-6" /></div>
             ) : comments.length > 0 ? (
               <div className="space-y-3">
@@ -336,6 +362,13 @@ function PostCard({ post, onDeletePost, onUpdatePost }) {
                     </div>
                   );
                 })}
+                {commentsCursor && (
+                  <div className="text-center">
+                    <Button onClick={() => loadCommentsPage(commentsCursor)} isLoading={isLoadingComments} disabled={isLoadingComments} variant="ghost" size="small" className="text-xs">
+                      Load more comments
+                    </Button>
+                  </div>
+                )}
               </div>
             ) : (
               !isLoadingComments && <p className="text-gray-500 text-sm text-center py-2">No comments yet. Be the first to comment!</p>
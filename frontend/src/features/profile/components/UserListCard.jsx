@@ -44,6 +44,7 @@
                            {user.name || 'Unknown User'}
                        </Link>
                        {user.role && <p className="text-xs text-gray-500 capitalize">{user.role}</p>}
+                       {user.mutualFollows > 0 && <p className="text-xs text-gray-400">Followed by {user.mutualFollows} {user.mutualFollows === 1 ? 'person' : 'people'} you follow</p>}
                    </div>
                    {/* Optional: Add Follow/Unfollow button here if needed */}
                 </li>
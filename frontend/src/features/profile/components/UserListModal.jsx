@@ -13,8 +13,10 @@ import Spinner from '../../../components/common/Spinner/Spinner';
  * @param {Array<object>} props.users - Array of user objects { id, name, role? }.
  * @param {boolean} props.isLoading - Whether the list is currently loading.
  * @param {string|null} props.error - Error message, if any.
+ * @param {function} [props.onLoadMore] - Loads the next page of a paged list; a "Load more" button is shown while set.
+ * @param {boolean} [props.isLoadingMore] - Whether the next page is currently loading.
  */
-function UserListModal({ isOpen, onClose, title, users = [], isLoading, error }) {
+function UserListModal({ isOpen, onClose, title, users = [], isLoading, error, onLoadMore, isLoadingMore }) {
 
   // Helper to get initials for avatar placeholder
   const getInitials = (name) => {
@@ -52,6 +54,13 @@ function UserListModal({ isOpen, onClose, title, users = [], isLoading, error })
                  {/* Optional: Add Follow/Unfollow button here if needed */}
               </li>
             ))}
+            {onLoadMore && (
+              <li className="text-center pt-1">
+                <button onClick={onLoadMore} disabled={isLoadingMore} className="text-xs text-blue-600 hover:underline disabled:text-gray-400">
+                  {isLoadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </li>
+            )}
           </ul>
         ) : (
           <p className="text-sm text-gray-500 italic text-center py-4">No users found in this list.</p>
@@ -111,7 +111,12 @@ if (import.meta.env.MODE === 'development') { // Vite specific env variable
   });
 
   // --- Event Handlers ---
-  mock.onGet('/events').reply(200, [...mockEvents]);
+  mock.onGet('/events').reply(200, { content: [...mockEvents], last: true, totalElements: mockEvents.length });
+
+  mock.onGet('/events/upcoming').reply(() => {
+      const now = new Date();
+      return [200, mockEvents.filter(e => new Date(e.date) > now).sort((a, b) => new Date(a.date) - new Date(b.date)).slice(0, 3)];
+  });
 
   mock.onGet(/\/events\/(\d+)/).reply((config) => {
       const eventId = parseInt(config.url.split('/').pop(), 10);
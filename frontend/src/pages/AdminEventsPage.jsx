@@ -13,7 +13,10 @@ function AdminEventsPage() {
   const [error, setError] = useState(null);
   const [actionLoadingEventId, setActionLoadingEventId] = useState(null);
 
-  const loadEvents = useCallback(async () => { /* ... load logic ... */ setError(null); try { const data = await fetchEvents(); setEvents(data); } catch (err) { setError(err.message || 'Could not load events.'); setEvents([]); } finally { } }, []);
+  const [nextPage, setNextPage] = useState(null); // null once every page is loaded
+
+  const loadEvents = useCallback(async () => { /* ... load logic ... */ setError(null); try { const data = await fetchEvents(0, 20); setEvents(data?.content || []); setNextPage(data?.last ? null : 1); } catch (err) { setError(err.message || 'Could not load events.'); setEvents([]); } finally { } }, []);
+  const loadMoreEvents = async () => { if (nextPage === null) return; try { const data = await fetchEvents(nextPage, 20); setEvents(prev => [...prev, ...(data?.content || [])]); setNextPage(data?.last ? null : nextPage + 1); } catch (err) { setError(err.message || 'Could not load more events.'); } };
   useEffect(() => { setIsLoading(true); loadEvents().finally(() => setIsLoading(false)); }, [loadEvents]);
 
   const handleAdminRemove = async (eventId) => { /* ... remove logic ... */ if (actionLoadingEventId) return; setError(null); setActionLoadingEventId(eventId); if (window.confirm(`ADMIN ACTION: Are you sure...?`)) { try { await removeEventByAdmin(eventId); setEvents(currentEvents => currentEvents.filter(event => event.id !== eventId)); } catch (err) { setError(`Failed to remove event ${eventId}: ${err.message || 'Unknown error'}`); } finally { setActionLoadingEventId(null); } } else { setActionLoadingEventId(null); } };
@@ -44,6 +47,12 @@ function AdminEventsPage() {
          !error && <p className="text-center text-gray-500 py-4">No events found on the platform.</p>
       )}
 
+      {!isLoading && nextPage !== null && (
+        <div className="text-center">
+          <button onClick={loadMoreEvents} className="text-sm text-blue-600 hover:underline">Load more events</button>
+        </div>
+      )}
+
     </div>
   );
 }
@@ -3,6 +3,7 @@ import React, { useState, useEffect, useCallback } from 'react';
 import { useParams, Link, useNavigate } from 'react-router-dom';
 import {
     fetchEventById,
+    fetchEventAttendees,
     joinEvent as joinEventService,
     leaveEvent as leaveEventService,
     updateEvent as updateEventService,
@@ -13,6 +14,10 @@ import Button from '../components/common/Button/Button';
 import Spinner from '../components/common/Spinner/Spinner';
 import { useAuth } from '../contexts/AuthContext';
 import EditEventModal from '../features/events/components/EditEventModal';
+import UserListModal from '../features/profile/components/UserListModal';
+
+// The backend serializes isAttending as "attending"; accept either spelling
+const readAttending = (data) => (data.attending ?? data.isAttending) === true;
 
 function EventDetailPage() {
   const { eventId } = useParams();
@@ -24,9 +29,18 @@ function EventDetailPage() {
   const [error, setError] = useState(null);
 
   const [isAttending, setIsAttending] = useState(false);
+  const [isWaitlisted, setIsWaitlisted] = useState(false); // Waiting for a seat at a full event
+  const [joinNotice, setJoinNotice] = useState(null);
   const [isJoinLeaveLoading, setIsJoinLeaveLoading] = useState(false);
   const [attendeeCount, setAttendeeCount] = useState(0);
 
+  // Full attendee list, loaded page by page only when opened
+  const [isAttendeesOpen, setIsAttendeesOpen] = useState(false);
+  const [attendees, setAttendees] = useState([]);
+  const [attendeesCursor, setAttendeesCursor] = useState(null);
+  const [isLoadingAttendees, setIsLoadingAttendees] = useState(false);
+  const [attendeesError, setAttendeesError] = useState(null);
+
   const [isEditModalOpen, setIsEditModalOpen] = useState(false);
   const [isDeleting, setIsDeleting] = useState(false);
 
@@ -37,6 +51,13 @@ function EventDetailPage() {
   const isCreator = isAuthenticated && event && event.createdBy && event.createdBy.id === loggedInUser?.id;
   const canModifyEvent = isCreator || isAdmin;
 
+  const applyEventState = useCallback((data) => {
+    setEvent(data);
+    setAttendeeCount(data.attendeeCount || 0);
+    setIsAttending(readAttending(data));
+    setIsWaitlisted(data.waitlisted === true);
+  }, []);
+
   const loadEventDetails = useCallback(async () => {
     if (isNaN(numericEventId)) {
       setError("Invalid Event ID.");
@@ -49,19 +70,8 @@ function EventDetailPage() {
     try {
       const data = await fetchEventById(numericEventId);
       console.log("[EventDetailPage] Fetched event data on revisit/load:", data);
-      console.log(`[EventDetailPage] data.isAttending from backend:`, data.isAttending, `(type: ${typeof data.isAttending})`);
-
-      setEvent(data);
-      setAttendeeCount(data.attendees?.length || 0);
-
-      // More robust check for isAttending
-      if (typeof data.isAttending === 'boolean') {
-        setIsAttending(data.isAttending);
-      } else {
-        console.warn("[EventDetailPage] data.isAttending was not a boolean, defaulting to false. Received:", data.isAttending);
-        setIsAttending(false);
-      }
-      console.log("[EventDetailPage] Event loaded/reloaded. Current isAttending state:", data.isAttending || false);
+      applyEventState(data);
+      console.log("[EventDetailPage] Event loaded/reloaded. Attending:", readAttending(data), "waitlisted:", data.waitlisted === true);
 
     } catch (err) {
       console.error("[EventDetailPage] Load event error:", err);
@@ -69,65 +79,70 @@ function EventDetailPage() {
       // Clear out event data on error to prevent showing stale info
       setEvent(null);
       setIsAttending(false);
+      setIsWaitlisted(false);
       setAttendeeCount(0);
     } finally {
       setIsLoading(false); // Ensure loading is set to false
     }
-  }, [numericEventId]); // Only numericEventId, as other dependencies like loggedInUser are stable or handled by auth context
+  }, [numericEventId, applyEventState]); // Other dependencies like loggedInUser are stable or handled by auth context
 
   useEffect(() => {
     setIsLoading(true); // Set loading true for initial load
     loadEventDetails();
   }, [loadEventDetails]); // Rerun if loadEventDetails changes (which it does if numericEventId changes)
 
+  // Seats are allocated by the server (the event may be full), so join/leave re-fetch the event instead of guessing
   const handleJoin = async () => {
-    if (!isAuthenticated || isJoinLeaveLoading || !event?.id || isAttending) return;
-    setIsJoinLeaveLoading(true); setError(null);
-    const originalIsAttending = isAttending;
-    const originalAttendeeCount = attendeeCount;
-
-    setIsAttending(true);
-    setAttendeeCount(prev => prev + 1);
-
+    if (!isAuthenticated || isJoinLeaveLoading || !event?.id || isAttending || isWaitlisted) return;
+    setIsJoinLeaveLoading(true); setError(null); setJoinNotice(null);
     try {
-      await joinEventService(event.id);
-      console.log(`[EventDetailPage] Successfully called joinEvent service for event ${event.id}`);
-      // Optionally, force a re-fetch of event details to ensure UI consistency with backend state
-      // await loadEventDetails(); // Uncomment this to force re-fetch after join
+      const result = await joinEventService(event.id);
+      console.log(`[EventDetailPage] Successfully called joinEvent service for event ${event.id}`, result);
+      if (result?.message) setJoinNotice(result.message);
+      await loadEventDetails();
     } catch (err) {
       console.error("[EventDetailPage] Join event error:", err);
       setError(err.message || err.data?.message || "Failed to join event. Please try again.");
-      setIsAttending(originalIsAttending);
-      setAttendeeCount(originalAttendeeCount);
     } finally {
       setIsJoinLeaveLoading(false);
     }
   };
 
+  // Leaves the event or its waitlist; a freed seat goes to the next user waiting
   const handleLeave = async () => {
-    if (!isAuthenticated || isJoinLeaveLoading || !event?.id || !isAttending) return;
-    setIsJoinLeaveLoading(true); setError(null);
-    const originalIsAttending = isAttending;
-    const originalAttendeeCount = attendeeCount;
-
-    setIsAttending(false);
-    setAttendeeCount(prev => Math.max(0, prev - 1));
-
+    if (!isAuthenticated || isJoinLeaveLoading || !event?.id || !(isAttending || isWaitlisted)) return;
+    setIsJoinLeaveLoading(true); setError(null); setJoinNotice(null);
     try {
       await leaveEventService(event.id);
       console.log(`[EventDetailPage] Successfully called leaveEvent service for event ${event.id}`);
-      // Optionally, force a re-fetch
-      // await loadEventDetails(); // Uncomment this to force re-fetch after leave
+      await loadEventDetails();
     } catch (err) {
       console.error("[EventDetailPage] Leave event error:", err);
       setError(err.message || err.data?.message || "Failed to leave event. Please try again.");
-      setIsAttending(originalIsAttending);
-      setAttendeeCount(originalAttendeeCount);
     } finally {
       setIsJoinLeaveLoading(false);
     }
   };
 
+  const loadAttendeesPage = async (cursor) => {
+    setIsLoadingAttendees(true); setAttendeesError(null);
+    try {
+      const page = await fetchEventAttendees(numericEventId, cursor);
+      setAttendees(prev => (cursor ? [...prev, ...(page?.items || [])] : page?.items || []));
+      setAttendeesCursor(page?.hasMore ? page.nextCursor : null);
+    } catch (err) {
+      setAttendeesError(err.message || err.data?.message || "Could not load attendees.");
+    } finally {
+      setIsLoadingAttendees(false);
+    }
+  };
+
+  const openAttendees = () => {
+    setIsAttendeesOpen(true);
+    setAttendees([]);
+    loadAttendeesPage(null); // Always start from the first page, the list may have changed since the last look
+  };
+
   const openEditModal = () => (canModifyEvent ? setIsEditModalOpen(true) : setError("Not authorized."));
   const closeEditModal = () => setIsEditModalOpen(false);
 
@@ -136,14 +151,7 @@ function EventDetailPage() {
     // setError(null); // Error will be set by form or here
     try {
       const updatedEventFromServer = await updateEventService(event.id, eventDetailsFromForm, imageFile);
-      setEvent(updatedEventFromServer);
-      // Update related states if necessary from updatedEventFromServer
-      setAttendeeCount(updatedEventFromServer.attendees?.length || 0);
-      if (typeof updatedEventFromServer.isAttending === 'boolean') {
-        setIsAttending(updatedEventFromServer.isAttending);
-      } else {
-        setIsAttending(false);
-      }
+      applyEventState(updatedEventFromServer);
       closeEditModal();
       alert("Event updated successfully!"); // Consider a less obtrusive notification
     } catch (error) {
@@ -185,6 +193,7 @@ function EventDetailPage() {
   if (!event) return <div className="text-center p-10">Event not found. <Link to="/events" className="text-blue-500 underline ml-2">Go to Events</Link></div>;
 
   const canJoinOrLeave = isAuthenticated && loggedInUser?.role !== 'admin';
+  const isFull = event.capacity != null && attendeeCount >= event.capacity;
 
   return (
     <>
@@ -196,7 +205,25 @@ function EventDetailPage() {
         <div className="mb-6 space-y-2 text-gray-700">
            <p><strong className="font-semibold">Date & Time:</strong> {formattedDate}</p>
            <p><strong className="font-semibold">Location:</strong> {event.location || 'N/A'}</p>
-           <p><strong className="font-semibold">Attendees:</strong> {attendeeCount}</p>
+           <p><strong className="font-semibold">Attendees:</strong> {attendeeCount}{event.capacity != null && ` / ${event.capacity}`}{isFull && <span className="ml-2 text-xs font-semibold text-red-600 uppercase">Full</span>}</p>
+           {event.attendeePreview?.length > 0 && (
+             <div className="flex items-center gap-2">
+               <div className="flex -space-x-2">
+                 {event.attendeePreview.map(attendee => (
+                   <Link key={attendee.id} to={`/users/${attendee.id}`} title={attendee.name}>
+                     {attendee.profilePictureUrl ? (
+                       <img src={attendee.profilePictureUrl} alt={attendee.name} className="w-8 h-8 rounded-full object-cover ring-2 ring-white" />
+                     ) : (
+                       <div className="w-8 h-8 rounded-full bg-gray-200 ring-2 ring-white flex items-center justify-center text-xs font-semibold text-gray-600">
+                         {attendee.name?.charAt(0).toUpperCase() || '?'}
+                       </div>
+                     )}
+                   </Link>
+                 ))}
+               </div>
+               <button onClick={openAttendees} className="text-sm text-blue-600 hover:underline">See all attendees</button>
+             </div>
+           )}
            {event.createdBy && <p className="text-xs text-gray-500">Organized by: <Link to={`/users/${event.createdBy.id}`} className="text-blue-500 hover:underline">{event.createdBy.name || 'Unknown'}</Link></p>}
         </div>
         <div className="prose max-w-none mb-8"><h2 className="text-xl font-semibold text-gray-800 mb-2 border-b pb-1">Description</h2><p className="text-gray-700 whitespace-pre-wrap">{event.description || 'N/A'}</p></div>
@@ -205,10 +232,16 @@ function EventDetailPage() {
             {canJoinOrLeave && (
                 isAttending ? (
                     <Button variant="secondary" onClick={handleLeave} isLoading={isJoinLeaveLoading} disabled={isJoinLeaveLoading || isDeleting} className="bg-yellow-500 hover:bg-yellow-600 text-white">Leave Event</Button>
+                ) : isWaitlisted ? (
+                    <div className="flex items-center gap-3">
+                        <span className="text-sm font-medium text-indigo-700">You are on the waitlist</span>
+                        <Button variant="secondary" onClick={handleLeave} isLoading={isJoinLeaveLoading} disabled={isJoinLeaveLoading || isDeleting}>Leave Waitlist</Button>
+                    </div>
                 ) : (
-                    <Button variant="primary" onClick={handleJoin} isLoading={isJoinLeaveLoading} disabled={isJoinLeaveLoading || isDeleting} className="bg-green-500 hover:bg-green-600">Join Event</Button>
+                    <Button variant="primary" onClick={handleJoin} isLoading={isJoinLeaveLoading} disabled={isJoinLeaveLoading || isDeleting} className="bg-green-500 hover:bg-green-600">{isFull ? 'Join Waitlist' : 'Join Event'}</Button>
                 )
             )}
+            {joinNotice && <p className="text-sm text-gray-600 self-center">{joinNotice}</p>}
             {!isAuthenticated && <p className="text-sm text-gray-500">Log in to join this event.</p>}
 
            {canModifyEvent && (
@@ -220,6 +253,17 @@ function EventDetailPage() {
         </div>
       </div>
 
+      <UserListModal
+        isOpen={isAttendeesOpen}
+        onClose={() => setIsAttendeesOpen(false)}
+        title={`Attendees (${attendeeCount})`}
+        users={attendees}
+        isLoading={isLoadingAttendees && attendees.length === 0}
+        error={attendeesError}
+        onLoadMore={attendeesCursor ? () => loadAttendeesPage(attendeesCursor) : undefined}
+        isLoadingMore={isLoadingAttendees}
+      />
+
       {isEditModalOpen && event && (
         <EditEventModal isOpen={isEditModalOpen} onClose={closeEditModal} eventToEdit={event} onUpdateEvent={handleUpdateEventInPage} />
       )}
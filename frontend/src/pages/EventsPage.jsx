@@ -10,6 +10,8 @@ function EventsPage() {
   const [events, setEvents] = useState([]);
   const [isLoading, setIsLoading] = useState(true); // Manage loading state
   const [error, setError] = useState(null); // Manage error state
+  const [nextPage, setNextPage] = useState(null); // Index of the next page to load, null when all are loaded
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const { user, isAuthenticated } = useAuth();
 
   // Determine if user can create events
@@ -22,9 +24,10 @@ function EventsPage() {
       setIsLoading(true); // Set loading true before fetch
       setError(null); // Clear previous errors
       try {
-        const data = await fetchEvents(); // Call the service
+        const data = await fetchEvents(0); // Call the service
         if (isMounted) {
-            setEvents(data); // Update state if component is still mounted
+            setEvents(data?.content || []); // Update state if component is still mounted
+            setNextPage(data?.last ? null : 1);
         }
       } catch (err) {
         console.error("Failed to fetch events:", err);
@@ -45,6 +48,21 @@ function EventsPage() {
     return () => { isMounted = false };
   }, []); // Empty dependency array means run once on mount
 
+  const loadMoreEvents = async () => {
+    if (nextPage === null || isLoadingMore) return;
+    setIsLoadingMore(true);
+    try {
+      const data = await fetchEvents(nextPage);
+      setEvents(prev => [...prev, ...(data?.content || [])]);
+      setNextPage(data?.last ? null : nextPage + 1);
+    } catch (err) {
+      console.error("Failed to fetch more events:", err);
+      setError(err.message || 'Could not load more events.');
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   // --- Helper function to render error message ---
   const renderError = () => (
     <div className="bg-red-100 border border-red-400 text-red-700 px-4 py-3 rounded relative text-center mt-6" role="alert">
@@ -82,7 +100,16 @@ function EventsPage() {
           renderError() // Show error message if error occurred
       ) : (
           // Show EventList only if not loading and no error
-          <EventList events={events} />
+          <>
+            <EventList events={events} />
+            {nextPage !== null && (
+              <div className="text-center mt-6">
+                <button onClick={loadMoreEvents} disabled={isLoadingMore} className="text-sm bg-gray-100 hover:bg-gray-200 text-gray-700 px-4 py-2 rounded disabled:opacity-50">
+                  {isLoadingMore ? 'Loading...' : 'Load more events'}
+                </button>
+              </div>
+            )}
+          </>
       )}
     </div>
   );
@@ -3,7 +3,8 @@
     import CreatePostForm from '../features/posts/components/CreatePostForm';
     import PostList from '../features/posts/components/PostList';
     // Import the updated service functions
-    import { fetchPosts, createPost, updatePost, deletePost as deletePostService } from '../services/posts';
+    import { Link } from 'react-router-dom';
+    import { fetchPosts, fetchPostById, createPost, updatePost, deletePost as deletePostService, subscribeToPostStream, searchPosts } from '../services/posts';
     import { useAuth } from '../contexts/AuthContext';
     import Spinner from '../components/common/Spinner/Spinner';
 
@@ -11,6 +12,9 @@
       const [posts, setPosts] = useState([]);
       const [isLoading, setIsLoading] = useState(true);
       const [error, setError] = useState(null);
+      // Post search: the submitted query and its pages of hits; the feed shows while no query is active
+      const [searchInput, setSearchInput] = useState('');
+      const [search, setSearch] = useState(null); // { query, items, nextCursor, hasMore, isLoading }
       const { user, isAuthenticated } = useAuth();
 
       const canCreatePosts = isAuthenticated && user && (user.role === 'alumnus' || user.role === 'admin');
@@ -19,7 +23,7 @@
         setError(null);
         // setIsLoading(true); // Set loading true for subsequent loads if any
         try {
-          const data = await fetchPosts(page, size); // Pass page and size
+          const data = await fetchPosts(page, size, { commentPreview: true }); // Pass page and size
           // Assuming data is { content: [], totalPages: X, ... }
           if (data && Array.isArray(data.content)) {
              // For infinite scroll, you'd append: setPosts(prev => page === 0 ? data.content : [...prev, ...data.content]);
@@ -43,6 +47,30 @@
         loadPosts(0,10).finally(() => setIsLoading(false)); // Load initial page
       }, [loadPosts]);
 
+      // Live updates for the college feed instead of re-fetching the whole page
+      useEffect(() => {
+        if (!isAuthenticated) return undefined;
+        const unsubscribe = subscribeToPostStream(async (event) => {
+          if (event.type === 'post.deleted') {
+            setPosts(currentPosts => currentPosts.filter(post => post.id !== event.postId));
+          } else if (event.type === 'post.likes') {
+            setPosts(currentPosts => currentPosts.map(post =>
+              post.id === event.postId ? { ...post, likesCount: event.likesCount } : post
+            ));
+          } else if (event.type === 'post.created' || event.type === 'post.updated') {
+            try {
+              const post = await fetchPostById(event.postId);
+              setPosts(currentPosts => currentPosts.some(p => p.id === post.id)
+                ? currentPosts.map(p => (p.id === post.id ? post : p))
+                : (event.type === 'post.created' ? [post, ...currentPosts] : currentPosts));
+            } catch (err) {
+              console.error(`[FeedPage] Could not load post ${event.postId} from stream event:`, err);
+            }
+          }
+        });
+        return unsubscribe;
+      }, [isAuthenticated]);
+
       /**
        * Handles the creation of a new post.
        * Receives an object from CreatePostForm containing content and imageFile.
@@ -91,6 +119,56 @@
         }
       };
 
+      const runSearch = async (query, cursor = '') => {
+        setSearch(current => ({ ...(cursor ? current : { query, items: [] }), isLoading: true }));
+        try {
+          const page = await searchPosts(query, cursor);
+          setSearch(current => ({ query, items: [...(cursor ? current.items : []), ...page.items],
+                                  nextCursor: page.nextCursor, hasMore: page.hasMore, isLoading: false }));
+        } catch (err) {
+          setError(err.message || err.data?.message || "Failed to search posts.");
+          setSearch(current => current && { ...current, isLoading: false });
+        }
+      };
+
+      const handleSearchSubmit = (e) => {
+        e.preventDefault();
+        const query = searchInput.trim();
+        if (query) {
+          runSearch(query);
+        } else {
+          setSearch(null);
+        }
+      };
+
+      const clearSearch = () => { setSearchInput(''); setSearch(null); };
+
+      const renderSearchResults = () => (
+        <div className="bg-white shadow rounded-lg p-4 mb-4">
+          <div className="flex justify-between items-center mb-2">
+            <h2 className="text-lg font-semibold text-gray-800">Results for "{search.query}"</h2>
+            <button onClick={clearSearch} className="text-sm text-indigo-600 hover:underline">Back to feed</button>
+          </div>
+          {search.items.length === 0 && !search.isLoading && <p className="text-sm text-gray-500">No posts or comments match.</p>}
+          <ul className="divide-y divide-gray-100">
+            {search.items.map(hit => (
+              <li key={`${hit.type}-${hit.id}`} className="py-2">
+                <div className="text-xs text-gray-500">
+                  {hit.type === 'comment' ? 'Comment by ' : 'Post by '}
+                  <Link to={`/users/${hit.authorId}`} className="font-medium text-gray-800 hover:underline">{hit.authorName}</Link>
+                  {hit.createdAt && <span> · {new Date(hit.createdAt).toLocaleDateString()}</span>}
+                </div>
+                <p className="text-sm text-gray-700">{hit.snippet}</p>
+              </li>
+            ))}
+          </ul>
+          {search.isLoading && <div className="text-center py-2"><Spinner size="w-6 h-6" /></div>}
+          {search.hasMore && !search.isLoading && (
+            <button onClick={() => runSearch(search.query, search.nextCursor)} className="mt-2 text-sm text-indigo-600 hover:underline">Load more</button>
+          )}
+        </div>
+      );
+
       const renderError = () => ( <div className="bg-red-100 border border-red-400 text-red-700 px-4 py-3 rounded relative text-center my-4" role="alert"> <strong className="font-bold">Error:</strong> <span className="block sm:inline"> {error}</span> <button onClick={() => setError(null)} className="absolute top-0 bottom-0 right-0 px-4 py-3" aria-label="Close error"><span className="text-xl leading-none">×</span></button> </div> );
       const renderLoading = () => ( <div className="text-center mt-10 py-10"><Spinner size="w-12 h-12" /></div> );
 
@@ -98,11 +176,20 @@
         <div className="max-w-2xl mx-auto">
           <h1 className="text-2xl font-semibold mb-4 sr-only">Activity Feed</h1>
 
-          {canCreatePosts && <CreatePostForm onPostCreated={handleCreatePost} />}
+          <form onSubmit={handleSearchSubmit} className="flex gap-2 mb-4">
+            <input type="search" value={searchInput} onChange={(e) => setSearchInput(e.target.value)}
+                   placeholder="Search posts and comments" aria-label="Search posts and comments"
+                   className="flex-grow border border-gray-300 rounded-md px-3 py-2 text-sm focus:outline-none focus:ring-2 focus:ring-indigo-500" />
+            <button type="submit" className="px-4 py-2 bg-indigo-600 text-white text-sm rounded-md hover:bg-indigo-700">Search</button>
+          </form>
 
           {error && !isLoading && renderError()}
 
-          {isLoading ? (
+          {search && renderSearchResults()}
+
+          {!search && canCreatePosts && <CreatePostForm onPostCreated={handleCreatePost} />}
+
+          {search ? null : isLoading ? (
               renderLoading()
           ) : (
               <PostList
@@ -2,7 +2,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
-import { fetchEvents } from '../services/events';
+import { fetchUpcomingEvents } from '../services/events';
 import { fetchPosts } from '../services/posts'; // Corrected service
 import Spinner from '../components/common/Spinner/Spinner';
 
@@ -31,19 +31,13 @@ function HomePage() {
       try {
         // Fetch events and the first few posts (e.g., 3 posts for the homepage)
         // The fetchPosts service now returns the content array directly.
-        const [eventsData, postsArray] = await Promise.all([
-          fetchEvents(),
+        const [upcoming, postsArray] = await Promise.all([
+          fetchUpcomingEvents(3), // The server filters future events and returns the three soonest
           fetchPosts(0, 3) // Fetch page 0, size 3 (for top 3 recent posts)
         ]);
 
         if (isMounted) {
-          // Process Events: Filter future events, sort by date, take top 3
-          const now = new Date();
-          const futureEvents = (eventsData || []) // Handle case where eventsData might be null/undefined
-            .filter(event => event.date && new Date(event.date) > now)
-            .sort((a, b) => new Date(a.date) - new Date(b.date))
-            .slice(0, 3);
-          setUpcomingEvents(futureEvents);
+          setUpcomingEvents(upcoming || []);
 
           // Process Posts: Backend already sorts by createdAt descending.
           // postsArray is now the actual array of posts.
@@ -5,7 +5,7 @@ import ProfileHeader from '../features/profile/components/ProfileHeader';
 import ProfileDetails from '../features/profile/components/ProfileDetails';
 import Spinner from '../components/common/Spinner/Spinner';
 import UserListCard from '../features/profile/components/UserListCard';
-import { fetchFollowers, fetchFollowing } from '../services/profile';
+import { fetchFollowers, fetchFollowing, fetchUserProfileById } from '../services/profile';
 import UserListModal from '../features/profile/components/UserListModal';
 
 function ProfilePage() {
@@ -13,12 +13,16 @@ function ProfilePage() {
 
   const [followers, setFollowers] = useState([]);
   const [following, setFollowing] = useState([]);
+  const [counts, setCounts] = useState(null); // { followersCount, followingCount } of the own profile
+  // Cursors of the next follower/following pages, null once a list is fully loaded
+  const [followersCursor, setFollowersCursor] = useState(null);
+  const [followingCursor, setFollowingCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [isLoadingLists, setIsLoadingLists] = useState(false);
   const [listError, setListError] = useState(null);
 
   const [isListModalOpen, setIsListModalOpen] = useState(false);
-  const [modalTitle, setModalTitle] = useState('');
-  const [modalUsers, setModalUsers] = useState([]);
+  const [modalList, setModalList] = useState(null); // 'followers' or 'following'
 
   const loadFollowLists = useCallback(async (currentUserId) => {
     if (!currentUserId || typeof currentUserId !== 'number') {
@@ -34,12 +38,16 @@ function ProfilePage() {
     setListError(null);
     try {
       console.log(`[ProfilePage] Fetching follow lists for user ID: ${currentUserId}`);
-      const [followersData, followingData] = await Promise.all([
+      const [followersPage, followingPage, profile] = await Promise.all([
         fetchFollowers(currentUserId),
-        fetchFollowing(currentUserId)
+        fetchFollowing(currentUserId),
+        fetchUserProfileById(currentUserId) // Totals; the lists only hold the first page
       ]);
-      setFollowers(followersData || []);
-      setFollowing(followingData || []);
+      setFollowers(followersPage?.items || []);
+      setFollowing(followingPage?.items || []);
+      setFollowersCursor(followersPage?.hasMore ? followersPage.nextCursor : null);
+      setFollowingCursor(followingPage?.hasMore ? followingPage.nextCursor : null);
+      setCounts({ followersCount: profile?.followersCount, followingCount: profile?.followingCount });
     } catch (err) {
       console.error("[ProfilePage] Failed to load follower/following lists:", err);
       setListError(err.message || err.data?.message || "Could not load follower/following lists.");
@@ -69,9 +77,29 @@ function ProfilePage() {
   }, [isAuthLoading, isAuthenticated, user?.id, loadFollowLists]); // user?.id ensures re-fetch if user changes
 
 
-  const handleShowFollowers = () => { setModalTitle(`Followers (${followers.length})`); setModalUsers(followers); setIsListModalOpen(true); };
-  const handleShowFollowing = () => { setModalTitle(`Following (${following.length})`); setModalUsers(following); setIsListModalOpen(true); };
-  const closeListModal = () => { setIsListModalOpen(false); setModalTitle(''); setModalUsers([]); };
+  // Appends the next page of the list shown in the modal
+  const loadMore = async () => {
+    const isFollowers = modalList === 'followers';
+    const cursor = isFollowers ? followersCursor : followingCursor;
+    if (!cursor || !user?.id) return;
+    setIsLoadingMore(true);
+    try {
+      const page = await (isFollowers ? fetchFollowers : fetchFollowing)(user.id, cursor);
+      (isFollowers ? setFollowers : setFollowing)(prev => [...prev, ...(page?.items || [])]);
+      (isFollowers ? setFollowersCursor : setFollowingCursor)(page?.hasMore ? page.nextCursor : null);
+    } catch (err) {
+      setListError(err.message || err.data?.message || "Could not load more users.");
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
+  const followersCount = counts?.followersCount ?? followers.length;
+  const followingCount = counts?.followingCount ?? following.length;
+  const handleShowFollowers = () => { setModalList('followers'); setIsListModalOpen(true); };
+  const handleShowFollowing = () => { setModalList('following'); setIsListModalOpen(true); };
+  const closeListModal = () => { setIsListModalOpen(false); setModalList(null); };
+  const modalCursor = modalList === 'followers' ? followersCursor : followingCursor;
 
   if (isAuthLoading) {
     return <div className="text-center py-20"><Spinner size="w-12 h-12" /></div>;
@@ -99,8 +127,8 @@ function ProfilePage() {
       <div className="max-w-4xl mx-auto">
         <ProfileHeader
             user={user}
-            followerCount={!isLoadingLists && !listError ? followers.length : undefined}
-            followingCount={!isLoadingLists && !listError ? following.length : undefined}
+            followerCount={!isLoadingLists && !listError ? followersCount : undefined}
+            followingCount={!isLoadingLists && !listError ? followingCount : undefined}
             onFollowersClick={handleShowFollowers}
             onFollowingClick={handleShowFollowing}
         />
@@ -114,12 +142,21 @@ function ProfilePage() {
                <div className="bg-white p-6 rounded-lg shadow-md"> <h2 className="text-xl font-semibold text-gray-700 mb-4">My Activity (Placeholder)</h2> <p className="text-sm text-gray-500">Your posts and event activity will go here.</p> </div>
            </div>
            <div className="space-y-6">
-                <UserListCard title={`Following (${following.length})`} users={following} isLoading={isLoadingLists} error={listError ? "Could not load following list." : null} />
-                <UserListCard title={`Followers (${followers.length})`} users={followers} isLoading={isLoadingLists} error={listError ? "Could not load followers list." : null} />
+                <UserListCard title={`Following (${followingCount})`} users={following} isLoading={isLoadingLists} error={listError ? "Could not load following list." : null} />
+                <UserListCard title={`Followers (${followersCount})`} users={followers} isLoading={isLoadingLists} error={listError ? "Could not load followers list." : null} />
            </div>
         </div>
       </div>
-      <UserListModal isOpen={isListModalOpen} onClose={closeListModal} title={modalTitle} users={modalUsers} isLoading={isLoadingLists} error={listError} />
+      <UserListModal
+        isOpen={isListModalOpen}
+        onClose={closeListModal}
+        title={modalList === 'followers' ? `Followers (${followersCount})` : `Following (${followingCount})`}
+        users={modalList === 'followers' ? followers : following}
+        isLoading={isLoadingLists}
+        error={listError}
+        onLoadMore={modalCursor ? loadMore : undefined}
+        isLoadingMore={isLoadingMore}
+      />
     </>
   );
 }
@@ -1,21 +1,52 @@
 // src/pages/SearchPage.jsx
-import React, { useState, useCallback } from 'react';
+import React, { useState, useCallback, useEffect } from 'react';
+import { Link } from 'react-router-dom';
 // Import the search service
-import { searchUsers } from '../services/search'; // <-- Import service
+import { searchAll, autocompleteUsers } from '../services/search'; // <-- Import service
+import { fetchSuggestions } from '../services/profile';
 import Spinner from '../components/common/Spinner/Spinner';
 import UserListCard from '../features/profile/components/UserListCard'; // Re-use for displaying users
 
 function SearchPage() {
   const [searchResults, setSearchResults] = useState([]);
+  const [postResults, setPostResults] = useState([]);
+  const [eventResults, setEventResults] = useState([]);
+  const [skippedSources, setSkippedSources] = useState([]); // Sources that timed out or failed
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [hasSearched, setHasSearched] = useState(false); // Track if a search has been performed
+  const [suggestions, setSuggestions] = useState([]);
+  const [typedPrefix, setTypedPrefix] = useState('');
+  const [nameSuggestions, setNameSuggestions] = useState([]);
+
+  // "People you may know", shown until a search is made
+  useEffect(() => {
+    fetchSuggestions(10)
+      .then(data => setSuggestions(data || []))
+      .catch(err => console.error("[SearchPage] Could not load suggestions:", err));
+  }, []);
+
+  // Name typeahead: one request per keystroke, answers to older keystrokes are ignored
+  useEffect(() => {
+    if (!typedPrefix.trim()) {
+      setNameSuggestions([]);
+      return undefined;
+    }
+    let cancelled = false;
+    autocompleteUsers(typedPrefix, 8)
+      .then(data => { if (!cancelled) setNameSuggestions(data || []); })
+      .catch(() => { if (!cancelled) setNameSuggestions([]); });
+    return () => { cancelled = true; };
+  }, [typedPrefix]);
 
   // --- Updated Search Handler to use the service ---
   const handleSearch = useCallback(async (query) => {
     if (!query.trim()) {
       setSearchResults([]);
+      setPostResults([]);
+      setEventResults([]);
+      setSkippedSources([]);
       setError(null);
       setSearchTerm('');
       setHasSearched(false); // Reset searched state
@@ -23,19 +54,26 @@ function SearchPage() {
     }
     setIsLoading(true);
     setError(null);
+    setTypedPrefix('');
     setSearchTerm(query); // Store the query
     setHasSearched(true); // Mark that a search has been performed
     console.log(`[SearchPage] Searching for: "${query}" via service...`);
     try {
-      // --- Call the Search Users Service ---
-      const results = await searchUsers(query); // <-- Call service
+      // --- Call the unified search service: users, posts and events ---
+      const results = await searchAll(query, 10); // <-- Call service
       console.log("[SearchPage] Search results from service:", results);
-      setSearchResults(results);
+      setSearchResults(results.users.items);
+      setPostResults(results.posts.items);
+      setEventResults(results.events.items);
+      setSkippedSources(['users', 'posts', 'events'].filter(source => results[source].status !== 'ok'));
 
     } catch (err) {
       console.error("Search error:", err);
       setError(err.message || "Failed to fetch search results.");
       setSearchResults([]);
+      setPostResults([]);
+      setEventResults([]);
+      setSkippedSources([]);
     } finally {
       setIsLoading(false);
     }
@@ -58,14 +96,30 @@ function SearchPage() {
         }}
         className="flex gap-2 items-center p-4 bg-white rounded-lg shadow"
       >
-        <input
-          type="search"
-          name="searchQuery"
-          placeholder="Search by name, email, role..."
-          className="flex-grow p-2 border border-gray-300 rounded-md focus:outline-none focus:ring-2 focus:ring-indigo-500"
-          disabled={isLoading}
-          // defaultValue={searchTerm} // Optional: keep search term in input
-        />
+        <div className="relative flex-grow">
+          <input
+            type="search"
+            name="searchQuery"
+            placeholder="Search by name, email, role..."
+            autoComplete="off"
+            className="w-full p-2 border border-gray-300 rounded-md focus:outline-none focus:ring-2 focus:ring-indigo-500"
+            disabled={isLoading}
+            onChange={(e) => setTypedPrefix(e.target.value)}
+            // defaultValue={searchTerm} // Optional: keep search term in input
+          />
+          {nameSuggestions.length > 0 && (
+            <ul className="absolute z-10 left-0 right-0 mt-1 bg-white border border-gray-200 rounded-md shadow-lg">
+              {nameSuggestions.map(user => (
+                <li key={user.id}>
+                  <Link to={`/users/${user.id}`} className="flex justify-between px-3 py-2 text-sm hover:bg-indigo-50">
+                    <span className="font-medium text-gray-800">{user.name}</span>
+                    <span className="text-xs text-gray-500">{user.followerCount} followers</span>
+                  </Link>
+                </li>
+              ))}
+            </ul>
+          )}
+        </div>
         <button
           type="submit"
           className="bg-indigo-600 hover:bg-indigo-700 text-white font-medium py-2 px-4 rounded-md disabled:opacity-50"
@@ -83,21 +137,56 @@ function SearchPage() {
         {isLoading && !error && (
           <div className="text-center py-10"><Spinner size="w-10 h-10" /></div>
         )}
+        {!isLoading && !error && hasSearched && skippedSources.length > 0 && (
+          <p className="text-sm text-yellow-700 bg-yellow-50 rounded px-3 py-2 mb-4">
+            Some sections could not be searched in time and are missing: {skippedSources.join(', ')}.
+          </p>
+        )}
         {!isLoading && !error && searchResults.length > 0 && (
           <UserListCard
-            title={`Search Results for "${searchTerm}" (${searchResults.length})`}
+            title={`People matching "${searchTerm}" (${searchResults.length})`}
             users={searchResults}
             isLoading={false} // Page handles loading for search results
             error={null}      // Page handles errors for search results
           />
         )}
+        {!isLoading && !error && postResults.length > 0 && (
+          <div className="bg-white rounded-lg shadow p-4 mt-4">
+            <h2 className="text-lg font-semibold text-gray-800 mb-2">Posts ({postResults.length})</h2>
+            <ul className="divide-y divide-gray-100">
+              {postResults.map(post => (
+                <li key={post.id} className="py-2 text-sm">
+                  <Link to={`/users/${post.author?.id}`} className="font-medium text-gray-800 hover:underline">{post.author?.name}</Link>
+                  <p className="text-gray-600 line-clamp-2">{post.content}</p>
+                </li>
+              ))}
+            </ul>
+          </div>
+        )}
+        {!isLoading && !error && eventResults.length > 0 && (
+          <div className="bg-white rounded-lg shadow p-4 mt-4">
+            <h2 className="text-lg font-semibold text-gray-800 mb-2">Events ({eventResults.length})</h2>
+            <ul className="divide-y divide-gray-100">
+              {eventResults.map(event => (
+                <li key={event.id} className="py-2 text-sm">
+                  <Link to={`/events/${event.id}`} className="font-medium text-indigo-700 hover:underline">{event.title}</Link>
+                  <p className="text-gray-500">{new Date(event.date).toLocaleString()} · {event.location}</p>
+                </li>
+              ))}
+            </ul>
+          </div>
+        )}
         {/* Show 'No results' only if a search has been performed and results are empty */}
-        {!isLoading && !error && searchResults.length === 0 && hasSearched && (
-          <p className="text-center text-gray-500 mt-6">No users found matching "{searchTerm}".</p>
+        {!isLoading && !error && searchResults.length === 0 && postResults.length === 0 && eventResults.length === 0 && hasSearched && (
+          <p className="text-center text-gray-500 mt-6">Nothing found matching "{searchTerm}".</p>
         )}
         {/* Initial message before any search */}
         {!isLoading && !error && !hasSearched && (
-          <p className="text-center text-gray-500 mt-6">Enter a search term to find users.</p>
+          suggestions.length > 0 ? (
+            <UserListCard title="People you may know" users={suggestions} isLoading={false} error={null} />
+          ) : (
+            <p className="text-center text-gray-500 mt-6">Enter a search term to find users.</p>
+          )
         )}
       </div>
     </div>
@@ -30,12 +30,15 @@ function UserProfilePage() {
 
   const [followers, setFollowers] = useState([]);
   const [following, setFollowing] = useState([]);
+  // Cursors of the next follower/following pages, null once a list is fully loaded
+  const [followersCursor, setFollowersCursor] = useState(null);
+  const [followingCursor, setFollowingCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [isLoadingLists, setIsLoadingLists] = useState(false);
   const [listError, setListError] = useState(null);
 
   const [isListModalOpen, setIsListModalOpen] = useState(false);
-  const [modalTitle, setModalTitle] = useState('');
-  const [modalUsers, setModalUsers] = useState([]);
+  const [modalList, setModalList] = useState(null); // 'followers' or 'following'
 
   const numericUserId = parseInt(userIdFromParams, 10);
 
@@ -62,21 +65,18 @@ function UserProfilePage() {
       setProfileUser(profileData);
 
       // Then fetch followers and following
-      const [followersData, followingData] = await Promise.all([
+      const [followersPage, followingPage] = await Promise.all([
         fetchFollowers(targetUserId),
         fetchFollowing(targetUserId)
       ]);
-      
-      setFollowers(followersData || []);
-      setFollowing(followingData || []);
-
-      // Determine initial follow status
-      // Check if the loggedInUser (if exists) is among the followers of the profileUser
-      if (isAuthenticated && loggedInUser?.id && followersData?.some(follower => follower.id === loggedInUser.id)) {
-        setIsFollowing(true);
-      } else {
-        setIsFollowing(false); // Explicitly set to false if not found or not logged in
-      }
+
+      setFollowers(followersPage?.items || []);
+      setFollowing(followingPage?.items || []);
+      setFollowersCursor(followersPage?.hasMore ? followersPage.nextCursor : null);
+      setFollowingCursor(followingPage?.hasMore ? followingPage.nextCursor : null);
+
+      // Initial follow status comes with the profile, so the followers list need not be scanned
+      setIsFollowing(Boolean(isAuthenticated && profileData.followedByCurrentUser));
 
     } catch (err) {
       console.error(`[UserProfilePage] Failed to load profile/lists for user ${targetUserId}:`, err);
@@ -114,6 +114,7 @@ function UserProfilePage() {
       await followUserService(profileUser.id);
       setIsFollowing(true);
       // Optimistically update follower count for the viewed profile
+      setProfileUser(prev => ({ ...prev, followersCount: (prev.followersCount ?? 0) + 1 }));
       setFollowers(prev => [...prev, { id: loggedInUser.id, name: loggedInUser.name, role: loggedInUser.role }]); // Add self to followers list locally
       // If on own profile page and following someone, this logic might need adjustment
       // For now, this assumes we are on someone else's profile page.
@@ -135,6 +136,7 @@ function UserProfilePage() {
       await unfollowUserService(profileUser.id);
       setIsFollowing(false);
       // Optimistically update follower count
+      setProfileUser(prev => ({ ...prev, followersCount: Math.max((prev.followersCount ?? 1) - 1, 0) }));
       setFollowers(prev => prev.filter(user => user.id !== loggedInUser.id)); // Remove self from followers list locally
     } catch (err) {
       console.error("Unfollow user error:", err);
@@ -144,9 +146,29 @@ function UserProfilePage() {
     }
   };
 
-  const handleShowFollowers = () => { setModalTitle(`Followers (${followers.length})`); setModalUsers(followers); setIsListModalOpen(true); };
-  const handleShowFollowing = () => { setModalTitle(`Following (${following.length})`); setModalUsers(following); setIsListModalOpen(true); };
-  const closeListModal = () => { setIsListModalOpen(false); setModalTitle(''); setModalUsers([]); };
+  // Appends the next page of the list shown in the modal
+  const loadMore = async () => {
+    const isFollowers = modalList === 'followers';
+    const cursor = isFollowers ? followersCursor : followingCursor;
+    if (!cursor || !profileUser?.id) return;
+    setIsLoadingMore(true);
+    try {
+      const page = await (isFollowers ? fetchFollowers : fetchFollowing)(profileUser.id, cursor);
+      (isFollowers ? setFollowers : setFollowing)(prev => [...prev, ...(page?.items || [])]);
+      (isFollowers ? setFollowersCursor : setFollowingCursor)(page?.hasMore ? page.nextCursor : null);
+    } catch (err) {
+      setListError(err.message || err.data?.message || "Could not load more users.");
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
+  const followersCount = profileUser?.followersCount ?? followers.length;
+  const followingCount = profileUser?.followingCount ?? following.length;
+  const handleShowFollowers = () => { setModalList('followers'); setIsListModalOpen(true); };
+  const handleShowFollowing = () => { setModalList('following'); setIsListModalOpen(true); };
+  const closeListModal = () => { setIsListModalOpen(false); setModalList(null); };
+  const modalCursor = modalList === 'followers' ? followersCursor : followingCursor;
 
   if (isLoading) return <div className="text-center py-20"><Spinner size="w-12 h-12" /></div>;
   // If there's an error and profileUser is null, it means the main profile fetch failed.
@@ -170,8 +192,8 @@ function UserProfilePage() {
         <ProfileHeader
             user={profileUser}
             // Use actual follower/following counts from state
-            followerCount={followers.length}
-            followingCount={following.length}
+            followerCount={followersCount}
+            followingCount={followingCount}
             onFollowersClick={handleShowFollowers}
             onFollowingClick={handleShowFollowing}
         />
@@ -185,6 +207,9 @@ function UserProfilePage() {
                     <Button onClick={handleFollow} isLoading={isFollowLoading} disabled={isFollowLoading} variant="primary" className="w-full sm:w-auto text-sm">Follow</Button>
                 )
             ) : null}
+            {canFollow && profileUser.followsCurrentUser && (
+                <span className="text-xs font-medium text-gray-600 bg-gray-100 px-2 py-1 rounded">Follows you</span>
+            )}
             {!isOwnProfile && isAuthenticated && ( // Show message button if not own profile and logged in
                 <Button variant="outline" className="w-full sm:w-auto text-sm" onClick={() => alert('Messaging WIP!')}>Message</Button>
             )}
@@ -199,12 +224,21 @@ function UserProfilePage() {
                 </div>
             </div>
             <div className="space-y-6">
-                <UserListCard title={`Following (${following.length})`} users={following} isLoading={isLoadingLists} error={listError ? "Could not load following list." : null} />
-                <UserListCard title={`Followers (${followers.length})`} users={followers} isLoading={isLoadingLists} error={listError ? "Could not load followers list." : null} />
+                <UserListCard title={`Following (${followingCount})`} users={following} isLoading={isLoadingLists} error={listError ? "Could not load following list." : null} />
+                <UserListCard title={`Followers (${followersCount})`} users={followers} isLoading={isLoadingLists} error={listError ? "Could not load followers list." : null} />
             </div>
         </div>
       </div>
-      <UserListModal isOpen={isListModalOpen} onClose={closeListModal} title={modalTitle} users={modalUsers} isLoading={isLoadingLists} error={listError} />
+      <UserListModal
+        isOpen={isListModalOpen}
+        onClose={closeListModal}
+        title={modalList === 'followers' ? `Followers (${followersCount})` : `Following (${followingCount})`}
+        users={modalList === 'followers' ? followers : following}
+        isLoading={isLoadingLists}
+        error={listError}
+        onLoadMore={modalCursor ? loadMore : undefined}
+        isLoadingMore={isLoadingMore}
+      />
     </>
   );
 }
@@ -1,9 +1,11 @@
 // src/services/events.js
 import apiClient from './apiClient';
 
-export const fetchEvents = async () => {
+// One page of events, latest event dates first: resolves to a Spring page { content, last, totalElements, ... }.
+// Each event carries attendeeCount and an attendeePreview of its first few attendees.
+export const fetchEvents = async (page = 0, size = 10) => {
   try {
-    const response = await apiClient.get('/events');
+    const response = await apiClient.get('/events', { params: { page, size } });
     return response.data;
   } catch (error) {
     console.error("Fetch events service error:", error.response?.data || error.message || error, error.isAxiosError ? error : '');
@@ -12,6 +14,30 @@ export const fetchEvents = async () => {
   }
 };
 
+// The next `limit` events from now, soonest first (scoped to the user's college), optionally filtered by location.
+export const fetchUpcomingEvents = async (limit = 3, location) => {
+  try {
+    const response = await apiClient.get('/events/upcoming', { params: { limit, location: location || undefined } });
+    return response.data;
+  } catch (error) {
+    console.error("Fetch upcoming events service error:", error.response?.data || error.message || error, error.isAxiosError ? error : '');
+    if (error.isAxiosError && error.response) { throw error.response.data || error; }
+    throw new Error("Failed to fetch upcoming events");
+  }
+};
+
+// Events with from <= date < to (ISO local date-times, at most a year apart), soonest first, for calendar views.
+export const fetchEventsInRange = async (from, to, location) => {
+  try {
+    const response = await apiClient.get('/events/calendar', { params: { from, to, location: location || undefined } });
+    return response.data;
+  } catch (error) {
+    console.error("Fetch events in range service error:", error.response?.data || error.message || error, error.isAxiosError ? error : '');
+    if (error.isAxiosError && error.response) { throw error.response.data || error; }
+    throw new Error("Failed to fetch events in range");
+  }
+};
+
 export const fetchEventById = async (eventId) => {
     try {
         const response = await apiClient.get(`/events/${eventId}`);
@@ -23,6 +49,18 @@ export const fetchEventById = async (eventId) => {
     }
 };
 
+// One page of an event's attendees in join order: resolves to { items, nextCursor, hasMore }.
+export const fetchEventAttendees = async (eventId, cursor = '', size = 20) => {
+    try {
+        const response = await apiClient.get(`/events/${eventId}/attendees`, { params: { cursor: cursor || '', size } });
+        return response.data;
+    } catch (error) {
+        console.error(`Fetch attendees of event ${eventId} service error:`, error.response?.data || error.message || error, error.isAxiosError ? error : '');
+        if (error.isAxiosError && error.response) { throw error.response.data || error; }
+        throw new Error(`Failed to fetch attendees of event ${eventId}`);
+    }
+};
+
 /**
  * Creates a new event by sending individual form parts.
  * @param {object} eventData - Object from EventForm, where eventData.date is the direct value from datetime-local input (e.g., "2025-05-22T19:42").
@@ -55,6 +93,10 @@ export const createEvent = async (eventData, imageFile) => {
     formData.append('date', datePart); 
     formData.append('time', timePart);   
     formData.append('location', eventData.location || '');
+    // Optional attendee limit; blank means unlimited
+    if (eventData.capacity) {
+        formData.append('capacity', eventData.capacity.toString());
+    }
 
     if (eventData.collegeId) {
         formData.append('collegeId', eventData.collegeId.toString());
@@ -98,6 +140,10 @@ export const updateEvent = async (eventId, eventData, imageFile) => {
         formData.append('date', datePart);
         formData.append('time', timePart);
         formData.append('location', eventData.location || '');
+        // Leaving capacity out removes the limit
+        if (eventData.capacity) {
+            formData.append('capacity', eventData.capacity.toString());
+        }
         if (eventData.collegeId) {
             formData.append('collegeId', eventData.collegeId.toString());
         }
@@ -140,7 +186,7 @@ export const joinEvent = async (eventId) => {
     try {
         // Backend endpoint: POST /api/events/{eventId}/join
         const response = await apiClient.post(`/events/${eventId}/join`);
-        return response.data; // Assuming backend returns { success: true, message: "..." } or similar
+        return response.data; // { success, message }; the message says whether the user got a seat or a waitlist place
     } catch (error) {
         console.error(`Join event (${eventId}) service error:`, 
             error.response?.data || error.message || error,
@@ -152,6 +198,7 @@ export const joinEvent = async (eventId) => {
         throw error; // Fallback
     }
 };
+// Leaves the event or its waitlist; a freed seat goes to the next user on the waitlist.
 export const leaveEvent = async (eventId) => {
     try {
         await apiClient.delete(`/events/${eventId}/join`);
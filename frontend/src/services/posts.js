@@ -1,10 +1,12 @@
 // src/services/posts.js
 import apiClient from './apiClient';
 
-export const fetchPosts = async (page = 0, size = 10) => {
+export const fetchPosts = async (page = 0, size = 10, { commentPreview = false } = {}) => {
   try {
     // Assuming your backend /api/posts endpoint supports pagination
-    const response = await apiClient.get(`/posts?page=${page}&size=${size}&sort=createdAt,desc`);
+    // commentPreview adds each post's two latest comments as post.latestComments
+    const preview = commentPreview ? '&commentPreview=true' : '';
+    const response = await apiClient.get(`/posts?page=${page}&size=${size}&sort=createdAt,desc${preview}`);
     // Adjust based on actual backend response structure for Page<PostDto>
     // If backend returns { content: [...], totalPages: ..., ... }
     return response.data; // Or response.data.content if nested
@@ -95,11 +97,19 @@ export const unlikePost = async (postId) => {
     catch (e) { console.error(`Unlike post (${postId}) error:`, e.response?.data || e.message, e); throw e.response?.data || e; } 
 };
 
-export const fetchComments = async (postId) => { 
-    try { const r = await apiClient.get(`/posts/${postId}/comments`); return r.data; } 
+// One page of comments, oldest first: resolves to { items, nextCursor, hasMore }. Pass nextCursor back for the next page.
+export const fetchComments = async (postId, cursor = '', size = 20) => { 
+    try { const r = await apiClient.get(`/posts/${postId}/comments`, { params: { cursor: cursor || '', size } }); return r.data; } 
     catch (e) { console.error(`Fetch comments for post ${postId} error:`, e.response?.data || e.message, e); throw e.response?.data || e; } 
 };
 
+// Full-text search over posts and comments of the user's college, best match first: resolves to
+// { items, nextCursor, hasMore }; each item is { type: 'post'|'comment', id, postId, snippet, authorId, authorName, createdAt, rank }.
+export const searchPosts = async (query, cursor = '', size = 20) => {
+    try { const r = await apiClient.get('/posts/search', { params: { q: query, cursor: cursor || '', size } }); return r.data; }
+    catch (e) { console.error(`Search posts ("${query}") error:`, e.response?.data || e.message, e); throw e.response?.data || e; }
+};
+
 // addComment still sends JSON
 export const addComment = async (postId, commentData) => { // commentData is { text: "..." }
     try { const r = await apiClient.post(`/posts/${postId}/comments`, commentData); return r.data; } 
@@ -115,3 +125,56 @@ export const deleteComment = async (commentId) => {
     try { await apiClient.delete(`/comments/${commentId}`); } 
     catch (e) { console.error(`Delete comment (${commentId}) error:`, e.response?.data || e.message, e); throw e.response?.data || e; } 
 };
+
+export const fetchPostById = async (postId) => {
+    try { const r = await apiClient.get(`/posts/${postId}`); return r.data; }
+    catch (e) { console.error(`Fetch post (${postId}) error:`, e.response?.data || e.message, e); throw e.response?.data || e; }
+};
+
+const STREAM_RECONNECT_DELAY_MS = 5000;
+
+/**
+ * Opens the live feed stream (Server-Sent Events) for the current user's college.
+ * EventSource cannot send the Authorization header, so the stream is opened with a short-lived ticket
+ * (POST /posts/stream/ticket) in the query string instead of the login token. The ticket expires soon after
+ * it is issued, so after an error the stream is reopened with a fresh one.
+ * @param {function} onEvent - Called with { type, postId, likesCount? } for every event.
+ * @returns {function} Call to close the stream.
+ */
+export const subscribeToPostStream = (onEvent) => {
+  if (!localStorage.getItem('authToken')) return () => {};
+  let source = null;
+  let retryTimer = null;
+  let closed = false;
+
+  const open = async () => {
+    try {
+      const { data } = await apiClient.post('/posts/stream/ticket');
+      if (closed) return;
+      source = new EventSource(`${apiClient.defaults.baseURL}/posts/stream?ticket=${encodeURIComponent(data.ticket)}`);
+    } catch (error) {
+      console.warn("Post stream ticket request failed, retrying...", error.response?.data || error.message);
+      if (!closed) retryTimer = setTimeout(open, STREAM_RECONNECT_DELAY_MS);
+      return;
+    }
+    ['post.created', 'post.updated', 'post.deleted', 'post.likes'].forEach(type =>
+      source.addEventListener(type, (message) => {
+        try { onEvent(JSON.parse(message.data)); }
+        catch (e) { console.error(`Post stream (${type}) parse error:`, e); }
+      })
+    );
+    // EventSource would retry with the same, by then expired, ticket; reconnect with a new one instead
+    source.onerror = () => {
+      console.warn("Post stream connection lost, reconnecting...");
+      source.close();
+      if (!closed) retryTimer = setTimeout(open, STREAM_RECONNECT_DELAY_MS);
+    };
+  };
+
+  open();
+  return () => {
+    closed = true;
+    clearTimeout(retryTimer);
+    if (source) source.close();
+  };
+};
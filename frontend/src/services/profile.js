@@ -26,7 +26,8 @@ export const updateUserProfile = async (profileData) => {
   }
 };
 
-export const fetchFollowers = async (userId) => {
+// One page of the list, most recent first: { items, nextCursor, hasMore }; pass nextCursor back for the next page
+export const fetchFollowers = async (userId, cursor = '', size = 20) => {
     if (userId === undefined || userId === null || userId === "undefined" || isNaN(parseInt(userId,10))) {
         const errorMsg = `fetchFollowers: Invalid userId provided: ${userId}`;
         console.error(errorMsg);
@@ -36,7 +37,7 @@ export const fetchFollowers = async (userId) => {
         return Promise.reject({ message: errorMsg, isGuardError: true }); 
     }
     try {
-        const response = await apiClient.get(`/users/${userId}/followers`);
+        const response = await apiClient.get(`/users/${userId}/followers`, { params: { cursor: cursor || '', size } });
         return response.data;
     } catch (error) {
         console.error(`Fetch followers for user ${userId} error:`, error.response?.data || error.message, error);
@@ -44,14 +45,15 @@ export const fetchFollowers = async (userId) => {
     }
 };
 
-export const fetchFollowing = async (userId) => {
+// One page of the list, most recent first: { items, nextCursor, hasMore }; pass nextCursor back for the next page
+export const fetchFollowing = async (userId, cursor = '', size = 20) => {
     if (userId === undefined || userId === null || userId === "undefined" || isNaN(parseInt(userId,10))) {
         const errorMsg = `fetchFollowing: Invalid userId provided: ${userId}`;
         console.error(errorMsg);
         return Promise.reject({ message: errorMsg, isGuardError: true });
     }
     try {
-        const response = await apiClient.get(`/users/${userId}/following`);
+        const response = await apiClient.get(`/users/${userId}/following`, { params: { cursor: cursor || '', size } });
         return response.data;
     } catch (error) {
         console.error(`Fetch following for user ${userId} error:`, error.response?.data || error.message, error);
@@ -59,6 +61,16 @@ export const fetchFollowing = async (userId) => {
     }
 };
 
+export const fetchSuggestions = async (limit = 10) => {
+    try {
+        const response = await apiClient.get('/users/me/suggestions', { params: { limit } });
+        return response.data;
+    } catch (error) {
+        console.error("Fetch suggestions error:", error.response?.data || error.message, error);
+        throw error.response?.data || new Error("Failed to fetch suggestions");
+    }
+};
+
 export const followUser = async (userIdToFollow) => {
     if (userIdToFollow === undefined || userIdToFollow === null || userIdToFollow === "undefined" || isNaN(parseInt(userIdToFollow,10))) {
         const errorMsg = `followUser: Invalid userIdToFollow: ${userIdToFollow}`;
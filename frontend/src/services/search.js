@@ -23,4 +23,42 @@ export const searchUsers = async (query) => {
   }
 };
 
+/**
+ * Name suggestions for the search box: users of the current user's college whose name, or a word of it,
+ * starts with the prefix, most followed first.
+ * @param {string} prefix - What has been typed so far.
+ * @param {number} limit - Maximum number of suggestions.
+ * @returns {Promise<Array<object>>} - { id, name, email, role, followerCount }
+ */
+export const autocompleteUsers = async (prefix, limit = 8) => {
+  try {
+    const response = await apiClient.get('/search/users/autocomplete', {
+      params: { q: prefix, limit }
+    });
+    return response.data;
+  } catch (error) {
+    console.error("Autocomplete users service error:", error.response?.data || error.message);
+    throw error.response?.data || new Error("Failed to load name suggestions");
+  }
+};
+
+/**
+ * Searches users, posts and events of the current user's college at once.
+ * @param {string} query - The search term.
+ * @param {number} limit - Maximum results per section.
+ * @returns {Promise<object>} - { topHits, users, posts, events, partial, tookMs }; each section is
+ * { items, status, tookMs, budgetMs }, with status 'timeout' or 'error' when that source was left out.
+ */
+export const searchAll = async (query, limit = 10) => {
+  try {
+    const response = await apiClient.get('/search', {
+      params: { q: query, limit }
+    });
+    return response.data;
+  } catch (error) {
+    console.error("Search service error:", error.response?.data || error.message);
+    throw error.response?.data || new Error("Failed to search");
+  }
+};
+
 // Add other search-related service functions later if needed (e.g., searchEvents, searchPosts)
\ No newline at end of file